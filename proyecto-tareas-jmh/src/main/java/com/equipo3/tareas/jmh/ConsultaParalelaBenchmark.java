@@ -0,0 +1,79 @@
+package com.equipo3.tareas.jmh;
+
+import com.equipo3.tareas.EstadoTarea;
+import com.equipo3.tareas.GestorTareas;
+import com.equipo3.tareas.Prioridad;
+import com.equipo3.tareas.Tarea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Escalado de filtrarTareas con el número de hilos del pool de consultas, para un filtro
+ * combinado (prioridad + vencimiento + estado) que ningún índice resuelve.
+ * Con paralelismo 1 la consulta se evalúa en secuencial, que es la referencia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class ConsultaParalelaBenchmark {
+
+    @Param({"10000000"})
+    int tamanio;
+
+    @Param({"1", "2", "4", "8"})
+    int paralelismo;
+
+    GestorTareas gestor;
+    ForkJoinPool pool;
+    Predicate<Tarea> filtro;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        gestor = DatosBenchmark.crearGestor(tamanio, DatosBenchmark.SesgoPrioridad.UNIFORME,
+                DatosBenchmark.DistribucionVencimiento.UNIFORME);
+        for (int i = 0; i < tamanio; i += 3) {
+            gestor.actualizarEstadoTarea(Integer.toString(i), EstadoTarea.En_progreso);
+        }
+        pool = new ForkJoinPool(paralelismo);
+        gestor.configurarConsultasParalelas(pool, 0);
+        LocalDate tope = LocalDate.now().plusDays(30);
+        filtro = tarea -> tarea.getPrioridad() == Prioridad.alta
+                && tarea.getEstado() == EstadoTarea.En_progreso
+                && tarea.getFechaVencimiento().isBefore(tope);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Tarea> filtrarTareas() {
+        return gestor.filtrarTareas(filtro);
+    }
+
+    @Benchmark
+    public long contarTareas() {
+        return gestor.contarTareas(filtro);
+    }
+}
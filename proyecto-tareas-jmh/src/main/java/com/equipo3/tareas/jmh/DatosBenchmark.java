@@ -0,0 +1,69 @@
+package com.equipo3.tareas.jmh;
+
+import com.equipo3.tareas.GestorTareas;
+import com.equipo3.tareas.Prioridad;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generación reproducible de conjuntos de tareas para los benchmarks.
+ */
+public final class DatosBenchmark {
+
+    /** Reparto de prioridades del conjunto de datos. */
+    public enum SesgoPrioridad {
+        /** Un tercio de cada prioridad. */
+        UNIFORME,
+        /** 80 % alta, 15 % media, 5 % baja. */
+        SESGADA;
+
+        Prioridad elegir(SplittableRandom aleatorio) {
+            if (this == UNIFORME) {
+                return Prioridad.values()[aleatorio.nextInt(Prioridad.values().length)];
+            }
+            int valor = aleatorio.nextInt(100);
+            return valor < 80 ? Prioridad.alta : valor < 95 ? Prioridad.media : Prioridad.baja;
+        }
+    }
+
+    /** Reparto de fechas de vencimiento a partir de hoy. */
+    public enum DistribucionVencimiento {
+        /** Repartidas por igual en el próximo año. */
+        UNIFORME,
+        /** El 90 % vence en la próxima semana; el resto, en el próximo año. */
+        CONCENTRADA;
+
+        int elegirDias(SplittableRandom aleatorio) {
+            if (this == CONCENTRADA && aleatorio.nextInt(10) < 9) {
+                return aleatorio.nextInt(7);
+            }
+            return aleatorio.nextInt(365);
+        }
+    }
+
+    static final long SEMILLA = 42L;
+
+    private DatosBenchmark() {
+    }
+
+    /** Crea un gestor con 'tamanio' tareas de IDs 0..tamanio-1. */
+    static GestorTareas crearGestor(int tamanio, SesgoPrioridad sesgo, DistribucionVencimiento distribucion) {
+        SplittableRandom aleatorio = new SplittableRandom(SEMILLA);
+        LocalDate hoy = LocalDate.now();
+        GestorTareas gestor = new GestorTareas();
+        for (int i = 0; i < tamanio; i++) {
+            gestor.crearTarea(Integer.toString(i), "Tarea " + i, "Descripción de la tarea " + i,
+                    sesgo.elegir(aleatorio), hoy.plusDays(distribucion.elegirDias(aleatorio)));
+        }
+        return gestor;
+    }
+
+    static String[] ids(int tamanio) {
+        String[] ids = new String[tamanio];
+        for (int i = 0; i < tamanio; i++) {
+            ids[i] = Integer.toString(i);
+        }
+        return ids;
+    }
+}
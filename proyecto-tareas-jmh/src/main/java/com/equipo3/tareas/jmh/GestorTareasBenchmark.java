@@ -0,0 +1,104 @@
+package com.equipo3.tareas.jmh;
+
+import com.equipo3.tareas.EstadoTarea;
+import com.equipo3.tareas.GestorTareas;
+import com.equipo3.tareas.Prioridad;
+import com.equipo3.tareas.Tarea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks de todas las operaciones públicas de GestorTareas, parametrizados por tamaño
+ * del repositorio, reparto de prioridades y reparto de fechas de vencimiento.
+ * Miden rendimiento y tiempo medio; la tasa de asignación se obtiene con "-prof gc".
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class GestorTareasBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int tamanio;
+
+    @Param({"UNIFORME", "SESGADA"})
+    DatosBenchmark.SesgoPrioridad sesgoPrioridad;
+
+    @Param({"UNIFORME", "CONCENTRADA"})
+    DatosBenchmark.DistribucionVencimiento distribucionVencimiento;
+
+    GestorTareas gestor;
+    String[] ids;
+    LocalDate manana;
+    // IDs nuevos para crearTarea, por encima de los precargados
+    AtomicLong siguienteId;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        gestor = DatosBenchmark.crearGestor(tamanio, sesgoPrioridad, distribucionVencimiento);
+        ids = DatosBenchmark.ids(tamanio);
+        // Todas las tareas en En_progreso para que actualizarEstadoTarea(En_progreso) sea repetible
+        for (String id : ids) {
+            gestor.actualizarEstadoTarea(id, EstadoTarea.En_progreso);
+        }
+        manana = LocalDate.now().plusDays(1);
+        siguienteId = new AtomicLong(tamanio);
+    }
+
+    /** El repositorio crece durante la medición con IDs nunca usados. */
+    @Benchmark
+    public Tarea crearTarea() {
+        long id = siguienteId.getAndIncrement();
+        return gestor.crearTarea(Long.toString(id), "Nueva tarea", "Creada en el benchmark", Prioridad.media, manana);
+    }
+
+    @Benchmark
+    public Optional<Tarea> buscarTareaPorId() {
+        return gestor.buscarTareaPorId(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    /**
+     * Mide búsqueda + validación de la transición. Las transiciones reales son de un solo uso
+     * (Pendiente -> En_progreso -> Completada), así que se repite la transición a En_progreso
+     * sobre tareas que ya están en ese estado.
+     */
+    @Benchmark
+    public boolean actualizarEstadoTarea() {
+        return gestor.actualizarEstadoTarea(ids[ThreadLocalRandom.current().nextInt(ids.length)], EstadoTarea.En_progreso);
+    }
+
+    @Benchmark
+    public List<Tarea> listarTareasPorPrioridad() {
+        Prioridad prioridad = Prioridad.values()[ThreadLocalRandom.current().nextInt(Prioridad.values().length)];
+        return gestor.listarTareasPorPrioridad(prioridad);
+    }
+
+    @Benchmark
+    public List<Tarea> listarTareasProximasAVencer() {
+        return gestor.listarTareasProximasAVencer(7);
+    }
+
+    @Benchmark
+    public List<Tarea> obtenerTodasLasTareas() {
+        return gestor.obtenerTodasLasTareas();
+    }
+}
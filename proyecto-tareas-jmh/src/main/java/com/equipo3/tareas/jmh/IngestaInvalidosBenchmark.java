@@ -0,0 +1,140 @@
+package com.equipo3.tareas.jmh;
+
+import com.equipo3.tareas.CodigoValidacion;
+import com.equipo3.tareas.DatosTarea;
+import com.equipo3.tareas.GestorTareas;
+import com.equipo3.tareas.Prioridad;
+import com.equipo3.tareas.ResultadoImportacion;
+import com.equipo3.tareas.Tarea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesta de una fuente "sucia" con un porcentaje de registros inválidos (ID no numérico,
+ * título vacío, fecha pasada o ID repetido, a partes iguales). Compara el alta registro a
+ * registro capturando IllegalArgumentException, el alta con códigos de
+ * {@link GestorTareas#intentarCrearTarea} y la importación en lote. Cada invocación empieza
+ * con un gestor vacío; el resultado se expresa en registros por milisegundo. Los dos
+ * primeros benchmarks miden solo la validación, sin el coste de indexar las tareas válidas.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IngestaInvalidosBenchmark {
+    private static final int REGISTROS = 100_000;
+
+    @Param({"20"})
+    int porcentajeInvalidos;
+
+    List<DatosTarea> datos;
+    GestorTareas gestor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        LocalDate hoy = LocalDate.now();
+        datos = new ArrayList<>(REGISTROS);
+        for (int i = 0; i < REGISTROS; i++) {
+            String id = Integer.toString(i);
+            String titulo = "Tarea " + i;
+            LocalDate fecha = hoy.plusDays(aleatorio.nextInt(365));
+            if (aleatorio.nextInt(100) < porcentajeInvalidos) {
+                switch (aleatorio.nextInt(4)) {
+                    case 0: id = "T-" + i; break;
+                    case 1: titulo = " "; break;
+                    case 2: fecha = hoy.minusDays(1 + aleatorio.nextInt(30)); break;
+                    default: id = Integer.toString(aleatorio.nextInt(Math.max(1, i))); break;
+                }
+            }
+            datos.add(new DatosTarea(id, titulo, "Descripción de la tarea " + i, Prioridad.values()[i % 3], fecha));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void vaciar() {
+        gestor = new GestorTareas();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public int validarConExcepciones() {
+        int rechazadas = 0;
+        for (DatosTarea d : datos) {
+            try {
+                new Tarea(d.getId(), d.getTitulo(), d.getDescripcion(), d.getPrioridad(), d.getFechaVencimiento());
+            } catch (IllegalArgumentException e) {
+                rechazadas++;
+            }
+        }
+        return rechazadas;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public int validarConCodigos() {
+        LocalDate hoy = LocalDate.now();
+        int rechazadas = 0;
+        for (DatosTarea d : datos) {
+            if (Tarea.validar(d.getId(), d.getTitulo(), d.getDescripcion(), d.getPrioridad(), d.getFechaVencimiento(), hoy)
+                    != CodigoValidacion.VALIDA) {
+                rechazadas++;
+            }
+        }
+        return rechazadas;
+    }
+
+    /** Como se ingería antes: la API que lanza, con un try/catch por registro. */
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public int crearTareaConExcepciones() {
+        int rechazadas = 0;
+        for (DatosTarea d : datos) {
+            try {
+                gestor.crearTarea(d.getId(), d.getTitulo(), d.getDescripcion(), d.getPrioridad(), d.getFechaVencimiento());
+            } catch (IllegalArgumentException e) {
+                rechazadas++;
+            }
+        }
+        return rechazadas;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public int intentarCrearTarea() {
+        int rechazadas = 0;
+        for (DatosTarea d : datos) {
+            CodigoValidacion codigo = gestor.intentarCrearTarea(d.getId(), d.getTitulo(), d.getDescripcion(),
+                    d.getPrioridad(), d.getFechaVencimiento());
+            if (codigo != CodigoValidacion.VALIDA) {
+                rechazadas++;
+            }
+        }
+        return rechazadas;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public ResultadoImportacion crearTareas() {
+        return gestor.crearTareas(datos);
+    }
+}
@@ -0,0 +1,92 @@
+package com.equipo3.tareas.jmh;
+
+import com.equipo3.tareas.DatosTarea;
+import com.equipo3.tareas.GestorTareasParticionado;
+import com.equipo3.tareas.Prioridad;
+import com.equipo3.tareas.ResultadoImportacion;
+import com.equipo3.tareas.Tarea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Altas en un GestorTareasParticionado según el número de particiones, en bloque y una a
+ * una sin esperar a cada alta. Cada invocación empieza con un gestor vacío; el resultado se
+ * expresa en altas por milisegundo. Para ver cómo escala, ejecútelo en una máquina con al
+ * menos tantos núcleos como particiones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ParticionadoBenchmark {
+    private static final int REGISTROS = 100_000;
+
+    @Param({"1", "2", "4", "8"})
+    int particiones;
+
+    List<DatosTarea> datos;
+    GestorTareasParticionado gestor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        LocalDate hoy = LocalDate.now();
+        datos = new ArrayList<>(REGISTROS);
+        for (int i = 0; i < REGISTROS; i++) {
+            datos.add(new DatosTarea(Integer.toString(i), "Tarea " + i, "Descripción de la tarea " + i,
+                    Prioridad.values()[aleatorio.nextInt(3)], hoy.plusDays(aleatorio.nextInt(365))));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void vaciar() {
+        gestor = new GestorTareasParticionado(particiones);
+    }
+
+    @TearDown(Level.Invocation)
+    public void cerrar() {
+        gestor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public ResultadoImportacion crearTareas() {
+        return gestor.crearTareas(datos);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public Tarea crearTareaAsync() {
+        List<CompletableFuture<Tarea>> altas = new ArrayList<>(REGISTROS);
+        for (DatosTarea d : datos) {
+            altas.add(gestor.crearTareaAsync(d.getId(), d.getTitulo(), d.getDescripcion(), d.getPrioridad(),
+                    d.getFechaVencimiento()));
+        }
+        Tarea ultima = null;
+        for (CompletableFuture<Tarea> alta : altas) {
+            ultima = alta.join();
+        }
+        return ultima;
+    }
+}
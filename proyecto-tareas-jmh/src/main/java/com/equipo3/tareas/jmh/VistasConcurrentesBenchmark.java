@@ -0,0 +1,81 @@
+package com.equipo3.tareas.jmh;
+
+import com.equipo3.tareas.GestorTareas;
+import com.equipo3.tareas.Prioridad;
+import com.equipo3.tareas.Tarea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rendimiento de las altas con y sin lectores que abren vistas (GestorTareas.abrirVista) y
+ * listan las tareas próximas a vencer a la vez. Las altas van a una fecha lejana para que
+ * el tamaño de lo que listan los lectores no cambie durante la medición. Compare la puntuación
+ * de 'escribir' en los dos grupos: la diferencia es lo que cuestan los lectores a quien escribe.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Group)
+public class VistasConcurrentesBenchmark {
+    private static final int TAMANIO = 100_000;
+
+    GestorTareas gestor;
+    LocalDate lejana;
+    AtomicLong siguienteId;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        gestor = DatosBenchmark.crearGestor(TAMANIO, DatosBenchmark.SesgoPrioridad.UNIFORME,
+                DatosBenchmark.DistribucionVencimiento.UNIFORME);
+        lejana = LocalDate.now().plusYears(2);
+        siguienteId = new AtomicLong(TAMANIO);
+    }
+
+    private Tarea crear() {
+        return gestor.crearTarea(Long.toString(siguienteId.getAndIncrement()), "Nueva tarea", "Creada en el benchmark",
+                Prioridad.media, lejana);
+    }
+
+    private List<Tarea> leer() {
+        return gestor.abrirVista().listarTareasProximasAVencer(1);
+    }
+
+    @Benchmark
+    @Group("sinLectores")
+    @GroupThreads(1)
+    public Tarea escribirSinLectores() {
+        return crear();
+    }
+
+    @Benchmark
+    @Group("conLectores")
+    @GroupThreads(1)
+    public Tarea escribir() {
+        return crear();
+    }
+
+    @Benchmark
+    @Group("conLectores")
+    @GroupThreads(3)
+    public List<Tarea> leerVista() {
+        return leer();
+    }
+}
@@ -0,0 +1,380 @@
+package com.equipo3.tareas;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Almacén compacto de tareas organizado por columnas.
+ * Cada atributo vive en un arreglo primitivo (IDs en long[], prioridad y estado como
+ * ordinales en byte[], vencimiento como día epoch en int[]) y los títulos y descripciones
+ * se guardan una sola vez en una tabla de cadenas sin duplicados. Así se evitan la cabecera
+ * de objeto de cada Tarea y sus LocalDate, y los listados recorren arreglos contiguos.
+ *
+ * Las instancias de Tarea que devuelve son vistas de solo lectura creadas bajo demanda:
+ * los cambios de estado se hacen con {@link #actualizarEstadoTarea(String, EstadoTarea)}, y
+ * setEstado sobre una vista lanza UnsupportedOperationException.
+ * Como el ID se guarda como número, la vista lo devuelve en su forma canónica ("007" -> "7").
+ * Ofrece las mismas consultas que GestorTareas y es seguro usarlo desde varios hilos.
+ */
+public class AlmacenColumnarTareas {
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final Prioridad[] PRIORIDADES = Prioridad.values();
+    private static final EstadoTarea[] ESTADOS = EstadoTarea.values();
+
+    private final ReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final TablaCadenas cadenas = new TablaCadenas();
+    // Fecha de hoy para validar altas y para listarTareasProximasAVencer
+    private final DiaActual diaActual;
+
+    private long[] ids;
+    private byte[] prioridades;
+    private byte[] estados;
+    private int[] vencimientos;
+    private int[] titulos;
+    private int[] descripciones;
+    private int tamanio;
+
+    // Índice ID -> fila con direccionamiento abierto; fila + 1 para que 0 signifique vacío.
+    private long[] claves;
+    private int[] filas;
+
+    public AlmacenColumnarTareas() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    public AlmacenColumnarTareas(int capacidadInicial) {
+        this(capacidadInicial, DiaActual.SISTEMA);
+    }
+
+    /**
+     * Crea un almacén que toma la fecha de hoy del reloj indicado.
+     *
+     * @throws IllegalArgumentException si el reloj es nulo.
+     */
+    public AlmacenColumnarTareas(int capacidadInicial, Clock reloj) {
+        this(capacidadInicial, nuevoDiaActual(reloj));
+    }
+
+    private AlmacenColumnarTareas(int capacidadInicial, DiaActual diaActual) {
+        this.diaActual = diaActual;
+        int capacidad = Math.max(capacidadInicial, 16);
+        this.ids = new long[capacidad];
+        this.prioridades = new byte[capacidad];
+        this.estados = new byte[capacidad];
+        this.vencimientos = new int[capacidad];
+        this.titulos = new int[capacidad];
+        this.descripciones = new int[capacidad];
+        int ranuras = Integer.highestOneBit(capacidad * 2 - 1) << 1;
+        this.claves = new long[ranuras];
+        this.filas = new int[ranuras];
+    }
+
+    private static DiaActual nuevoDiaActual(Clock reloj) {
+        if (reloj == null) {
+            throw new IllegalArgumentException("El reloj no puede ser nulo.");
+        }
+        return new DiaActual(reloj);
+    }
+
+    /** Copia en formato columnar todas las tareas de un gestor; usa también su reloj. */
+    public static AlmacenColumnarTareas desde(GestorTareas gestor) {
+        List<Tarea> tareas = gestor.obtenerTodasLasTareas();
+        AlmacenColumnarTareas almacen = new AlmacenColumnarTareas(tareas.size(), gestor.getReloj());
+        for (Tarea tarea : tareas) {
+            almacen.agregar(tarea);
+        }
+        return almacen;
+    }
+
+    /**
+     * Crea una tarea con las mismas validaciones que GestorTareas.crearTarea, comparando la
+     * fecha de vencimiento con la fecha de hoy del almacén.
+     *
+     * @return Una vista de la tarea creada, igual que la que devolverían las consultas.
+     * @throws IllegalArgumentException si algún dato no es válido o el ID ya existe.
+     */
+    public Tarea crearTarea(String id, String titulo, String descripcion, Prioridad prioridad, LocalDate fechaVencimiento) {
+        Tarea nuevaTarea = new Tarea(id, titulo, descripcion, prioridad, fechaVencimiento, diaActual.hoy());
+        cerrojo.writeLock().lock();
+        try {
+            return vista(agregarFila(nuevaTarea));
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Añade una tarea ya validada copiando sus atributos a las columnas.
+     *
+     * @throws IllegalArgumentException si ya existe una tarea con el mismo ID.
+     */
+    public void agregar(Tarea tarea) {
+        cerrojo.writeLock().lock();
+        try {
+            agregarFila(tarea);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    private int agregarFila(Tarea tarea) {
+        long id = tarea.getIdNumerico();
+        if (buscarFila(id) >= 0) {
+            throw new IllegalArgumentException("Ya existe una tarea con el ID: " + tarea.getId());
+        }
+        if (tamanio == ids.length) {
+            crecer();
+        }
+        int fila = tamanio++;
+        ids[fila] = id;
+        prioridades[fila] = (byte) tarea.getPrioridad().ordinal();
+        estados[fila] = (byte) tarea.getEstado().ordinal();
+        vencimientos[fila] = (int) tarea.getFechaVencimiento().toEpochDay();
+        titulos[fila] = cadenas.indiceDe(tarea.getTitulo());
+        descripciones[fila] = cadenas.indiceDe(tarea.getDescripcion());
+        indexarFila(id, fila);
+        return fila;
+    }
+
+    public Optional<Tarea> buscarTareaPorId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("El ID para buscar no puede ser nulo ni vacío.");
+        }
+        if (!Tarea.esIdNumerico(id)) {
+            return Optional.empty();
+        }
+        long idNumerico = Long.parseLong(id);
+        cerrojo.readLock().lock();
+        try {
+            int fila = buscarFila(idNumerico);
+            return fila < 0 ? Optional.empty() : Optional.of(vista(fila));
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza el estado de una tarea siguiendo las mismas reglas de transición que Tarea.
+     *
+     * @return true si la tarea se actualizó, false si no se encontró.
+     * @throws IllegalArgumentException si el ID o el estado son nulos, o la transición no es válida.
+     */
+    public boolean actualizarEstadoTarea(String idTarea, EstadoTarea nuevoEstado) {
+        if (idTarea == null || idTarea.trim().isEmpty()) {
+            throw new IllegalArgumentException("El ID de la tarea no puede ser nulo ni vacío para actualizar el estado.");
+        }
+        if (nuevoEstado == null) {
+            throw new IllegalArgumentException("El nuevo estado no puede ser nulo.");
+        }
+        if (!Tarea.esIdNumerico(idTarea)) {
+            return false;
+        }
+        long idNumerico = Long.parseLong(idTarea);
+        cerrojo.writeLock().lock();
+        try {
+            int fila = buscarFila(idNumerico);
+            if (fila < 0) {
+                return false;
+            }
+            Tarea.validarTransicion(ESTADOS[estados[fila]], nuevoEstado);
+            estados[fila] = (byte) nuevoEstado.ordinal();
+            return true;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lista las tareas de una prioridad recorriendo la columna de prioridades.
+     *
+     * @throws IllegalArgumentException si la prioridad es nula.
+     */
+    public List<Tarea> listarTareasPorPrioridad(Prioridad prioridad) {
+        if (prioridad == null) {
+            throw new IllegalArgumentException("La prioridad para listar no puede ser nula.");
+        }
+        byte buscada = (byte) prioridad.ordinal();
+        cerrojo.readLock().lock();
+        try {
+            List<Tarea> resultado = new ArrayList<>();
+            for (int fila = 0; fila < tamanio; fila++) {
+                if (prioridades[fila] == buscada) {
+                    resultado.add(vista(fila));
+                }
+            }
+            return resultado;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lista las tareas que vencen hoy o dentro de los próximos 'diasLimite' días,
+     * comparando días epoch enteros en lugar de objetos LocalDate.
+     *
+     * @throws IllegalArgumentException si diasLimite es negativo.
+     */
+    public List<Tarea> listarTareasProximasAVencer(int diasLimite) {
+        if (diasLimite < 0) {
+            throw new IllegalArgumentException("El límite de días no puede ser negativo.");
+        }
+        long hoy = diaActual.epochDia();
+        long tope = hoy + diasLimite;
+        cerrojo.readLock().lock();
+        try {
+            List<Tarea> resultado = new ArrayList<>();
+            for (int fila = 0; fila < tamanio; fila++) {
+                int vencimiento = vencimientos[fila];
+                if (vencimiento >= hoy && vencimiento <= tope) {
+                    resultado.add(vista(fila));
+                }
+            }
+            return resultado;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public List<Tarea> obtenerTodasLasTareas() {
+        cerrojo.readLock().lock();
+        try {
+            List<Tarea> resultado = new ArrayList<>(tamanio);
+            for (int fila = 0; fila < tamanio; fila++) {
+                resultado.add(vista(fila));
+            }
+            return resultado;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public int tamanio() {
+        cerrojo.readLock().lock();
+        try {
+            return tamanio;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /** Número de cadenas distintas guardadas entre títulos y descripciones. */
+    public int cadenasDistintas() {
+        cerrojo.readLock().lock();
+        try {
+            return cadenas.tamanio();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    private Tarea vista(int fila) {
+        long id = ids[fila];
+        return Tarea.vistaSoloLectura(Long.toString(id), id, cadenas.obtener(titulos[fila]), cadenas.obtener(descripciones[fila]),
+                PRIORIDADES[prioridades[fila]], LocalDate.ofEpochDay(vencimientos[fila]), ESTADOS[estados[fila]]);
+    }
+
+    private void crecer() {
+        int capacidad = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacidad);
+        prioridades = Arrays.copyOf(prioridades, capacidad);
+        estados = Arrays.copyOf(estados, capacidad);
+        vencimientos = Arrays.copyOf(vencimientos, capacidad);
+        titulos = Arrays.copyOf(titulos, capacidad);
+        descripciones = Arrays.copyOf(descripciones, capacidad);
+        if (capacidad * 2 > claves.length) {
+            reconstruirIndice(Integer.highestOneBit(capacidad * 2 - 1) << 1);
+        }
+    }
+
+    private int buscarFila(long id) {
+        int mascara = claves.length - 1;
+        int i = (int) MapaTareasPorId.mezclar(id) & mascara;
+        while (filas[i] != 0) {
+            if (claves[i] == id) {
+                return filas[i] - 1;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private void indexarFila(long id, int fila) {
+        int mascara = claves.length - 1;
+        int i = (int) MapaTareasPorId.mezclar(id) & mascara;
+        while (filas[i] != 0) {
+            i = (i + 1) & mascara;
+        }
+        claves[i] = id;
+        filas[i] = fila + 1;
+    }
+
+    private void reconstruirIndice(int ranuras) {
+        claves = new long[ranuras];
+        filas = new int[ranuras];
+        for (int fila = 0; fila < tamanio; fila++) {
+            indexarFila(ids[fila], fila);
+        }
+    }
+
+    /**
+     * Cadenas sin duplicados: cada texto distinto se guarda una vez y las filas guardan su
+     * posición. La búsqueda usa una tabla hash abierta de enteros en lugar de un HashMap
+     * para no pagar un nodo por cadena.
+     */
+    private static final class TablaCadenas {
+        private String[] valores = new String[256];
+        private int[] ranuras = new int[512];
+        private int tamanio;
+
+        int indiceDe(String cadena) {
+            int mascara = ranuras.length - 1;
+            int i = mezclar(cadena.hashCode()) & mascara;
+            while (ranuras[i] != 0) {
+                int candidato = ranuras[i] - 1;
+                if (valores[candidato].equals(cadena)) {
+                    return candidato;
+                }
+                i = (i + 1) & mascara;
+            }
+            if (tamanio == valores.length) {
+                valores = Arrays.copyOf(valores, tamanio * 2);
+            }
+            valores[tamanio] = cadena;
+            ranuras[i] = ++tamanio;
+            if (tamanio * 2 > ranuras.length) {
+                redimensionar();
+            }
+            return tamanio - 1;
+        }
+
+        String obtener(int indice) {
+            return valores[indice];
+        }
+
+        int tamanio() {
+            return tamanio;
+        }
+
+        private void redimensionar() {
+            ranuras = new int[ranuras.length * 2];
+            int mascara = ranuras.length - 1;
+            for (int indice = 0; indice < tamanio; indice++) {
+                int i = mezclar(valores[indice].hashCode()) & mascara;
+                while (ranuras[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                ranuras[i] = indice + 1;
+            }
+        }
+
+        private static int mezclar(int h) {
+            return (h ^ (h >>> 16)) * 0x45d9f3b;
+        }
+    }
+}
@@ -1,18 +1,44 @@
 package com.equipo3.tareas;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit; // Para medir tiempo
 
 public class App {
-    private static final GestorTareas gestor = new GestorTareas();
+    private static GestorTareas gestor = new GestorTareas();
     private static final Scanner scanner = new Scanner(System.in);
 
-    public static void main(String[] args) {
-        // ... (main sin cambios)
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // Con "--registro <archivo>" las tareas se guardan en disco y se recuperan al volver a arrancar;
+        // con "--servidor <puerto>" se atiende por HTTP en lugar de mostrar el menú, y
+        // "--carga clave=valor..." lanza el generador de carga (ver GeneradorCarga).
+        if (args.length >= 1 && args[0].equals("--carga")) {
+            GeneradorCarga.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        RegistroTareas registro = null;
+        Integer puerto = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--registro")) {
+                registro = new RegistroTareas(Paths.get(args[i + 1]));
+                gestor = new GestorTareas(registro);
+                System.out.println("Registro de tareas: " + args[i + 1] + " (" + gestor.contarTareas() + " tareas recuperadas)");
+            } else if (args[i].equals("--servidor")) {
+                puerto = Integer.parseInt(args[i + 1]);
+            }
+        }
+        if (puerto != null) {
+            atenderPorHttp(puerto, registro);
+            return;
+        }
         System.out.println("Bienvenido al Sistema de Gestión de Tareas Empresarial");
 
         while (true) {
@@ -38,6 +64,9 @@ public class App {
                 case 0:
                     System.out.println("Saliendo del sistema...");
                     scanner.close();
+                    if (registro != null) {
+                        registro.close();
+                    }
                     return;
                 default:
                     System.out.println("Opción no válida. Por favor, intente de nuevo.");
@@ -46,6 +75,25 @@ public class App {
         }
     }
 
+    /** Modo sin menú: atiende por HTTP hasta que se detiene el proceso. */
+    private static void atenderPorHttp(int puerto, RegistroTareas registro) throws IOException, InterruptedException {
+        ServidorTareas servidor = new ServidorTareas(gestor, new InetSocketAddress(puerto));
+        CountDownLatch detenido = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.close();
+            try {
+                if (registro != null) {
+                    registro.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Error al cerrar el registro de tareas: " + e.getMessage());
+            }
+            detenido.countDown();
+        }));
+        System.out.println("Servidor HTTP de tareas escuchando en el puerto " + servidor.getPuerto());
+        detenido.await();
+    }
+
     private static void mostrarMenu() {
         // ... (mostrarMenu sin cambios)
         System.out.println("-----------------------------------------");
@@ -119,7 +167,8 @@ public class App {
             }
         }
         try {
-            gestor.crearTarea(id, titulo, descripcion, prioridad, fechaVencimiento);
+            Tarea nuevaTarea = gestor.crearTarea(id, titulo, descripcion, prioridad, fechaVencimiento);
+            System.out.println("Tarea creada exitosamente: " + nuevaTarea.getTitulo() + " (ID: " + nuevaTarea.getId() + ")");
         } catch (IllegalArgumentException e) {
             System.err.println("Error al crear la tarea: " + e.getMessage());
         }
@@ -172,11 +221,10 @@ public class App {
             EstadoTarea nuevoEstado = EstadoTarea.valueOf(estadoStr);
             // La llamada a gestor.actualizarEstadoTarea puede lanzar una excepción si la transición es inválida
             if (gestor.actualizarEstadoTarea(idTarea, nuevoEstado)) {
-                // El mensaje de éxito ya se imprime en el gestor si la actualización es exitosa
-                // y la transición es permitida por Tarea.setEstado()
+                System.out.println("Estado de la tarea ID '" + idTarea + "' actualizado a: " + nuevoEstado);
+            } else {
+                System.out.println("No se pudo actualizar: Tarea con ID '" + idTarea + "' no encontrada.");
             }
-            // Si la tarea no se encuentra, gestor.actualizarEstadoTarea imprime un mensaje y devuelve false
-            // Si la transición es inválida, tarea.setEstado() (llamado desde el gestor) lanzará IllegalArgumentException
         } catch (IllegalArgumentException e) { // Captura errores de valueOf o de transición inválida
             System.err.println("Error al actualizar estado: " + e.getMessage());
         }
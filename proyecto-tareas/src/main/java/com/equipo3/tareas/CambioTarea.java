@@ -0,0 +1,63 @@
+package com.equipo3.tareas;
+
+/**
+ * Una modificación de una tarea publicada en un {@link FlujoCambios}: un alta o un cambio
+ * de estado, con su número de secuencia. Es inmutable; el estado que interesa es el que
+ * guarda el propio cambio, no el que tenga la tarea cuando se lee.
+ */
+public final class CambioTarea {
+
+    /** Tipo de modificación. */
+    public enum Tipo {
+        CREADA,
+        ESTADO_CAMBIADO
+    }
+
+    private final long secuencia;
+    private final Tipo tipo;
+    private final Tarea tarea;
+    private final EstadoTarea estadoAnterior;
+    private final EstadoTarea estado;
+
+    CambioTarea(long secuencia, Tipo tipo, Tarea tarea, EstadoTarea estadoAnterior, EstadoTarea estado) {
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.tarea = tarea;
+        this.estadoAnterior = estadoAnterior;
+        this.estado = estado;
+    }
+
+    /** Número de secuencia, creciente y sin huecos desde 1 para cada flujo. */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Tarea getTarea() {
+        return tarea;
+    }
+
+    /** Estado antes del cambio, o null si es un alta. */
+    public EstadoTarea getEstadoAnterior() {
+        return estadoAnterior;
+    }
+
+    /** Estado de la tarea justo después del cambio. */
+    public EstadoTarea getEstado() {
+        return estado;
+    }
+
+    @Override
+    public String toString() {
+        return "CambioTarea {" +
+               "Secuencia = " + secuencia +
+               ", Tipo = " + tipo +
+               ", ID = '" + tarea.getId() + '\'' +
+               ", Estado anterior = " + estadoAnterior +
+               ", Estado = " + estado +
+               '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.equipo3.tareas;
+
+/**
+ * Resultado de validar los datos de una tarea o un cambio de estado sin lanzar excepciones.
+ * Lo devuelven {@link GestorTareas#intentarCrearTarea} y {@link Tarea#validar}; las
+ * versiones que lanzan IllegalArgumentException usan {@link #getMensaje()} como mensaje,
+ * así que los textos son los mismos por los dos caminos.
+ */
+public enum CodigoValidacion {
+    VALIDA(null),
+    DATOS_NULOS("Los datos de la tarea no pueden ser nulos."),
+    ID_VACIO("El ID de la tarea no puede ser nulo ni vacío."),
+    ID_NO_NUMERICO("El ID de la tarea debe ser un valor numérico."),
+    TITULO_VACIO("El título de la tarea no puede ser nulo ni vacío."),
+    DESCRIPCION_VACIA("La descripción de la tarea no puede ser nula ni vacía."),
+    PRIORIDAD_NULA("La prioridad de la tarea no puede ser nula."),
+    FECHA_NULA("La fecha de vencimiento de la tarea no puede ser nula."),
+    FECHA_PASADA("La fecha de vencimiento no puede ser anterior a la fecha actual."),
+    /** Solo con registro: el ID, el título y la descripción no caben en un registro de 16 MB. */
+    DATOS_DEMASIADO_GRANDES("Los datos de la tarea superan el tamaño máximo que admite el registro de tareas."),
+    /** El mensaje se completa con el ID: "Ya existe una tarea con el ID: 7". */
+    ID_DUPLICADO("Ya existe una tarea con el ID: "),
+    ESTADO_NULO("El nuevo estado de la tarea no puede ser nulo."),
+    TRANSICION_DESDE_PENDIENTE("Transición de estado no válida: Desde 'Pendiente' solo se puede pasar a 'En_progreso'."),
+    TRANSICION_DESDE_EN_PROGRESO("Transición de estado no válida: Desde 'En_progreso' solo se puede pasar a 'Completada'."),
+    TAREA_COMPLETADA("Una tarea 'Completada' no puede cambiar su estado.");
+
+    private final String mensaje;
+
+    CodigoValidacion(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public boolean esValida() {
+        return this == VALIDA;
+    }
+
+    /** Mensaje para el usuario, o null si es {@link #VALIDA}. */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /** Mensaje con el ID de la tarea añadido cuando el código lo necesita. */
+    String mensajePara(String id) {
+        return this == ID_DUPLICADO ? mensaje + id : mensaje;
+    }
+}
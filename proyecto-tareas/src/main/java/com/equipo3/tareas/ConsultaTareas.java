@@ -0,0 +1,296 @@
+package com.equipo3.tareas;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * Consulta que combina prioridad, estado y rango de fechas de vencimiento; se obtiene con
+ * {@link GestorTareas#consulta()}. Cada criterio acota el anterior, por ejemplo:
+ * <pre>
+ * gestor.consulta()
+ *       .conPrioridad(Prioridad.alta)
+ *       .sinEstado(EstadoTarea.Completada)
+ *       .venceEnLosProximosDias(3)
+ *       .ejecutar();
+ * </pre>
+ * Al ejecutarla, el planificador estima con los contadores del gestor cuántas tareas
+ * devolvería cada índice aplicable (prioridad, estado, vencimiento), recorre el más
+ * selectivo y comprueba el resto de criterios sobre cada candidata. {@link #explicar()}
+ * devuelve ese plan sin ejecutarlo. Los resultados se ordenan por ID numérico ascendente.
+ * Una consulta no es segura para configurarse desde varios hilos, pero sí para ejecutarse
+ * mientras otros hilos modifican el gestor. Al recorrer el índice por estado con varios
+ * estados, una tarea que cambia de uno a otro durante el recorrido puede encontrarse dos
+ * veces; ejecutar() y contar() la tienen en cuenta una sola.
+ */
+public final class ConsultaTareas {
+    private static final Comparator<Tarea> POR_ID = Comparator.comparingLong(Tarea::getIdNumerico);
+
+    private final GestorTareas gestor;
+    private final EnumSet<Prioridad> prioridades = EnumSet.allOf(Prioridad.class);
+    private final EnumSet<EstadoTarea> estados = EnumSet.allOf(EstadoTarea.class);
+    private LocalDate venceDesde;
+    private LocalDate venceHasta;
+
+    ConsultaTareas(GestorTareas gestor) {
+        this.gestor = gestor;
+    }
+
+    /**
+     * Limita el resultado a las tareas con alguna de estas prioridades.
+     *
+     * @throws IllegalArgumentException si no se indica ninguna prioridad o alguna es nula.
+     */
+    public ConsultaTareas conPrioridad(Prioridad... admitidas) {
+        prioridades.retainAll(conjunto(Prioridad.class, admitidas, "prioridad"));
+        return this;
+    }
+
+    /**
+     * Limita el resultado a las tareas en alguno de estos estados.
+     *
+     * @throws IllegalArgumentException si no se indica ningún estado o alguno es nulo.
+     */
+    public ConsultaTareas conEstado(EstadoTarea... admitidos) {
+        estados.retainAll(conjunto(EstadoTarea.class, admitidos, "estado"));
+        return this;
+    }
+
+    /**
+     * Excluye las tareas en estos estados.
+     *
+     * @throws IllegalArgumentException si no se indica ningún estado o alguno es nulo.
+     */
+    public ConsultaTareas sinEstado(EstadoTarea... excluidos) {
+        estados.removeAll(conjunto(EstadoTarea.class, excluidos, "estado"));
+        return this;
+    }
+
+    /**
+     * Limita el resultado a las tareas que vencen entre ambas fechas, incluidas.
+     *
+     * @throws IllegalArgumentException si alguna fecha es nula o 'desde' es posterior a 'hasta'.
+     */
+    public ConsultaTareas venceEntre(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Las fechas del rango de vencimiento no pueden ser nulas.");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha inicial del rango no puede ser posterior a la final.");
+        }
+        if (venceDesde == null || desde.isAfter(venceDesde)) {
+            venceDesde = desde;
+        }
+        if (venceHasta == null || hasta.isBefore(venceHasta)) {
+            venceHasta = hasta;
+        }
+        return this;
+    }
+
+    /**
+     * Limita el resultado a las tareas que vencen hoy o en los próximos 'dias' días,
+     * con el mismo criterio que {@link GestorTareas#listarTareasProximasAVencer(int)}.
+     *
+     * @throws IllegalArgumentException si dias es negativo.
+     */
+    public ConsultaTareas venceEnLosProximosDias(int dias) {
+        if (dias < 0) {
+            throw new IllegalArgumentException("El límite de días no puede ser negativo.");
+        }
+        LocalDate hoy = gestor.hoy();
+        return venceEntre(hoy, hoy.plusDays(dias));
+    }
+
+    /** Plan que seguiría la consulta con los contadores actuales, sin ejecutarla. */
+    public PlanConsulta explicar() {
+        EnumMap<PlanConsulta.Acceso, Long> alternativas = new EnumMap<>(PlanConsulta.Acceso.class);
+        if (prioridades.isEmpty() || estados.isEmpty() || (venceDesde != null && venceDesde.isAfter(venceHasta))) {
+            alternativas.put(PlanConsulta.Acceso.RESULTADO_VACIO, 0L);
+            return new PlanConsulta(PlanConsulta.Acceso.RESULTADO_VACIO, 0, new ArrayList<>(), alternativas);
+        }
+        if (filtraPrioridad()) {
+            long estimacion = 0;
+            for (Prioridad prioridad : prioridades) {
+                estimacion += gestor.contarPorPrioridad(prioridad);
+            }
+            alternativas.put(PlanConsulta.Acceso.INDICE_PRIORIDAD, estimacion);
+        }
+        if (filtraEstado()) {
+            long estimacion = 0;
+            for (EstadoTarea estado : estados) {
+                estimacion += gestor.contarPorEstado(estado);
+            }
+            alternativas.put(PlanConsulta.Acceso.INDICE_ESTADO, estimacion);
+        }
+        if (filtraVencimiento()) {
+            alternativas.put(PlanConsulta.Acceso.INDICE_VENCIMIENTO, gestor.contarVencimientosEntre(venceDesde, venceHasta));
+        }
+        if (alternativas.isEmpty()) {
+            alternativas.put(PlanConsulta.Acceso.RECORRIDO_COMPLETO, (long) gestor.contarTareas());
+        }
+        PlanConsulta.Acceso elegido = null;
+        for (PlanConsulta.Acceso acceso : alternativas.keySet()) {
+            if (elegido == null || alternativas.get(acceso) < alternativas.get(elegido)) {
+                elegido = acceso;
+            }
+        }
+        List<String> residuales = new ArrayList<>();
+        if (filtraPrioridad() && elegido != PlanConsulta.Acceso.INDICE_PRIORIDAD) {
+            residuales.add("prioridad en " + prioridades);
+        }
+        if (filtraEstado() && elegido != PlanConsulta.Acceso.INDICE_ESTADO) {
+            residuales.add("estado en " + estados);
+        }
+        if (filtraVencimiento() && elegido != PlanConsulta.Acceso.INDICE_VENCIMIENTO) {
+            residuales.add("vencimiento entre " + (venceDesde != null ? venceDesde : "-") + " y " + (venceHasta != null ? venceHasta : "-"));
+        }
+        return new PlanConsulta(elegido, alternativas.get(elegido), residuales, alternativas);
+    }
+
+    /** Ejecuta la consulta y devuelve las tareas ordenadas por ID numérico ascendente. */
+    public List<Tarea> ejecutar() {
+        List<Tarea> resultado = new ArrayList<>();
+        recorrerCandidatas(explicar().getAcceso(), tarea -> {
+            if (coincide(tarea)) {
+                resultado.add(tarea);
+            }
+        });
+        resultado.sort(POR_ID);
+        quitarRepetidas(resultado);
+        gestor.consultaRealizada(OyenteTareas.TipoConsulta.CONSULTA_COMPUESTA, resultado.size());
+        return resultado;
+    }
+
+    /** Cuenta las tareas que cumplen la consulta sin construir la lista. */
+    public long contar() {
+        PlanConsulta.Acceso acceso = explicar().getAcceso();
+        long total;
+        if (acceso == PlanConsulta.Acceso.INDICE_ESTADO && estados.size() > 1) {
+            // Solo aquí puede repetirse una tarea: se cuentan los IDs distintos
+            IdsVistos vistos = new IdsVistos();
+            recorrerCandidatas(acceso, tarea -> {
+                if (coincide(tarea)) {
+                    vistos.agregar(tarea.getIdNumerico());
+                }
+            });
+            total = vistos.distintos();
+        } else {
+            long[] cuenta = {0};
+            recorrerCandidatas(acceso, tarea -> {
+                if (coincide(tarea)) {
+                    cuenta[0]++;
+                }
+            });
+            total = cuenta[0];
+        }
+        gestor.consultaRealizada(OyenteTareas.TipoConsulta.CONSULTA_COMPUESTA, (int) Math.min(total, Integer.MAX_VALUE));
+        return total;
+    }
+
+    /** Deja una sola aparición de cada tarea en una lista ordenada por ID. */
+    private static void quitarRepetidas(List<Tarea> ordenadas) {
+        int escritas = 0;
+        for (int i = 0; i < ordenadas.size(); i++) {
+            Tarea tarea = ordenadas.get(i);
+            if (escritas == 0 || ordenadas.get(escritas - 1).getIdNumerico() != tarea.getIdNumerico()) {
+                ordenadas.set(escritas++, tarea);
+            }
+        }
+        ordenadas.subList(escritas, ordenadas.size()).clear();
+    }
+
+    /** IDs en un arreglo primitivo que crece; se ordena una vez al final para contar los distintos. */
+    private static final class IdsVistos {
+        private long[] ids = new long[64];
+        private int cantidad;
+
+        void agregar(long id) {
+            if (cantidad == ids.length) {
+                ids = Arrays.copyOf(ids, cantidad * 2);
+            }
+            ids[cantidad++] = id;
+        }
+
+        long distintos() {
+            Arrays.sort(ids, 0, cantidad);
+            long distintos = 0;
+            for (int i = 0; i < cantidad; i++) {
+                if (i == 0 || ids[i] != ids[i - 1]) {
+                    distintos++;
+                }
+            }
+            return distintos;
+        }
+    }
+
+    private void recorrerCandidatas(PlanConsulta.Acceso acceso, Consumer<Tarea> accion) {
+        switch (acceso) {
+            case RESULTADO_VACIO:
+                break;
+            case INDICE_PRIORIDAD:
+                for (Prioridad prioridad : prioridades) {
+                    gestor.indicePorPrioridad(prioridad).forEach(accion);
+                }
+                break;
+            case INDICE_ESTADO:
+                for (EstadoTarea estado : estados) {
+                    gestor.indicePorEstado(estado).forEach(accion);
+                }
+                break;
+            case INDICE_VENCIMIENTO:
+                Collection<Queue<Tarea>> dias = gestor.indicePorVencimiento(venceDesde, venceHasta);
+                for (Queue<Tarea> tareasDelDia : dias) {
+                    tareasDelDia.forEach(accion);
+                }
+                break;
+            default:
+                gestor.recorrerTareas(accion);
+        }
+    }
+
+    /**
+     * Comprueba todos los criterios, también el del índice recorrido: el índice por estado
+     * puede contener momentáneamente tareas que acaban de cambiar de estado.
+     */
+    private boolean coincide(Tarea tarea) {
+        if (!prioridades.contains(tarea.getPrioridad()) || !estados.contains(tarea.getEstado())) {
+            return false;
+        }
+        LocalDate vencimiento = tarea.getFechaVencimiento();
+        return (venceDesde == null || !vencimiento.isBefore(venceDesde))
+                && (venceHasta == null || !vencimiento.isAfter(venceHasta));
+    }
+
+    private boolean filtraPrioridad() {
+        return prioridades.size() < Prioridad.values().length;
+    }
+
+    private boolean filtraEstado() {
+        return estados.size() < EstadoTarea.values().length;
+    }
+
+    private boolean filtraVencimiento() {
+        return venceDesde != null || venceHasta != null;
+    }
+
+    private static <E extends Enum<E>> EnumSet<E> conjunto(Class<E> tipo, E[] valores, String criterio) {
+        if (valores == null || valores.length == 0) {
+            throw new IllegalArgumentException("Debe indicar al menos un valor de " + criterio + ".");
+        }
+        EnumSet<E> conjunto = EnumSet.noneOf(tipo);
+        for (E valor : valores) {
+            if (valor == null) {
+                throw new IllegalArgumentException("Los valores de " + criterio + " no pueden ser nulos.");
+            }
+            conjunto.add(valor);
+        }
+        return conjunto;
+    }
+}
@@ -0,0 +1,29 @@
+package com.equipo3.tareas;
+
+import java.time.LocalDate;
+
+/**
+ * Datos de entrada para crear una tarea en bloque, tal como llegan de fuera.
+ * No se validan aquí: la validación es la misma que la de crearTarea y se hace al importar.
+ */
+public final class DatosTarea {
+    private final String id;
+    private final String titulo;
+    private final String descripcion;
+    private final Prioridad prioridad;
+    private final LocalDate fechaVencimiento;
+
+    public DatosTarea(String id, String titulo, String descripcion, Prioridad prioridad, LocalDate fechaVencimiento) {
+        this.id = id;
+        this.titulo = titulo;
+        this.descripcion = descripcion;
+        this.prioridad = prioridad;
+        this.fechaVencimiento = fechaVencimiento;
+    }
+
+    public String getId() { return id; }
+    public String getTitulo() { return titulo; }
+    public String getDescripcion() { return descripcion; }
+    public Prioridad getPrioridad() { return prioridad; }
+    public LocalDate getFechaVencimiento() { return fechaVencimiento; }
+}
@@ -0,0 +1,71 @@
+package com.equipo3.tareas;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Fecha de hoy según un reloj, calculada una sola vez por día.
+ * Resolver la fecha a partir del instante exige aplicar las reglas de la zona horaria, y
+ * eso se notaba en las altas masivas, que validan la fecha de cada tarea. Aquí se guardan
+ * la fecha y los milisegundos en que empieza y termina ese día en la zona del reloj; cada
+ * consulta solo lee el reloj y compara dos long, y la fecha se recalcula cuando el instante
+ * sale de ese intervalo (también si el reloj retrocede o el día dura 23 o 25 horas).
+ */
+final class DiaActual {
+    /** Hoy según el reloj del sistema en la zona por defecto al cargar la clase. */
+    static final DiaActual SISTEMA = new DiaActual(Clock.systemDefaultZone());
+
+    private final Clock reloj;
+    private volatile Dia dia;
+
+    DiaActual(Clock reloj) {
+        this.reloj = reloj;
+        this.dia = calcular(reloj.millis());
+    }
+
+    Clock getReloj() {
+        return reloj;
+    }
+
+    LocalDate hoy() {
+        return vigente().fecha;
+    }
+
+    long epochDia() {
+        return vigente().epochDia;
+    }
+
+    private Dia vigente() {
+        long ahora = reloj.millis();
+        Dia actual = dia;
+        if (ahora < actual.inicioMs || ahora >= actual.finMs) {
+            actual = calcular(ahora);
+            dia = actual;
+        }
+        return actual;
+    }
+
+    private Dia calcular(long ahora) {
+        ZoneId zona = reloj.getZone();
+        LocalDate fecha = LocalDate.ofInstant(Instant.ofEpochMilli(ahora), zona);
+        long inicio = fecha.atStartOfDay(zona).toInstant().toEpochMilli();
+        long fin = fecha.plusDays(1).atStartOfDay(zona).toInstant().toEpochMilli();
+        return new Dia(fecha, inicio, fin);
+    }
+
+    private static final class Dia {
+        final LocalDate fecha;
+        final long epochDia;
+        final long inicioMs;
+        final long finMs;
+
+        Dia(LocalDate fecha, long inicioMs, long finMs) {
+            this.fecha = fecha;
+            this.epochDia = fecha.toEpochDay();
+            this.inicioMs = inicioMs;
+            this.finMs = finMs;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.equipo3.tareas;
+
+import java.util.Arrays;
+
+/**
+ * Recuento de tareas por prioridad y por estado, y de tareas vencidas, tomado en un instante.
+ * Una tarea está vencida si su fecha de vencimiento es anterior a hoy y no está Completada.
+ * Con escrituras concurrentes los contadores se leen uno a uno, así que la suma por
+ * prioridad y la suma por estado pueden diferir momentáneamente en las operaciones en curso.
+ */
+public final class EstadisticasTareas {
+    private final long[] porPrioridad;
+    private final long[] porEstado;
+    private final long vencidas;
+
+    EstadisticasTareas(long[] porPrioridad, long[] porEstado, long vencidas) {
+        this.porPrioridad = porPrioridad;
+        this.porEstado = porEstado;
+        this.vencidas = vencidas;
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (long cantidad : porPrioridad) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    public long getPorPrioridad(Prioridad prioridad) {
+        if (prioridad == null) {
+            throw new IllegalArgumentException("La prioridad no puede ser nula.");
+        }
+        return porPrioridad[prioridad.ordinal()];
+    }
+
+    public long getPorEstado(EstadoTarea estado) {
+        if (estado == null) {
+            throw new IllegalArgumentException("El estado no puede ser nulo.");
+        }
+        return porEstado[estado.ordinal()];
+    }
+
+    public long getVencidas() { return vencidas; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EstadisticasTareas)) {
+            return false;
+        }
+        EstadisticasTareas otras = (EstadisticasTareas) o;
+        return vencidas == otras.vencidas
+                && Arrays.equals(porPrioridad, otras.porPrioridad)
+                && Arrays.equals(porEstado, otras.porEstado);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(porPrioridad) + Arrays.hashCode(porEstado)) + Long.hashCode(vencidas);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder("EstadisticasTareas {Total = ").append(getTotal());
+        for (Prioridad prioridad : Prioridad.values()) {
+            texto.append(", ").append(prioridad).append(" = ").append(porPrioridad[prioridad.ordinal()]);
+        }
+        for (EstadoTarea estado : EstadoTarea.values()) {
+            texto.append(", ").append(estado).append(" = ").append(porEstado[estado.ordinal()]);
+        }
+        return texto.append(", Vencidas = ").append(vencidas).append('}').toString();
+    }
+}
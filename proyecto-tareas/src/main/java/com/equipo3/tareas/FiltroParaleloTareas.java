@@ -0,0 +1,147 @@
+package com.equipo3.tareas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Evaluación de un filtro sobre todo el repositorio repartiendo sus segmentos entre los
+ * hilos de un ForkJoinPool. Cada hoja recorre un segmento y ordena sus coincidencias por ID
+ * numérico; al unir dos mitades se mezclan los resultados ordenados, de modo que el
+ * resultado final sale en orden ascendente de ID con independencia del reparto de trabajo.
+ * En los dos modos la lista devuelta es de solo lectura.
+ */
+final class FiltroParaleloTareas {
+    private static final Comparator<Tarea> POR_ID = Comparator.comparingLong(Tarea::getIdNumerico);
+    private static final Tarea[] VACIO = new Tarea[0];
+
+    private FiltroParaleloTareas() {
+    }
+
+    static List<Tarea> filtrar(MapaTareasPorId mapa, Predicate<? super Tarea> filtro, ForkJoinPool pool, boolean paralelo) {
+        if (paralelo) {
+            return Collections.unmodifiableList(Arrays.asList(pool.invoke(new Filtrado(mapa, filtro, 0, mapa.numeroSegmentos()))));
+        }
+        // En secuencial no se crean tareas: fork() desde un hilo que no es del pool
+        // acabaría en el pool común
+        List<Tarea> coincidencias = new ArrayList<>();
+        for (int segmento = 0; segmento < mapa.numeroSegmentos(); segmento++) {
+            mapa.recorrerSegmento(segmento, tarea -> {
+                if (filtro.test(tarea)) {
+                    coincidencias.add(tarea);
+                }
+            });
+        }
+        coincidencias.sort(POR_ID);
+        return Collections.unmodifiableList(coincidencias);
+    }
+
+    static long contar(MapaTareasPorId mapa, Predicate<? super Tarea> filtro, ForkJoinPool pool, boolean paralelo) {
+        if (paralelo) {
+            return pool.invoke(new Conteo(mapa, filtro, 0, mapa.numeroSegmentos()));
+        }
+        long[] total = {0};
+        for (int segmento = 0; segmento < mapa.numeroSegmentos(); segmento++) {
+            mapa.recorrerSegmento(segmento, tarea -> {
+                if (filtro.test(tarea)) {
+                    total[0]++;
+                }
+            });
+        }
+        return total[0];
+    }
+
+    private static final class Filtrado extends RecursiveTask<Tarea[]> {
+        private final MapaTareasPorId mapa;
+        private final Predicate<? super Tarea> filtro;
+        private final int desde;
+        private final int hasta;
+
+        Filtrado(MapaTareasPorId mapa, Predicate<? super Tarea> filtro, int desde, int hasta) {
+            this.mapa = mapa;
+            this.filtro = filtro;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Tarea[] compute() {
+            if (hasta - desde == 1) {
+                List<Tarea> coincidencias = new ArrayList<>();
+                mapa.recorrerSegmento(desde, tarea -> {
+                    if (filtro.test(tarea)) {
+                        coincidencias.add(tarea);
+                    }
+                });
+                if (coincidencias.isEmpty()) {
+                    return VACIO;
+                }
+                Tarea[] ordenadas = coincidencias.toArray(VACIO);
+                Arrays.sort(ordenadas, POR_ID);
+                return ordenadas;
+            }
+            int medio = (desde + hasta) >>> 1;
+            Filtrado izquierda = new Filtrado(mapa, filtro, desde, medio);
+            izquierda.fork();
+            Tarea[] derecha = new Filtrado(mapa, filtro, medio, hasta).compute();
+            return mezclar(izquierda.join(), derecha);
+        }
+    }
+
+    private static final class Conteo extends RecursiveTask<Long> {
+        private final MapaTareasPorId mapa;
+        private final Predicate<? super Tarea> filtro;
+        private final int desde;
+        private final int hasta;
+
+        Conteo(MapaTareasPorId mapa, Predicate<? super Tarea> filtro, int desde, int hasta) {
+            this.mapa = mapa;
+            this.filtro = filtro;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hasta - desde == 1) {
+                long[] total = {0};
+                mapa.recorrerSegmento(desde, tarea -> {
+                    if (filtro.test(tarea)) {
+                        total[0]++;
+                    }
+                });
+                return total[0];
+            }
+            int medio = (desde + hasta) >>> 1;
+            Conteo izquierda = new Conteo(mapa, filtro, desde, medio);
+            izquierda.fork();
+            long derecha = new Conteo(mapa, filtro, medio, hasta).compute();
+            return izquierda.join() + derecha;
+        }
+    }
+
+    /** Mezcla dos arreglos ya ordenados por ID. */
+    private static Tarea[] mezclar(Tarea[] a, Tarea[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        Tarea[] resultado = new Tarea[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            resultado[k++] = a[i].getIdNumerico() <= b[j].getIdNumerico() ? a[i++] : b[j++];
+        }
+        System.arraycopy(a, i, resultado, k, a.length - i);
+        System.arraycopy(b, j, resultado, k + a.length - i, b.length - j);
+        return resultado;
+    }
+}
@@ -0,0 +1,216 @@
+package com.equipo3.tareas;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Flujo de cambios (CDC) de un GestorTareas: cada alta y cada cambio de estado recibe un
+ * número de secuencia creciente y se guarda en un anillo de tamaño fijo, para que cachés e
+ * índices externos sigan el gestor sin copiar el repositorio con obtenerTodasLasTareas().
+ *
+ * Publicar no bloquea nunca al gestor: el hilo que hace la operación reserva la secuencia
+ * con un incremento atómico y escribe su casilla del anillo, sin cerrojos. Cada lector
+ * avanza con su propia {@link Suscripcion} y no afecta a los demás ni a los escritores. Si
+ * un lector se queda más de {@link #getCapacidad()} cambios por detrás, los más antiguos se
+ * sobrescriben: la suscripción salta al cambio retenido más antiguo y lo cuenta en
+ * {@link Suscripcion#getPerdidos()}, así que la memoria no crece aunque un lector se pare.
+ * {@link Suscripcion#getPendientes()} permite frenar antes de llegar a ese punto.
+ *
+ * El alta de una tarea siempre tiene una secuencia menor que sus cambios de estado: el
+ * gestor la reserva antes de que la tarea pueda cambiar de estado, aunque el alta no se
+ * publica hasta después de escribirla en el registro. Mientras tanto los lectores se
+ * detienen en esa secuencia. Dos cambios de estado concurrentes de la misma tarea sí pueden
+ * publicarse en orden distinto al que se aplicaron; como los estados solo avanzan, basta con
+ * quedarse con el mayor.
+ */
+public class FlujoCambios implements OyenteTareas, Closeable {
+    private static final int CAPACIDAD_MAXIMA = 1 << 30;
+
+    private final GestorTareas gestor;
+    private final AtomicReferenceArray<CambioTarea> anillo;
+    private final int mascara;
+    // Próxima secuencia a reservar; la primera es 1
+    private final AtomicLong siguiente = new AtomicLong(1);
+    // Altas con la secuencia reservada que el gestor todavía no ha publicado
+    private final ConcurrentHashMap<Tarea, CambioTarea> altasReservadas = new ConcurrentHashMap<>();
+    private volatile boolean cerrado;
+
+    /**
+     * Empieza a seguir el gestor; solo se publican los cambios posteriores.
+     *
+     * @param gestor Gestor a seguir.
+     * @param capacidad Cambios retenidos para los lectores retrasados; se redondea a la
+     *                  siguiente potencia de dos.
+     * @throws IllegalArgumentException si el gestor es nulo o la capacidad no está entre 1 y 2^30.
+     */
+    public FlujoCambios(GestorTareas gestor, int capacidad) {
+        if (gestor == null) {
+            throw new IllegalArgumentException("El gestor no puede ser nulo.");
+        }
+        if (capacidad < 1 || capacidad > CAPACIDAD_MAXIMA) {
+            throw new IllegalArgumentException("La capacidad del flujo debe estar entre 1 y " + CAPACIDAD_MAXIMA + ": " + capacidad);
+        }
+        int tamanio = capacidad == 1 ? 1 : Integer.highestOneBit(capacidad - 1) << 1;
+        this.gestor = gestor;
+        this.anillo = new AtomicReferenceArray<>(tamanio);
+        this.mascara = tamanio - 1;
+        gestor.agregarFlujo(this);
+        gestor.agregarOyente(this);
+    }
+
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+
+    /** Secuencia del último cambio reservado, o 0 si todavía no hay ninguno. */
+    public long getUltimaSecuencia() {
+        return siguiente.get() - 1;
+    }
+
+    /** Suscripción que lee a partir del próximo cambio. */
+    public Suscripcion suscribir() {
+        return new Suscripcion(siguiente.get());
+    }
+
+    /**
+     * Suscripción que reanuda la lectura en 'secuencia', por ejemplo la siguiente a la última
+     * que procesó un lector antes de reiniciarse. Si ese cambio ya se sobrescribió, la
+     * primera lectura lo cuenta como perdido.
+     *
+     * @throws IllegalArgumentException si la secuencia es menor que 1 o posterior al próximo cambio.
+     */
+    public Suscripcion suscribirDesde(long secuencia) {
+        if (secuencia < 1 || secuencia > siguiente.get()) {
+            throw new IllegalArgumentException("Secuencia fuera del flujo: " + secuencia
+                    + " (la próxima es " + siguiente.get() + ").");
+        }
+        return new Suscripcion(secuencia);
+    }
+
+    /** Deja de seguir el gestor; las suscripciones pueden terminar de leer lo publicado. */
+    @Override
+    public void close() {
+        gestor.quitarOyente(this);
+        gestor.quitarFlujo(this);
+        cerrado = true;
+        // Ya no llegará el aviso de estas altas; se publican para no dejar huecos
+        altasReservadas.forEach((tarea, alta) -> {
+            if (altasReservadas.remove(tarea, alta)) {
+                escribir(alta);
+            }
+        });
+    }
+
+    /** Lo invoca el gestor con la tarea ya visible pero antes de que pueda cambiar de estado. */
+    void reservarAlta(Tarea tarea) {
+        CambioTarea alta = new CambioTarea(siguiente.getAndIncrement(), CambioTarea.Tipo.CREADA, tarea, null, tarea.getEstado());
+        altasReservadas.put(tarea, alta);
+        if (cerrado && altasReservadas.remove(tarea, alta)) {
+            escribir(alta);
+        }
+    }
+
+    @Override
+    public void tareaCreada(Tarea tarea) {
+        CambioTarea alta = altasReservadas.remove(tarea);
+        if (alta != null) {
+            escribir(alta);
+        } else {
+            // El flujo se creó después de reservar: el alta lleva el estado actual de la tarea
+            publicar(CambioTarea.Tipo.CREADA, tarea, null, tarea.getEstado());
+        }
+    }
+
+    @Override
+    public void estadoCambiado(Tarea tarea, EstadoTarea anterior, EstadoTarea nuevo) {
+        publicar(CambioTarea.Tipo.ESTADO_CAMBIADO, tarea, anterior, nuevo);
+    }
+
+    private void publicar(CambioTarea.Tipo tipo, Tarea tarea, EstadoTarea anterior, EstadoTarea nuevo) {
+        escribir(new CambioTarea(siguiente.getAndIncrement(), tipo, tarea, anterior, nuevo));
+    }
+
+    private void escribir(CambioTarea cambio) {
+        long secuencia = cambio.getSecuencia();
+        int indice = (int) secuencia & mascara;
+        // Un escritor que se detuvo entre reservar y escribir no debe pisar un cambio de una
+        // vuelta posterior del anillo: en ese caso su cambio ya se da por perdido.
+        while (true) {
+            CambioTarea actual = anillo.get(indice);
+            if (actual != null && actual.getSecuencia() > secuencia) {
+                return;
+            }
+            if (anillo.compareAndSet(indice, actual, cambio)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Posición de un lector en el flujo. Cada suscripción debe leerla un solo hilo; para
+     * leer desde varios hilos, cree una suscripción por hilo.
+     */
+    public final class Suscripcion {
+        private long proxima;
+        private long perdidos;
+
+        private Suscripcion(long proxima) {
+            this.proxima = proxima;
+        }
+
+        /**
+         * Añade a 'destino' hasta 'maximo' cambios en orden de secuencia, sin esperar: se
+         * detiene en el primer cambio que aún no se ha terminado de publicar.
+         *
+         * @return El número de cambios añadidos.
+         * @throws IllegalArgumentException si el destino es nulo o el máximo es negativo.
+         */
+        public int leer(List<? super CambioTarea> destino, int maximo) {
+            if (destino == null) {
+                throw new IllegalArgumentException("La lista de destino no puede ser nula.");
+            }
+            if (maximo < 0) {
+                throw new IllegalArgumentException("El máximo de cambios a leer no puede ser negativo: " + maximo);
+            }
+            int leidos = 0;
+            while (leidos < maximo) {
+                CambioTarea cambio = anillo.get((int) proxima & mascara);
+                if (cambio == null || cambio.getSecuencia() < proxima) {
+                    break;
+                }
+                if (cambio.getSecuencia() > proxima) {
+                    // Sobrescrito: se salta al más antiguo que el anillo puede retener todavía
+                    long retenido = Math.max(proxima + 1, siguiente.get() - getCapacidad());
+                    perdidos += retenido - proxima;
+                    proxima = retenido;
+                    continue;
+                }
+                destino.add(cambio);
+                proxima++;
+                leidos++;
+            }
+            return leidos;
+        }
+
+        /** Secuencia del próximo cambio que devolverá {@link #leer}. */
+        public long getProxima() {
+            return proxima;
+        }
+
+        /** Cambios publicados que esta suscripción aún no ha leído. */
+        public long getPendientes() {
+            return Math.max(0, siguiente.get() - proxima);
+        }
+
+        /**
+         * Cambios que se sobrescribieron antes de que esta suscripción los leyera. Si crece,
+         * el lector debe volver a cargar el estado completo del gestor.
+         */
+        public long getPerdidos() {
+            return perdidos;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.equipo3.tareas;
+
+/**
+ * Formatos de archivo para importar y exportar tareas.
+ */
+public enum FormatoIntercambio {
+    /** Valores separados por comas con cabecera; los campos pueden ir entre comillas dobles. */
+    CSV,
+    /** Un objeto JSON por línea (newline-delimited JSON). */
+    NDJSON
+}
@@ -0,0 +1,306 @@
+package com.equipo3.tareas;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga contra un GestorTareas: N hilos ejecutan una mezcla configurable de
+ * altas, búsquedas por ID, cambios de estado y listados a un ritmo objetivo, y anotan la
+ * latencia de cada operación en un {@link HistogramaLatencias} por hilo y tipo.
+ *
+ * Con ritmo objetivo la carga es de bucle abierto: cada hilo tiene un calendario fijo de
+ * operaciones y la latencia se mide desde el instante en que le tocaba empezar, no desde
+ * que empezó de verdad. Así, si el gestor se atasca, las operaciones que se retrasan por
+ * el atasco también cuentan (se corrige la "omisión coordinada"). Con ritmo 0 cada hilo
+ * encadena operaciones tan rápido como puede.
+ *
+ * Desde la línea de comandos:
+ * <pre>
+ * java -cp proyecto-tareas.jar com.equipo3.tareas.GeneradorCarga hilos=4 ritmo=20000 segundos=30 \
+ *      precarga=1000000 mezcla=crear:10,buscar:50,actualizar:10,prioridad:15,proximas:15
+ * </pre>
+ */
+public class GeneradorCarga {
+
+    /** Operaciones que puede incluir la mezcla. */
+    public enum Operacion {
+        CREAR,
+        BUSCAR,
+        ACTUALIZAR_ESTADO,
+        LISTAR_PRIORIDAD,
+        LISTAR_PROXIMAS
+    }
+
+    // Los listados piden una página para que su coste no dependa del tamaño del repositorio
+    private static final int TAMANIO_PAGINA = 100;
+    private static final int DIAS_VENCIMIENTO = 30;
+    private static final Operacion[] OPERACIONES = Operacion.values();
+    private static final Prioridad[] PRIORIDADES = Prioridad.values();
+
+    private final GestorTareas gestor;
+    private final int hilos;
+    private final double ritmo;
+    private final int[] pesosAcumulados = new int[OPERACIONES.length];
+    private final AtomicLong siguienteId;
+    private final long semilla;
+
+    /**
+     * @param gestor Gestor contra el que se lanza la carga; las altas usan IDs a partir del mayor
+     *               ID numérico que ya tenga.
+     * @param hilos Número de hilos que generan carga.
+     * @param ritmo Operaciones por segundo entre todos los hilos, o 0 para no limitarlo.
+     * @param mezcla Peso relativo de cada operación; las que no aparecen no se ejecutan.
+     * @param semilla Semilla de los números aleatorios, para repetir la misma secuencia.
+     * @throws IllegalArgumentException si algún parámetro no es válido.
+     */
+    public GeneradorCarga(GestorTareas gestor, int hilos, double ritmo, Map<Operacion, Integer> mezcla, long semilla) {
+        if (gestor == null) {
+            throw new IllegalArgumentException("El gestor no puede ser nulo.");
+        }
+        if (hilos <= 0) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo.");
+        }
+        if (!(ritmo >= 0) || Double.isInfinite(ritmo)) {
+            throw new IllegalArgumentException("El ritmo objetivo no puede ser negativo.");
+        }
+        if (mezcla == null || mezcla.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de operaciones no puede ser nula ni vacía.");
+        }
+        int total = 0;
+        for (Operacion operacion : OPERACIONES) {
+            int peso = mezcla.getOrDefault(operacion, 0);
+            if (peso < 0) {
+                throw new IllegalArgumentException("El peso de " + operacion + " no puede ser negativo.");
+            }
+            total += peso;
+            pesosAcumulados[operacion.ordinal()] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos una operación con peso positivo.");
+        }
+        this.gestor = gestor;
+        this.hilos = hilos;
+        this.ritmo = ritmo;
+        this.semilla = semilla;
+        long mayorId = gestor.streamTareas().mapToLong(Tarea::getIdNumerico).max().orElse(-1);
+        this.siguienteId = new AtomicLong(mayorId + 1);
+    }
+
+    /**
+     * Lanza la carga durante 'duracion' y espera a que terminen todos los hilos.
+     *
+     * @throws IllegalArgumentException si la duración es nula o no es positiva.
+     */
+    public ResultadoCarga ejecutar(Duration duracion) throws InterruptedException {
+        if (duracion == null || duracion.isNegative() || duracion.isZero()) {
+            throw new IllegalArgumentException("La duración de la carga debe ser positiva.");
+        }
+        Trabajador[] trabajadores = new Trabajador[hilos];
+        Thread[] hilosCarga = new Thread[hilos];
+        long inicio = System.nanoTime();
+        long fin = inicio + duracion.toNanos();
+        for (int i = 0; i < hilos; i++) {
+            trabajadores[i] = new Trabajador(semilla + i, inicio, fin);
+            hilosCarga[i] = new Thread(trabajadores[i], "generador-carga-" + i);
+            hilosCarga[i].start();
+        }
+        for (Thread hilo : hilosCarga) {
+            hilo.join();
+        }
+        long transcurrido = System.nanoTime() - inicio;
+
+        Map<Operacion, HistogramaLatencias> latencias = new EnumMap<>(Operacion.class);
+        long errores = 0;
+        for (Trabajador trabajador : trabajadores) {
+            for (Operacion operacion : OPERACIONES) {
+                HistogramaLatencias propio = trabajador.latencias[operacion.ordinal()];
+                if (propio.getCantidad() > 0) {
+                    latencias.computeIfAbsent(operacion, o -> new HistogramaLatencias()).combinar(propio);
+                }
+            }
+            errores += trabajador.errores;
+        }
+        return new ResultadoCarga(Duration.ofNanos(transcurrido), latencias, errores);
+    }
+
+    private final class Trabajador implements Runnable {
+        final HistogramaLatencias[] latencias = new HistogramaLatencias[OPERACIONES.length];
+        final SplittableRandom aleatorio;
+        final long inicio;
+        final long fin;
+        long errores;
+
+        Trabajador(long semilla, long inicio, long fin) {
+            this.aleatorio = new SplittableRandom(semilla);
+            this.inicio = inicio;
+            this.fin = fin;
+            for (int i = 0; i < latencias.length; i++) {
+                latencias[i] = new HistogramaLatencias();
+            }
+        }
+
+        @Override
+        public void run() {
+            // Cada hilo lleva una parte igual del ritmo total
+            long intervalo = ritmo > 0 ? (long) (1e9 * hilos / ritmo) : 0;
+            long previsto = inicio;
+            while (true) {
+                long ahora = System.nanoTime();
+                if (intervalo > 0) {
+                    while (previsto - ahora > 0) {
+                        LockSupport.parkNanos(previsto - ahora);
+                        ahora = System.nanoTime();
+                    }
+                } else {
+                    previsto = ahora;
+                }
+                // Aunque el hilo lleve retraso sobre su calendario, se para al acabar el tiempo
+                if (previsto - fin >= 0 || ahora - fin >= 0) {
+                    return;
+                }
+                Operacion operacion = elegir();
+                try {
+                    ejecutar(operacion);
+                } catch (RuntimeException e) {
+                    errores++;
+                }
+                latencias[operacion.ordinal()].registrar(System.nanoTime() - previsto);
+                previsto += intervalo;
+            }
+        }
+
+        private Operacion elegir() {
+            int valor = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+            for (Operacion operacion : OPERACIONES) {
+                if (valor < pesosAcumulados[operacion.ordinal()]) {
+                    return operacion;
+                }
+            }
+            throw new AssertionError();
+        }
+
+        private void ejecutar(Operacion operacion) {
+            switch (operacion) {
+                case CREAR: {
+                    long id = siguienteId.getAndIncrement();
+                    gestor.crearTarea(Long.toString(id), "Tarea de carga " + id, "Creada por el generador de carga",
+                            PRIORIDADES[aleatorio.nextInt(PRIORIDADES.length)],
+                            gestor.hoy().plusDays(aleatorio.nextInt(DIAS_VENCIMIENTO)));
+                    break;
+                }
+                case BUSCAR:
+                    gestor.buscarTareaPorId(idAleatorio());
+                    break;
+                case ACTUALIZAR_ESTADO: {
+                    String id = idAleatorio();
+                    Optional<Tarea> tarea = gestor.buscarTareaPorId(id);
+                    if (tarea.isPresent() && tarea.get().getEstado() != EstadoTarea.Completada) {
+                        EstadoTarea siguiente = tarea.get().getEstado() == EstadoTarea.Pendiente
+                                ? EstadoTarea.En_progreso : EstadoTarea.Completada;
+                        try {
+                            gestor.actualizarEstadoTarea(id, siguiente);
+                        } catch (IllegalArgumentException e) {
+                            // Otro hilo hizo avanzar la misma tarea entre la lectura y el cambio
+                        }
+                    }
+                    break;
+                }
+                case LISTAR_PRIORIDAD:
+                    gestor.listarTareasPorPrioridad(PRIORIDADES[aleatorio.nextInt(PRIORIDADES.length)], 0, TAMANIO_PAGINA);
+                    break;
+                case LISTAR_PROXIMAS:
+                    gestor.listarTareasProximasAVencer(aleatorio.nextInt(8), 0, TAMANIO_PAGINA);
+                    break;
+                default:
+                    throw new AssertionError(operacion);
+            }
+        }
+
+        private String idAleatorio() {
+            long limite = siguienteId.get();
+            return Long.toString(limite == 0 ? 0 : aleatorio.nextLong(limite));
+        }
+    }
+
+    /**
+     * Ejecuta una carga con parámetros clave=valor: hilos, ritmo (operaciones por segundo,
+     * 0 sin límite), segundos, precarga (tareas creadas antes de medir), semilla y mezcla
+     * (crear, buscar, actualizar, prioridad y proximas con sus pesos).
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int hilos = Runtime.getRuntime().availableProcessors();
+        double ritmo = 0;
+        long segundos = 10;
+        int precarga = 100_000;
+        long semilla = 42;
+        Map<Operacion, Integer> mezcla = leerMezcla("crear:10,buscar:50,actualizar:10,prioridad:15,proximas:15");
+        for (String argumento : args) {
+            int igual = argumento.indexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("Se esperaba clave=valor: " + argumento);
+            }
+            String clave = argumento.substring(0, igual);
+            String valor = argumento.substring(igual + 1);
+            switch (clave) {
+                case "hilos": hilos = Integer.parseInt(valor); break;
+                case "ritmo": ritmo = Double.parseDouble(valor); break;
+                case "segundos": segundos = Long.parseLong(valor); break;
+                case "precarga": precarga = Integer.parseInt(valor); break;
+                case "semilla": semilla = Long.parseLong(valor); break;
+                case "mezcla": mezcla = leerMezcla(valor); break;
+                default: throw new IllegalArgumentException("Parámetro desconocido: " + clave);
+            }
+        }
+
+        GestorTareas gestor = new GestorTareas();
+        precargar(gestor, precarga, semilla);
+        System.out.println("Precarga: " + gestor.contarTareas() + " tareas. Hilos: " + hilos
+                + ", ritmo: " + (ritmo > 0 ? ritmo + " op/s" : "sin límite") + ", duración: " + segundos + " s");
+        GeneradorCarga generador = new GeneradorCarga(gestor, hilos, ritmo, mezcla, semilla);
+        // Una primera vuelta corta calienta el JIT y no se informa
+        generador.ejecutar(Duration.ofSeconds(Math.min(5, segundos)));
+        System.out.print(generador.ejecutar(Duration.ofSeconds(segundos)).informe());
+    }
+
+    private static void precargar(GestorTareas gestor, int cantidad, long semilla) {
+        SplittableRandom aleatorio = new SplittableRandom(semilla);
+        LocalDate hoy = gestor.hoy();
+        List<DatosTarea> datos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            datos.add(new DatosTarea(Integer.toString(i), "Tarea " + i, "Precargada para la prueba de carga",
+                    PRIORIDADES[aleatorio.nextInt(PRIORIDADES.length)], hoy.plusDays(aleatorio.nextInt(DIAS_VENCIMIENTO))));
+        }
+        gestor.crearTareas(datos);
+    }
+
+    private static Map<Operacion, Integer> leerMezcla(String texto) {
+        Map<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] claveValor = parte.split(":");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Mezcla no válida (use operacion:peso,...): " + texto);
+            }
+            mezcla.put(operacionDe(claveValor[0].trim()), Integer.parseInt(claveValor[1].trim()));
+        }
+        return mezcla;
+    }
+
+    private static Operacion operacionDe(String nombre) {
+        switch (nombre) {
+            case "crear": return Operacion.CREAR;
+            case "buscar": return Operacion.BUSCAR;
+            case "actualizar": return Operacion.ACTUALIZAR_ESTADO;
+            case "prioridad": return Operacion.LISTAR_PRIORIDAD;
+            case "proximas": return Operacion.LISTAR_PROXIMAS;
+            default: throw new IllegalArgumentException("Operación desconocida en la mezcla: " + nombre);
+        }
+    }
+}
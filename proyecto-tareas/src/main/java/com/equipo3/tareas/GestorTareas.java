@@ -1,46 +1,659 @@
 package com.equipo3.tareas;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Gestiona las operaciones relacionadas con las tareas.
  * Incluye creación, búsqueda, actualización de estado y listados.
+ * Es seguro usarlo desde varios hilos: el repositorio y los índices son estructuras
+ * concurrentes sin un bloqueo global, el alta es atómica (put-if-absent) y los cambios
+ * de estado se aplican con compare-and-set sobre la propia tarea.
+ * Las tareas se identifican por el valor numérico de su ID ("007" y "7" son el mismo ID);
+ * el ID se convierte una sola vez al crear la tarea y el repositorio usa claves long.
+ * Opcionalmente puede respaldarse en un {@link RegistroTareas} para que las altas y los
+ * cambios de estado sobrevivan a un reinicio, y volcar instantáneas a disco para que el
+ * arranque no tenga que reproducir el registro completo. Cada alta se escribe en el registro
+ * antes de publicarse: si la escritura falla, la tarea no llega a verse y no se avisa a los
+ * oyentes. Un cambio de estado, en cambio, se registra justo después de aplicarse; si esa
+ * escritura falla la llamada lanza la excepción, pero el cambio ya es visible en memoria.
+ * Los listados son débilmente consistentes: reflejan las altas terminadas antes de la
+ * consulta y pueden incluir o no las que ocurren durante ella. Para varias consultas
+ * coherentes entre sí, use una vista de {@link #abrirVista()}.
+ * El gestor no escribe nada por consola: publica altas, cambios de estado y consultas a
+ * los {@link OyenteTareas} registrados, y sin oyentes esa publicación no cuesta nada.
+ * La fecha de hoy (para validar vencimientos y para los listados de próximas a vencer y
+ * vencidas) se toma de un {@link Clock}, que puede inyectarse en el constructor.
  */
 public class GestorTareas {
-    private final Map<String, Tarea> repositorioTareas;
+    // Registros que se validan e insertan juntos en las altas en bloque
+    private static final int LOTE_IMPORTACION = 64 * 1024;
+    private static final OyenteTareas[] SIN_OYENTES = new OyenteTareas[0];
+    // Por debajo de este número de tareas, filtrarTareas no reparte el trabajo entre hilos
+    private static final int UMBRAL_PARALELO_POR_DEFECTO = 50_000;
+
+    private final MapaTareasPorId repositorioTareas;
+    // Índice secundario: tareas agrupadas por prioridad, mantenido por crearTarea.
+    private final Map<Prioridad, Queue<Tarea>> indicePrioridad;
+    // Índice secundario ordenado por fecha de vencimiento para consultas por rango.
+    private final ConcurrentNavigableMap<LocalDate, Queue<Tarea>> indiceVencimiento;
+    // Índice invertido de títulos y descripciones para buscarTareasPorTexto.
+    private final IndiceTexto indiceTexto = new IndiceTexto();
+    // Índice secundario por estado, mantenido en cada cambio de estado; para ConsultaTareas.
+    private final Map<EstadoTarea, Set<Tarea>> indiceEstado;
+    // Registro de escritura anticipada; null si el gestor solo vive en memoria.
+    private RegistroTareas registro;
+    // IDs reservados por altas que se están escribiendo en el registro y aún no se publican.
+    private final ConcurrentHashMap<Long, Tarea> altasEnCurso = new ConcurrentHashMap<>();
+    // Contadores por ordinal de Prioridad y de EstadoTarea, y por fecha de vencimiento;
+    // se mantienen en cada alta y cada cambio de estado.
+    private final LongAdder[] contadoresPrioridad = nuevosContadores(Prioridad.values().length);
+    private final LongAdder[] contadoresEstado = nuevosContadores(EstadoTarea.values().length);
+    private final ConcurrentNavigableMap<LocalDate, ContadoresDia> contadoresVencimiento = new ConcurrentSkipListMap<>();
+    // Pool y umbral de las consultas por filtro (filtrarTareas, contarTareas con filtro).
+    private volatile ForkJoinPool poolConsultas = ForkJoinPool.commonPool();
+    private volatile int umbralParalelo = UMBRAL_PARALELO_POR_DEFECTO;
+    // Copia al escribir: publicar un evento solo lee el arreglo vigente.
+    private volatile OyenteTareas[] oyentes = SIN_OYENTES;
+    // Flujos de cambios que reservan la secuencia de cada alta antes de confirmarla.
+    private volatile FlujoCambios[] flujos = new FlujoCambios[0];
+    // Fecha de hoy según el reloj inyectado, recalculada solo cuando cambia el día.
+    private final DiaActual diaActual;
+    // Versión de la última alta o cambio de estado; cada modificación recibe la siguiente.
+    private final AtomicLong version = new AtomicLong();
 
     public GestorTareas() {
-        this.repositorioTareas = new HashMap<>();
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Crea un gestor en memoria que toma la fecha de hoy del reloj indicado.
+     *
+     * @throws IllegalArgumentException si el reloj es nulo.
+     */
+    public GestorTareas(Clock reloj) {
+        if (reloj == null) {
+            throw new IllegalArgumentException("El reloj no puede ser nulo.");
+        }
+        this.diaActual = new DiaActual(reloj);
+        this.repositorioTareas = new MapaTareasPorId();
+        this.indicePrioridad = new EnumMap<>(Prioridad.class);
+        for (Prioridad prioridad : Prioridad.values()) {
+            indicePrioridad.put(prioridad, new ConcurrentLinkedQueue<>());
+        }
+        this.indiceVencimiento = new ConcurrentSkipListMap<>();
+        this.indiceEstado = new EnumMap<>(EstadoTarea.class);
+        for (EstadoTarea estado : EstadoTarea.values()) {
+            indiceEstado.put(estado, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Crea un gestor persistente: reconstruye las tareas reproduciendo el registro y, a partir
+     * de ahí, anota en él cada alta y cada cambio de estado antes de devolver el control.
+     *
+     * @param registro El registro de escritura anticipada, ya abierto.
+     * @throws IOException si no se puede leer el registro.
+     */
+    public GestorTareas(RegistroTareas registro) throws IOException {
+        this();
+        registro.reproducirEn(this, 0);
+        this.registro = registro;
+    }
+
+    /**
+     * Crea un gestor a partir de una instantánea (si el archivo existe) y reproduce el
+     * registro solo desde la posición que la instantánea dejó anotada.
+     *
+     * @param snapshot Archivo de instantánea escrito con {@link #guardarSnapshot(Path)}.
+     * @param registro El registro de escritura anticipada, o null para cargar solo la instantánea.
+     * @throws IOException si no se puede leer la instantánea o el registro.
+     */
+    public GestorTareas(Path snapshot, RegistroTareas registro) throws IOException {
+        this();
+        long desde = 0;
+        if (Files.exists(snapshot)) {
+            desde = SnapshotTareas.cargarEn(snapshot, this);
+        }
+        if (registro != null) {
+            registro.reproducirEn(this, desde);
+            this.registro = registro;
+        }
     }
 
     public Tarea crearTarea(String id, String titulo, String descripcion, Prioridad prioridad, LocalDate fechaVencimiento) {
-        if (id == null || id.trim().isEmpty()) {
-             throw new IllegalArgumentException("El ID de la tarea no puede ser nulo ni vacío para crearla en el gestor.");
+        CodigoValidacion codigo = Tarea.validar(id, titulo, descripcion, prioridad, fechaVencimiento, hoy());
+        if (codigo != CodigoValidacion.VALIDA) {
+            throw new IllegalArgumentException(codigo.getMensaje());
         }
-        if (repositorioTareas.containsKey(id)) {
-            throw new IllegalArgumentException("Ya existe una tarea con el ID: " + id);
+        Tarea nuevaTarea = tareaValidada(id, titulo, descripcion, prioridad, fechaVencimiento);
+        codigo = darDeAlta(nuevaTarea);
+        if (codigo != CodigoValidacion.VALIDA) {
+            throw new IllegalArgumentException(codigo.mensajePara(id));
         }
-        // La validación de ID numérico, campos nulos/vacíos y fecha de vencimiento
-        // se realiza en el constructor de Tarea.
-        Tarea nuevaTarea = new Tarea(id, titulo, descripcion, prioridad, fechaVencimiento);
-        repositorioTareas.put(nuevaTarea.getId(), nuevaTarea);
-        System.out.println("Tarea creada exitosamente: " + nuevaTarea.getTitulo() + " (ID: " + nuevaTarea.getId() + ")");
         return nuevaTarea;
     }
 
+    /**
+     * Igual que {@link #crearTarea}, pero devuelve un código en lugar de lanzar
+     * IllegalArgumentException cuando los datos no son válidos o el ID ya existe. Pensado
+     * para ingerir fuentes con muchos registros erróneos, donde crear una excepción por
+     * cada uno dominaba el tiempo de CPU.
+     *
+     * @return {@link CodigoValidacion#VALIDA} si la tarea se creó, o el motivo del rechazo.
+     */
+    public CodigoValidacion intentarCrearTarea(String id, String titulo, String descripcion, Prioridad prioridad,
+                                               LocalDate fechaVencimiento) {
+        CodigoValidacion codigo = Tarea.validar(id, titulo, descripcion, prioridad, fechaVencimiento, hoy());
+        if (codigo != CodigoValidacion.VALIDA) {
+            return codigo;
+        }
+        return darDeAlta(tareaValidada(id, titulo, descripcion, prioridad, fechaVencimiento));
+    }
+
+    // Los datos ya pasaron Tarea.validar, así que el ID es numérico
+    private static Tarea tareaValidada(String id, String titulo, String descripcion, Prioridad prioridad,
+                                       LocalDate fechaVencimiento) {
+        return Tarea.restaurar(id, Long.parseLong(id), titulo, descripcion, prioridad, fechaVencimiento,
+                EstadoTarea.Pendiente);
+    }
+
+    /**
+     * Escribe la tarea en el registro, la publica y avisa a los oyentes.
+     *
+     * @return VALIDA, ID_DUPLICADO si el ID ya existía o DATOS_DEMASIADO_GRANDES si no cabe
+     *         en el registro; en los dos últimos casos la tarea no se publica.
+     * @throws java.io.UncheckedIOException si no se puede escribir en el registro; la tarea
+     *         no se publica.
+     */
+    private CodigoValidacion darDeAlta(Tarea nuevaTarea) {
+        if (registro == null) {
+            // Solo el hilo que gana el put-if-absent indexa la tarea.
+            if (!registrarEnMemoria(nuevaTarea)) {
+                return CodigoValidacion.ID_DUPLICADO;
+            }
+        } else {
+            ByteBuffer alta = RegistroTareas.codificarCreacion(nuevaTarea);
+            if (alta == null) {
+                return CodigoValidacion.DATOS_DEMASIADO_GRANDES;
+            }
+            // Se reserva el ID antes de escribir, para que de dos altas con el mismo ID solo
+            // una llegue al registro; el ID se libera cuando la tarea ya está en el repositorio.
+            if (!reservarId(nuevaTarea)) {
+                return CodigoValidacion.ID_DUPLICADO;
+            }
+            try {
+                registro.registrarCreaciones(alta);
+                registrarEnMemoria(nuevaTarea);
+            } finally {
+                altasEnCurso.remove(nuevaTarea.getIdNumerico());
+            }
+        }
+        RuntimeException fallo = avisarAlta(oyentes, nuevaTarea, null);
+        if (fallo != null) {
+            throw fallo;
+        }
+        return CodigoValidacion.VALIDA;
+    }
+
+    /**
+     * Reserva el ID de una tarea que aún no se ha publicado. El repositorio se vuelve a mirar
+     * tras reservar: quien libera una reserva ya publicó su tarea, así que una alta que
+     * termina entre las dos comprobaciones se ve en la segunda.
+     *
+     * @return false si el ID ya existe o lo tiene reservado otra alta.
+     */
+    private boolean reservarId(Tarea tarea) {
+        long id = tarea.getIdNumerico();
+        if (repositorioTareas.obtener(id) != null || altasEnCurso.putIfAbsent(id, tarea) != null) {
+            return false;
+        }
+        if (repositorioTareas.obtener(id) != null) {
+            altasEnCurso.remove(id);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Crea muchas tareas de una vez, pensado para cargas masivas.
+     * Aplica las mismas validaciones que {@link #crearTarea}, pero en paralelo, reserva
+     * espacio en el repositorio antes de insertar y no lanza excepciones por registros inválidos: los devuelve en el resumen. Si un ID se repite
+     * dentro de la entrada se acepta la primera aparición; también se rechazan los IDs que
+     * ya existían en el gestor.
+     *
+     * @param datos Los datos de las tareas a crear.
+     * @return Resumen con el número de tareas aceptadas y los rechazos con su motivo.
+     * @throws IllegalArgumentException si la colección es nula.
+     */
+    public ResultadoImportacion crearTareas(Collection<DatosTarea> datos) {
+        if (datos == null) {
+            throw new IllegalArgumentException("Los datos a importar no pueden ser nulos.");
+        }
+        reservarCapacidad(repositorioTareas.tamanio() + datos.size());
+        return crearTareas(datos.iterator());
+    }
+
+    /** Igual que {@link #crearTareas(Collection)}, consumiendo el stream por lotes. */
+    public ResultadoImportacion crearTareas(Stream<DatosTarea> datos) {
+        if (datos == null) {
+            throw new IllegalArgumentException("Los datos a importar no pueden ser nulos.");
+        }
+        return crearTareas(datos.iterator());
+    }
+
+    /** Igual que {@link #crearTareas(Collection)}; la entrada se procesa por lotes sin cargarla entera. */
+    public ResultadoImportacion crearTareas(Iterator<DatosTarea> datos) {
+        if (datos == null) {
+            throw new IllegalArgumentException("Los datos a importar no pueden ser nulos.");
+        }
+        return importar(datos, true);
+    }
+
+    /**
+     * Como {@link #crearTareas(Collection)}, pero todo en el hilo que llama, sin repartir la
+     * validación ni la inserción en el pool común. Para GestorTareasParticionado, cuyas
+     * particiones solo se modifican desde su hilo escritor.
+     */
+    ResultadoImportacion crearTareasEnSerie(Collection<DatosTarea> datos) {
+        reservarCapacidad(repositorioTareas.tamanio() + datos.size());
+        return importar(datos.iterator(), false);
+    }
+
+    private ResultadoImportacion importar(Iterator<DatosTarea> datos, boolean paralelo) {
+        List<ResultadoImportacion.Rechazo> rechazos = new ArrayList<>();
+        List<DatosTarea> lote = new ArrayList<>(LOTE_IMPORTACION);
+        long aceptadas = 0;
+        long posicionLote = 0;
+        while (datos.hasNext()) {
+            lote.add(datos.next());
+            if (lote.size() == LOTE_IMPORTACION || !datos.hasNext()) {
+                aceptadas += importarLote(lote, posicionLote, rechazos, paralelo);
+                posicionLote += lote.size();
+                lote.clear();
+            }
+        }
+        return new ResultadoImportacion(aceptadas, rechazos);
+    }
+
+    private static IntStream indices(int n, boolean paralelo) {
+        IntStream indices = IntStream.range(0, n);
+        return paralelo ? indices.parallel() : indices;
+    }
+
+    private int importarLote(List<DatosTarea> lote, long posicionLote, List<ResultadoImportacion.Rechazo> rechazos,
+                             boolean paralelo) {
+        int n = lote.size();
+        Tarea[] tareas = new Tarea[n];
+        ByteBuffer[] altas = registro != null ? new ByteBuffer[n] : null;
+        String[] motivos = new String[n];
+        LocalDate hoy = hoy();
+        // 1. Validación (y codificación para el registro), en paralelo si se pide: cada registro es independiente
+        indices(n, paralelo).forEach(i -> {
+            DatosTarea d = lote.get(i);
+            if (d == null) {
+                motivos[i] = CodigoValidacion.DATOS_NULOS.getMensaje();
+                return;
+            }
+            CodigoValidacion codigo = Tarea.validar(d.getId(), d.getTitulo(), d.getDescripcion(), d.getPrioridad(),
+                    d.getFechaVencimiento(), hoy);
+            if (codigo == CodigoValidacion.VALIDA) {
+                tareas[i] = tareaValidada(d.getId(), d.getTitulo(), d.getDescripcion(), d.getPrioridad(), d.getFechaVencimiento());
+                if (altas != null && (altas[i] = RegistroTareas.codificarCreacion(tareas[i])) == null) {
+                    tareas[i] = null;
+                    motivos[i] = CodigoValidacion.DATOS_DEMASIADO_GRANDES.getMensaje();
+                }
+            } else {
+                motivos[i] = codigo.getMensaje();
+            }
+        });
+        // 2. Duplicados dentro del lote, en orden para que gane siempre la primera aparición.
+        //    Los repetidos de lotes anteriores ya están en el repositorio y los detecta el paso 3.
+        Set<Long> idsDelLote = new HashSet<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            if (tareas[i] != null && !idsDelLote.add(tareas[i].getIdNumerico())) {
+                motivos[i] = "ID repetido en los datos importados: " + tareas[i].getId();
+                tareas[i] = null;
+            }
+        }
+        reservarCapacidad(repositorioTareas.tamanio() + n);
+        if (altas == null) {
+            // 3. Inserción; el put-if-absent detecta los IDs que ya existían
+            indices(n, paralelo).forEach(i -> {
+                if (tareas[i] != null && !registrarEnMemoria(tareas[i])) {
+                    motivos[i] = CodigoValidacion.ID_DUPLICADO.mensajePara(tareas[i].getId());
+                    tareas[i] = null;
+                }
+            });
+        } else {
+            // 3. Con registro, se reservan los IDs, se escriben las altas y solo entonces se
+            //    publican; si la escritura falla no se publica ninguna tarea del lote
+            indices(n, paralelo).forEach(i -> {
+                if (tareas[i] != null && !reservarId(tareas[i])) {
+                    motivos[i] = CodigoValidacion.ID_DUPLICADO.mensajePara(tareas[i].getId());
+                    tareas[i] = null;
+                }
+            });
+            try {
+                List<ByteBuffer> reservadas = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    if (tareas[i] != null) {
+                        reservadas.add(altas[i]);
+                    }
+                }
+                registro.registrarCreaciones(reservadas.toArray(new ByteBuffer[0]));
+                indices(n, paralelo).forEach(i -> {
+                    if (tareas[i] != null) {
+                        registrarEnMemoria(tareas[i]);
+                    }
+                });
+            } finally {
+                for (Tarea tarea : tareas) {
+                    if (tarea != null) {
+                        altasEnCurso.remove(tarea.getIdNumerico());
+                    }
+                }
+            }
+        }
+        List<Tarea> creadas = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (tareas[i] != null) {
+                creadas.add(tareas[i]);
+            } else {
+                DatosTarea d = lote.get(i);
+                rechazos.add(new ResultadoImportacion.Rechazo(posicionLote + i, d == null ? null : d.getId(), motivos[i]));
+            }
+        }
+        OyenteTareas[] actuales = oyentes;
+        RuntimeException fallo = null;
+        for (Tarea tarea : creadas) {
+            fallo = avisarAlta(actuales, tarea, fallo);
+        }
+        if (fallo != null) {
+            throw fallo;
+        }
+        return creadas.size();
+    }
+
+    /**
+     * Avisa del alta a todos los oyentes aunque alguno falle: un FlujoCambios tiene reservada
+     * la secuencia del alta y, si no recibiera el aviso, sus lectores se quedarían parados en
+     * ella. Devuelve 'fallo', o el primer error si no había ninguno, con los siguientes como
+     * suprimidos, para lanzarlo cuando se haya avisado a todos.
+     */
+    private static RuntimeException avisarAlta(OyenteTareas[] actuales, Tarea tarea, RuntimeException fallo) {
+        for (OyenteTareas oyente : actuales) {
+            try {
+                oyente.tareaCreada(tarea);
+            } catch (RuntimeException e) {
+                if (fallo == null) {
+                    fallo = e;
+                } else if (fallo != e) {
+                    fallo.addSuppressed(e);
+                }
+            }
+        }
+        return fallo;
+    }
+
+    /** Inserta la tarea en el repositorio y en los índices; false si el ID ya existía. */
+    private boolean registrarEnMemoria(Tarea tarea) {
+        tarea.asignarGestor(this);
+        // Se cuenta antes de publicarla: hasta entonces nadie puede cambiar su estado, así que
+        // el estado contado es el mismo que descontará el primer cambio.
+        contar(tarea, 1);
+        if (repositorioTareas.ponerSiAusente(tarea) != null) {
+            contar(tarea, -1);
+            return false;
+        }
+        indicePrioridad.get(tarea.getPrioridad()).add(tarea);
+        indiceVencimiento.computeIfAbsent(tarea.getFechaVencimiento(), fecha -> new ConcurrentLinkedQueue<>()).add(tarea);
+        indexarEstado(tarea, tarea.getEstado());
+        indiceTexto.indexar(tarea);
+        // Mientras no se confirme el alta nadie puede cambiar el estado, así que el alta queda
+        // en cada flujo por delante de cualquier cambio de estado de la tarea
+        for (FlujoCambios flujo : flujos) {
+            flujo.reservarAlta(tarea);
+        }
+        // Solo ahora, con la tarea en todos los índices, la ven las vistas abiertas después
+        tarea.confirmarAlta();
+        return true;
+    }
+
+    /**
+     * Añade la tarea al índice de 'estado'. Si entretanto su estado ya cambió, el cambio
+     * posterior se encarga de indexarla y aquí se deshace la entrada, para que dos cambios
+     * concurrentes no la dejen en dos estados a la vez.
+     */
+    private void indexarEstado(Tarea tarea, EstadoTarea estado) {
+        Set<Tarea> tareas = indiceEstado.get(estado);
+        tareas.add(tarea);
+        if (tarea.getEstado() != estado) {
+            tareas.remove(tarea);
+        }
+    }
+
+    private void contar(Tarea tarea, int signo) {
+        EstadoTarea estado = tarea.getEstado();
+        contadoresPrioridad[tarea.getPrioridad().ordinal()].add(signo);
+        contadoresEstado[estado.ordinal()].add(signo);
+        ContadoresDia dia = contadoresVencimiento.computeIfAbsent(tarea.getFechaVencimiento(), fecha -> new ContadoresDia());
+        dia.total.add(signo);
+        if (estado != EstadoTarea.Completada) {
+            dia.abiertas.add(signo);
+        }
+    }
+
+    private void contarCambioEstado(Tarea tarea, EstadoTarea anterior, EstadoTarea nuevo) {
+        contadoresEstado[anterior.ordinal()].decrement();
+        contadoresEstado[nuevo.ordinal()].increment();
+        if (nuevo == EstadoTarea.Completada) {
+            contadoresVencimiento.get(tarea.getFechaVencimiento()).abiertas.decrement();
+        }
+        indiceEstado.get(anterior).remove(tarea);
+        indexarEstado(tarea, nuevo);
+    }
+
+    /** Como contarCambioEstado para un lote: cada contador recibe una sola suma. */
+    private void contarCambiosEstado(List<Tarea> tareas, List<EstadoTarea> anteriores, List<EstadoTarea> nuevos) {
+        long[] diferencias = new long[contadoresEstado.length];
+        Map<LocalDate, Long> completadasPorDia = new HashMap<>();
+        for (int i = 0; i < tareas.size(); i++) {
+            Tarea tarea = tareas.get(i);
+            diferencias[anteriores.get(i).ordinal()]--;
+            diferencias[nuevos.get(i).ordinal()]++;
+            if (nuevos.get(i) == EstadoTarea.Completada) {
+                completadasPorDia.merge(tarea.getFechaVencimiento(), 1L, Long::sum);
+            }
+            indiceEstado.get(anteriores.get(i)).remove(tarea);
+            indexarEstado(tarea, nuevos.get(i));
+        }
+        for (int estado = 0; estado < diferencias.length; estado++) {
+            if (diferencias[estado] != 0) {
+                contadoresEstado[estado].add(diferencias[estado]);
+            }
+        }
+        completadasPorDia.forEach((fecha, completadas) -> contadoresVencimiento.get(fecha).abiertas.add(-completadas));
+    }
+
+    /** Tareas con una fecha de vencimiento, en total y sin completar. */
+    private static final class ContadoresDia {
+        final LongAdder total = new LongAdder();
+        final LongAdder abiertas = new LongAdder();
+    }
+
+    private static LongAdder[] nuevosContadores(int cantidad) {
+        LongAdder[] contadores = new LongAdder[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            contadores[i] = new LongAdder();
+        }
+        return contadores;
+    }
+
+    void reservarCapacidad(int totalEsperado) {
+        repositorioTareas.asegurarCapacidad(totalEsperado);
+    }
+
+    /** Reproduce un alta guardada: no valida ni vuelve a registrar, e ignora IDs ya presentes. */
+    void restaurarTarea(Tarea tarea) {
+        registrarEnMemoria(tarea);
+    }
+
+    /**
+     * Reproduce un cambio de estado guardado haciendo avanzar el estado de la tarea.
+     *
+     * @return false si la tarea todavía no existe.
+     */
+    boolean restaurarEstado(long idNumerico, EstadoTarea estado) {
+        Tarea tarea = repositorioTareas.obtener(idNumerico);
+        if (tarea == null) {
+            return false;
+        }
+        EstadoTarea anterior = tarea.avanzarEstadoHasta(estado);
+        if (anterior != null) {
+            contarCambioEstado(tarea, anterior, estado);
+        }
+        return true;
+    }
+
+    /** Lo invoca Tarea tras aplicar una transición, venga de actualizarEstadoTarea o de setEstado. */
+    void estadoCambiado(Tarea tarea, EstadoTarea anterior, EstadoTarea nuevo) {
+        contarCambioEstado(tarea, anterior, nuevo);
+        if (registro != null) {
+            registro.registrarCambioEstado(tarea, nuevo);
+        }
+        for (OyenteTareas oyente : oyentes) {
+            oyente.estadoCambiado(tarea, anterior, nuevo);
+        }
+    }
+
+    /**
+     * Registra un oyente de eventos del gestor.
+     *
+     * @throws IllegalArgumentException si el oyente es nulo.
+     */
+    public synchronized void agregarOyente(OyenteTareas oyente) {
+        if (oyente == null) {
+            throw new IllegalArgumentException("El oyente no puede ser nulo.");
+        }
+        OyenteTareas[] nuevos = Arrays.copyOf(oyentes, oyentes.length + 1);
+        nuevos[oyentes.length] = oyente;
+        oyentes = nuevos;
+    }
+
+    synchronized void agregarFlujo(FlujoCambios flujo) {
+        FlujoCambios[] nuevos = Arrays.copyOf(flujos, flujos.length + 1);
+        nuevos[flujos.length] = flujo;
+        flujos = nuevos;
+    }
+
+    synchronized void quitarFlujo(FlujoCambios flujo) {
+        flujos = Arrays.stream(flujos).filter(f -> f != flujo).toArray(FlujoCambios[]::new);
+    }
+
+    /** Deja de publicar eventos al oyente; devuelve false si no estaba registrado. */
+    public synchronized boolean quitarOyente(OyenteTareas oyente) {
+        for (int i = 0; i < oyentes.length; i++) {
+            if (oyentes[i] == oyente) {
+                OyenteTareas[] nuevos = new OyenteTareas[oyentes.length - 1];
+                System.arraycopy(oyentes, 0, nuevos, 0, i);
+                System.arraycopy(oyentes, i + 1, nuevos, i, nuevos.length - i);
+                oyentes = nuevos.length == 0 ? SIN_OYENTES : nuevos;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Lo invoca VigilanteVencimientos cuando vence una tarea que no estaba completada. */
+    void tareaVencida(Tarea tarea) {
+        for (OyenteTareas oyente : oyentes) {
+            oyente.tareaVencida(tarea);
+        }
+    }
+
+    void consultaRealizada(OyenteTareas.TipoConsulta consulta, int resultados) {
+        for (OyenteTareas oyente : oyentes) {
+            oyente.consultaRealizada(consulta, resultados);
+        }
+    }
+
     public Optional<Tarea> buscarTareaPorId(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new IllegalArgumentException("El ID para buscar no puede ser nulo ni vacío.");
         }
-        // Si se quisiera reforzar que el ID buscado sea numérico aquí también, se podría añadir:
-        // try { Long.parseLong(id); } catch (NumberFormatException e) { throw new IllegalArgumentException("El ID para buscar debe ser numérico."); }
-        return Optional.ofNullable(repositorioTareas.get(id));
+        Tarea tarea = obtenerPorId(id);
+        consultaRealizada(OyenteTareas.TipoConsulta.BUSCAR_POR_ID, tarea == null ? 0 : 1);
+        return Optional.ofNullable(tarea);
+    }
+
+    Tarea obtenerPorId(String id) {
+        // Un ID no numérico nunca pudo darse de alta.
+        return Tarea.esIdNumerico(id) ? repositorioTareas.obtener(Long.parseLong(id)) : null;
+    }
+
+    /**
+     * Busca tareas por palabras de su título o descripción con el índice invertido.
+     * Sin distinguir mayúsculas ni tildes, las palabras separadas por espacios deben aparecer
+     * todas, "OR" separa alternativas ("informe cliente OR factura") y una palabra terminada
+     * en '*' se busca como prefijo ("factur*"). Primero van las tareas que contienen más
+     * palabras de la consulta y, a igualdad, las dadas de alta antes.
+     *
+     * @throws IllegalArgumentException si la consulta es nula o no contiene ninguna palabra.
+     */
+    public List<Tarea> buscarTareasPorTexto(String consulta) {
+        return buscarTareasPorTexto(consulta, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Igual que {@link #buscarTareasPorTexto(String)}, devolviendo solo los 'limite' primeros.
+     *
+     * @throws IllegalArgumentException si la consulta es nula o vacía, o el límite es negativo.
+     */
+    public List<Tarea> buscarTareasPorTexto(String consulta, int limite) {
+        if (consulta == null) {
+            throw new IllegalArgumentException("La consulta de texto no puede ser nula.");
+        }
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo.");
+        }
+        List<Tarea> resultado = indiceTexto.buscar(IndiceTexto.analizarConsulta(consulta), limite);
+        consultaRealizada(OyenteTareas.TipoConsulta.BUSCAR_POR_TEXTO, resultado.size());
+        return resultado;
     }
 
     /**
@@ -58,62 +671,492 @@ public class GestorTareas {
         if (nuevoEstado == null) {
             throw new IllegalArgumentException("El nuevo estado no puede ser nulo.");
         }
-        Optional<Tarea> tareaOpcional = buscarTareaPorId(idTarea);
-        if (tareaOpcional.isPresent()) {
-            Tarea tarea = tareaOpcional.get();
-            // La validación de la transición ocurrirá aquí, dentro de tarea.setEstado()
-            // Si la transición es inválida, setEstado lanzará una excepción.
-            tarea.setEstado(nuevoEstado); 
-            System.out.println("Estado de la tarea ID '" + idTarea + "' actualizado a: " + nuevoEstado);
+        Tarea tarea = obtenerPorId(idTarea);
+        if (tarea != null) {
+            // La transición se valida y aplica con compare-and-set dentro de la tarea.
+            // Si la transición es inválida, cambiarEstado lanzará una excepción.
+            tarea.cambiarEstado(nuevoEstado);
             return true;
         } else {
-            System.out.println("No se pudo actualizar: Tarea con ID '" + idTarea + "' no encontrada.");
             return false;
         }
     }
 
+    /**
+     * Aplica varios cambios de estado en una sola pasada. Cada tarea cambia de forma atómica
+     * e independiente de las demás: un ID que no existe o una transición no válida no detiene
+     * el lote, sino que se informa en el resultado sin lanzar excepciones. Los contadores se
+     * actualizan una vez al final del lote y, si hay registro, todos los cambios se anotan
+     * con una sola escritura; los oyentes reciben un estadoCambiado por cada tarea que cambió.
+     *
+     * @param cambios Nuevo estado para cada ID.
+     * @return Para cada ID, en el orden en que lo recorre 'cambios', el resultado de su cambio.
+     * @throws IllegalArgumentException si el mapa, algún ID o algún estado es nulo; en ese
+     *         caso no se aplica ningún cambio.
+     */
+    public Map<String, ResultadoCambioEstado> actualizarEstados(Map<String, EstadoTarea> cambios) {
+        if (cambios == null) {
+            throw new IllegalArgumentException("Los cambios de estado no pueden ser nulos.");
+        }
+        for (Map.Entry<String, EstadoTarea> cambio : cambios.entrySet()) {
+            if (cambio.getKey() == null || cambio.getValue() == null) {
+                throw new IllegalArgumentException("Los IDs y los estados de un cambio en lote no pueden ser nulos.");
+            }
+        }
+        Map<String, ResultadoCambioEstado> resultados = new LinkedHashMap<>(cambios.size() * 4 / 3 + 1);
+        List<Tarea> cambiadas = new ArrayList<>();
+        List<EstadoTarea> anteriores = new ArrayList<>();
+        List<EstadoTarea> nuevos = new ArrayList<>();
+        for (Map.Entry<String, EstadoTarea> cambio : cambios.entrySet()) {
+            Tarea tarea = obtenerPorId(cambio.getKey());
+            EstadoTarea anterior = tarea == null ? null : tarea.cambiarEstadoSinAviso(cambio.getValue());
+            if (tarea == null) {
+                resultados.put(cambio.getKey(), ResultadoCambioEstado.NO_ENCONTRADA);
+            } else if (anterior == null) {
+                resultados.put(cambio.getKey(), ResultadoCambioEstado.TRANSICION_NO_VALIDA);
+            } else {
+                resultados.put(cambio.getKey(), ResultadoCambioEstado.APLICADO);
+                if (anterior != cambio.getValue()) {
+                    cambiadas.add(tarea);
+                    anteriores.add(anterior);
+                    nuevos.add(cambio.getValue());
+                }
+            }
+        }
+        contarCambiosEstado(cambiadas, anteriores, nuevos);
+        if (registro != null) {
+            registro.registrarCambiosEstado(cambiadas, nuevos);
+        }
+        OyenteTareas[] actuales = oyentes;
+        for (int i = 0; i < cambiadas.size() && actuales.length > 0; i++) {
+            for (OyenteTareas oyente : actuales) {
+                oyente.estadoCambiado(cambiadas.get(i), anteriores.get(i), nuevos.get(i));
+            }
+        }
+        return resultados;
+    }
+
     /**
      * Lista todas las tareas que coinciden con una prioridad específica.
+     * La consulta se resuelve con el índice por prioridad, por lo que su coste
+     * es proporcional al tamaño del resultado y no al total de tareas.
      *
      * @param prioridad La prioridad por la cual filtrar las tareas.
      * @return Una lista de tareas que tienen la prioridad especificada.
      * @throws IllegalArgumentException si la prioridad es nula.
      */
     public List<Tarea> listarTareasPorPrioridad(Prioridad prioridad) {
+        List<Tarea> resultado = new ArrayList<>(tareasDePrioridad(prioridad));
+        consultaRealizada(OyenteTareas.TipoConsulta.LISTAR_POR_PRIORIDAD, resultado.size());
+        return resultado;
+    }
+
+    /**
+     * Devuelve una página de las tareas de una prioridad, en orden de alta.
+     * Solo se reserva memoria para la página, no para el resultado completo.
+     *
+     * @param desplazamiento Número de tareas que se saltan desde el principio.
+     * @param limite Número máximo de tareas devueltas.
+     * @throws IllegalArgumentException si la prioridad es nula o desplazamiento o límite son negativos.
+     */
+    public List<Tarea> listarTareasPorPrioridad(Prioridad prioridad, long desplazamiento, int limite) {
+        validarPagina(desplazamiento, limite);
+        List<Tarea> pagina = paginar(streamTareasPorPrioridad(prioridad), desplazamiento, limite);
+        consultaRealizada(OyenteTareas.TipoConsulta.LISTAR_POR_PRIORIDAD, pagina.size());
+        return pagina;
+    }
+
+    /**
+     * Aplica la acción a cada tarea de la prioridad sin construir una lista.
+     *
+     * @throws IllegalArgumentException si la prioridad o la acción son nulas.
+     */
+    public void recorrerTareasPorPrioridad(Prioridad prioridad, Consumer<? super Tarea> accion) {
+        Queue<Tarea> tareas = tareasDePrioridad(prioridad);
+        validarAccion(accion);
+        int vistas = 0;
+        for (Tarea tarea : tareas) {
+            accion.accept(tarea);
+            vistas++;
+        }
+        consultaRealizada(OyenteTareas.TipoConsulta.LISTAR_POR_PRIORIDAD, vistas);
+    }
+
+    /**
+     * Cuenta las tareas de una prioridad con el contador mantenido en cada alta, en O(1).
+     *
+     * @throws IllegalArgumentException si la prioridad es nula.
+     */
+    public int contarTareasPorPrioridad(Prioridad prioridad) {
+        if (prioridad == null) {
+            throw new IllegalArgumentException("La prioridad para listar no puede ser nula.");
+        }
+        int total = (int) contadoresPrioridad[prioridad.ordinal()].sum();
+        consultaRealizada(OyenteTareas.TipoConsulta.LISTAR_POR_PRIORIDAD, total);
+        return total;
+    }
+
+    /**
+     * Vista perezosa de las tareas de una prioridad: las operaciones de corte como
+     * findFirst o limit dejan de recorrer el índice en cuanto tienen su resultado.
+     * Como no se sabe cuántas tareas llegará a consumir, no se publica a los oyentes.
+     *
+     * @throws IllegalArgumentException si la prioridad es nula.
+     */
+    public Stream<Tarea> streamTareasPorPrioridad(Prioridad prioridad) {
+        return tareasDePrioridad(prioridad).stream();
+    }
+
+    private Queue<Tarea> tareasDePrioridad(Prioridad prioridad) {
         if (prioridad == null) {
             throw new IllegalArgumentException("La prioridad para listar no puede ser nula.");
         }
-        return repositorioTareas.values().stream()
-                .filter(tarea -> tarea.getPrioridad() == prioridad)
-                .collect(Collectors.toList());
+        return indicePrioridad.get(prioridad);
     }
 
     /**
      * Lista todas las tareas cuya fecha de vencimiento está próxima.
      * Se considera "próxima" si la fecha de vencimiento es hoy o dentro de los 'diasLimite' especificados.
      * No incluye tareas ya vencidas (cuya fecha de vencimiento es anterior a hoy).
+     * La consulta recorre solo el subrango [hoy, hoy + diasLimite] del índice por fecha,
+     * de modo que las tareas vencidas no se llegan a visitar.
      *
      * @param diasLimite El número de días en el futuro (incluyendo hoy) para considerar una tarea como próxima a vencer.
      * @return Una lista de tareas próximas a vencer.
      * @throws IllegalArgumentException si diasLimite es negativo.
      */
     public List<Tarea> listarTareasProximasAVencer(int diasLimite) {
+        List<Tarea> proximas = new ArrayList<>();
+        for (Queue<Tarea> tareasDelDia : diasProximos(diasLimite)) {
+            proximas.addAll(tareasDelDia);
+        }
+        consultaRealizada(OyenteTareas.TipoConsulta.LISTAR_PROXIMAS_A_VENCER, proximas.size());
+        return proximas;
+    }
+
+    /**
+     * Devuelve una página de las tareas próximas a vencer, ordenadas por fecha de vencimiento
+     * y, dentro de la misma fecha, por orden de alta.
+     *
+     * @throws IllegalArgumentException si diasLimite, desplazamiento o límite son negativos.
+     */
+    public List<Tarea> listarTareasProximasAVencer(int diasLimite, long desplazamiento, int limite) {
+        validarPagina(desplazamiento, limite);
+        List<Tarea> pagina = paginar(streamTareasProximasAVencer(diasLimite), desplazamiento, limite);
+        consultaRealizada(OyenteTareas.TipoConsulta.LISTAR_PROXIMAS_A_VENCER, pagina.size());
+        return pagina;
+    }
+
+    /**
+     * Aplica la acción a cada tarea próxima a vencer, en orden de fecha, sin construir una lista.
+     *
+     * @throws IllegalArgumentException si diasLimite es negativo o la acción es nula.
+     */
+    public void recorrerTareasProximasAVencer(int diasLimite, Consumer<? super Tarea> accion) {
+        Collection<Queue<Tarea>> dias = diasProximos(diasLimite);
+        validarAccion(accion);
+        int vistas = 0;
+        for (Queue<Tarea> tareasDelDia : dias) {
+            for (Tarea tarea : tareasDelDia) {
+                accion.accept(tarea);
+                vistas++;
+            }
+        }
+        consultaRealizada(OyenteTareas.TipoConsulta.LISTAR_PROXIMAS_A_VENCER, vistas);
+    }
+
+    /**
+     * Cuenta las tareas próximas a vencer con los contadores por fecha, sin recorrerlas.
+     *
+     * @throws IllegalArgumentException si diasLimite es negativo.
+     */
+    public int contarTareasProximasAVencer(int diasLimite) {
         if (diasLimite < 0) {
             throw new IllegalArgumentException("El límite de días no puede ser negativo.");
         }
-        LocalDate hoy = LocalDate.now();
-        // Imprimir la fecha actual para depuración
-        System.out.println("DEBUG: La fecha actual (hoy) en GestorTareas es: " + hoy);
+        LocalDate hoy = hoy();
+        int total = (int) contarVencimientosEntre(hoy, hoy.plusDays(diasLimite));
+        consultaRealizada(OyenteTareas.TipoConsulta.LISTAR_PROXIMAS_A_VENCER, total);
+        return total;
+    }
+
+    /**
+     * Vista perezosa de las tareas próximas a vencer, en orden de fecha. Las operaciones de
+     * corte dejan de recorrer el índice en cuanto tienen su resultado. No se publica a los oyentes.
+     *
+     * @throws IllegalArgumentException si diasLimite es negativo.
+     */
+    public Stream<Tarea> streamTareasProximasAVencer(int diasLimite) {
+        return diasProximos(diasLimite).stream().flatMap(Queue::stream);
+    }
+
+    /**
+     * Abre una vista de solo lectura con las tareas tal como estaban en este instante: las
+     * altas y cambios de estado posteriores no se ven en ella, y tampoco un cambio a medias.
+     * Abrirla cuesta lo mismo que leer un contador y no bloquea ni retiene nada, así que no
+     * hace falta cerrarla; leer de ella tampoco bloquea a quien escribe.
+     */
+    public VistaTareas abrirVista() {
+        return new VistaTareas(this, version.get(), hoy());
+    }
+
+    /** Asigna la versión de la siguiente alta o cambio de estado. */
+    long nuevaVersion() {
+        return version.incrementAndGet();
+    }
+
+    // --- Acceso a índices y contadores para ConsultaTareas ---
+
+    /** Inicia una consulta que combina prioridad, estado y rango de vencimiento. */
+    public ConsultaTareas consulta() {
+        return new ConsultaTareas(this);
+    }
+
+    long contarPorPrioridad(Prioridad prioridad) {
+        return contadoresPrioridad[prioridad.ordinal()].sum();
+    }
+
+    long contarPorEstado(EstadoTarea estado) {
+        return contadoresEstado[estado.ordinal()].sum();
+    }
+
+    /** Tareas con vencimiento en [desde, hasta]; un extremo null no limita. Coste: fechas distintas del rango. */
+    long contarVencimientosEntre(LocalDate desde, LocalDate hasta) {
+        long total = 0;
+        for (ContadoresDia dia : rangoVencimiento(contadoresVencimiento, desde, hasta).values()) {
+            total += dia.total.sum();
+        }
+        return total;
+    }
 
-        LocalDate fechaTope = hoy.plusDays(diasLimite);
+    /** Fecha de hoy según el reloj del gestor; no resuelve la zona horaria salvo al cambiar de día. */
+    LocalDate hoy() {
+        return diaActual.hoy();
+    }
+
+    Clock getReloj() {
+        return diaActual.getReloj();
+    }
+
+    Queue<Tarea> indicePorPrioridad(Prioridad prioridad) {
+        return indicePrioridad.get(prioridad);
+    }
 
-        return repositorioTareas.values().stream()
-                .filter(tarea -> !tarea.getFechaVencimiento().isBefore(hoy) && // No vencidas antes de hoy
-                                 !tarea.getFechaVencimiento().isAfter(fechaTope)) // Dentro del rango
-                .collect(Collectors.toList());
+    /** Puede contener momentáneamente tareas que ya cambiaron de estado: compruebe getEstado(). */
+    Set<Tarea> indicePorEstado(EstadoTarea estado) {
+        return indiceEstado.get(estado);
+    }
+
+    Collection<Queue<Tarea>> indicePorVencimiento(LocalDate desde, LocalDate hasta) {
+        return rangoVencimiento(indiceVencimiento, desde, hasta).values();
+    }
+
+    /** Fechas que tienen al menos una tarea, en orden; vista de solo lectura. */
+    NavigableSet<LocalDate> fechasVencimiento() {
+        return Collections.unmodifiableNavigableSet(indiceVencimiento.keySet());
+    }
+
+    private static <V> Map<LocalDate, V> rangoVencimiento(ConcurrentNavigableMap<LocalDate, V> mapa, LocalDate desde, LocalDate hasta) {
+        if (desde != null && hasta != null) {
+            return mapa.subMap(desde, true, hasta, true);
+        }
+        if (desde != null) {
+            return mapa.tailMap(desde, true);
+        }
+        return hasta != null ? mapa.headMap(hasta, true) : mapa;
+    }
+
+    private Collection<Queue<Tarea>> diasProximos(int diasLimite) {
+        if (diasLimite < 0) {
+            throw new IllegalArgumentException("El límite de días no puede ser negativo.");
+        }
+        LocalDate hoy = hoy();
+        return indiceVencimiento.subMap(hoy, true, hoy.plusDays(diasLimite), true).values();
     }
     
+    /**
+     * Recorre todas las tareas sin copiarlas; no bloquea a quien crea tareas mientras tanto.
+     * El orden no está definido.
+     *
+     * @throws IllegalArgumentException si la acción es nula.
+     */
+    public void recorrerTareas(Consumer<? super Tarea> accion) {
+        validarAccion(accion);
+        repositorioTareas.recorrer(accion);
+    }
+
+    /** Vista perezosa de todas las tareas, en un orden no definido. */
+    public Stream<Tarea> streamTareas() {
+        return repositorioTareas.stream();
+    }
+
+    /**
+     * Recuento de tareas por prioridad, por estado y vencidas, a partir de contadores que se
+     * mantienen en cada alta y cambio de estado: no recorre las tareas ni bloquea a quien
+     * escribe. Las vencidas se suman por fecha, así que su coste depende del número de
+     * fechas de vencimiento pasadas distintas, no del número de tareas.
+     */
+    public EstadisticasTareas obtenerEstadisticas() {
+        long vencidas = 0;
+        for (ContadoresDia dia : contadoresVencimiento.headMap(hoy(), false).values()) {
+            vencidas += dia.abiertas.sum();
+        }
+        return new EstadisticasTareas(sumar(contadoresPrioridad), sumar(contadoresEstado), vencidas);
+    }
+
+    /** Calcula las mismas estadísticas recorriendo todas las tareas; sirve para comprobar los contadores. */
+    EstadisticasTareas calcularEstadisticasRecorriendo() {
+        long[] porPrioridad = new long[contadoresPrioridad.length];
+        long[] porEstado = new long[contadoresEstado.length];
+        long[] vencidas = {0};
+        LocalDate hoy = hoy();
+        repositorioTareas.recorrer(tarea -> {
+            EstadoTarea estado = tarea.getEstado();
+            porPrioridad[tarea.getPrioridad().ordinal()]++;
+            porEstado[estado.ordinal()]++;
+            if (estado != EstadoTarea.Completada && tarea.getFechaVencimiento().isBefore(hoy)) {
+                vencidas[0]++;
+            }
+        });
+        return new EstadisticasTareas(porPrioridad, porEstado, vencidas[0]);
+    }
+
+    private static long[] sumar(LongAdder[] contadores) {
+        long[] valores = new long[contadores.length];
+        for (int i = 0; i < contadores.length; i++) {
+            valores[i] = contadores[i].sum();
+        }
+        return valores;
+    }
+
+    /**
+     * Devuelve las tareas que cumplen el filtro, ordenadas por ID numérico ascendente.
+     * Sirve para criterios combinados que ningún índice resuelve (prioridad + fecha + estado,
+     * por ejemplo). A partir del umbral configurado los segmentos del repositorio se evalúan
+     * en paralelo en el pool de consultas; el orden del resultado es el mismo en ambos casos.
+     * El filtro puede ejecutarse desde varios hilos a la vez.
+     *
+     * @return Las tareas encontradas, en una lista que no se puede modificar.
+     * @throws IllegalArgumentException si el filtro es nulo.
+     */
+    public List<Tarea> filtrarTareas(Predicate<? super Tarea> filtro) {
+        validarFiltro(filtro);
+        return FiltroParaleloTareas.filtrar(repositorioTareas, filtro, poolConsultas, usarParalelo());
+    }
+
+    /**
+     * Cuenta las tareas que cumplen el filtro, en paralelo a partir del umbral configurado.
+     *
+     * @throws IllegalArgumentException si el filtro es nulo.
+     */
+    public long contarTareas(Predicate<? super Tarea> filtro) {
+        validarFiltro(filtro);
+        return FiltroParaleloTareas.contar(repositorioTareas, filtro, poolConsultas, usarParalelo());
+    }
+
+    /**
+     * Configura dónde y a partir de qué tamaño se evalúan en paralelo las consultas por filtro.
+     *
+     * @param pool Pool donde se ejecutan; por defecto, el pool común.
+     * @param umbral Número de tareas a partir del cual se reparte el trabajo; 0 para hacerlo siempre.
+     * @throws IllegalArgumentException si el pool es nulo o el umbral es negativo.
+     */
+    public void configurarConsultasParalelas(ForkJoinPool pool, int umbral) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool de consultas no puede ser nulo.");
+        }
+        if (umbral < 0) {
+            throw new IllegalArgumentException("El umbral de paralelismo no puede ser negativo.");
+        }
+        this.poolConsultas = pool;
+        this.umbralParalelo = umbral;
+    }
+
+    private boolean usarParalelo() {
+        return poolConsultas.getParallelism() > 1 && repositorioTareas.tamanio() >= umbralParalelo;
+    }
+
+    private static void validarFiltro(Predicate<? super Tarea> filtro) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("El filtro no puede ser nulo.");
+        }
+    }
+
+    public int contarTareas() {
+        return repositorioTareas.tamanio();
+    }
+
+    /**
+     * Devuelve una página de todas las tareas. El orden es el del repositorio: estable
+     * mientras no se creen tareas, pero no está definido.
+     *
+     * @throws IllegalArgumentException si desplazamiento o límite son negativos.
+     */
+    public List<Tarea> obtenerTareas(long desplazamiento, int limite) {
+        validarPagina(desplazamiento, limite);
+        return paginar(streamTareas(), desplazamiento, limite);
+    }
+
+    private static void validarPagina(long desplazamiento, int limite) {
+        if (desplazamiento < 0) {
+            throw new IllegalArgumentException("El desplazamiento no puede ser negativo.");
+        }
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo.");
+        }
+    }
+
+    private static void validarAccion(Consumer<? super Tarea> accion) {
+        if (accion == null) {
+            throw new IllegalArgumentException("La acción a aplicar no puede ser nula.");
+        }
+    }
+
+    private static List<Tarea> paginar(Stream<Tarea> tareas, long desplazamiento, int limite) {
+        List<Tarea> pagina = new ArrayList<>(Math.min(limite, 1024));
+        tareas.skip(desplazamiento).limit(limite).forEachOrdered(pagina::add);
+        return pagina;
+    }
+
     public List<Tarea> obtenerTodasLasTareas() { // Método auxiliar para pruebas o listados generales
-        return new ArrayList<>(repositorioTareas.values());
+        return repositorioTareas.valores();
+    }
+
+    /**
+     * Escribe una instantánea de todas las tareas. No bloquea a quien crea o actualiza tareas
+     * mientras tanto: la posición del registro se toma antes de recorrer el repositorio, de
+     * modo que lo que la instantánea no llegue a ver se recupera reproduciendo desde ahí.
+     *
+     * @param destino Archivo de la instantánea; se reemplaza de forma atómica.
+     * @throws IOException si no se puede escribir.
+     */
+    public void guardarSnapshot(Path destino) throws IOException {
+        long posicionRegistro = registro != null ? registro.posicion() : 0;
+        SnapshotTareas.escribir(repositorioTareas.valores(), posicionRegistro, destino);
+    }
+
+    /**
+     * Igual que {@link #guardarSnapshot(Path)}, pero en el hilo "snapshot-tareas", compartido
+     * por todos los gestores: las instantáneas en segundo plano se escriben de una en una.
+     * Un fallo completa el futuro con una UncheckedIOException que envuelve la IOException
+     * (o con la excepción que se produjera), así que quien llama lo ve al esperar el futuro.
+     */
+    public CompletableFuture<Void> guardarSnapshotEnSegundoPlano(Path destino) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                guardarSnapshot(destino);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, HiloSnapshots.EJECUTOR);
+    }
+
+    /** Se crea la primera vez que se guarda una instantánea en segundo plano. */
+    private static final class HiloSnapshots {
+        static final ExecutorService EJECUTOR = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "snapshot-tareas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,377 @@
+package com.equipo3.tareas;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Gestor repartido en N particiones independientes por el valor numérico del ID, para que
+ * las escrituras escalen con los núcleos. Cada partición es un GestorTareas completo, con
+ * su propio repositorio, índices y contadores, y un hilo escritor propio: todas las altas
+ * y cambios de estado de una partición se aplican en ese hilo, así que nunca compiten
+ * entre sí por las mismas estructuras ni coinciden con un redimensionado de otra.
+ *
+ * Buscar y actualizar por ID van directos a una partición. Los listados se piden a todas
+ * las particiones en paralelo y se combinan: las tareas próximas a vencer siguen ordenadas
+ * por fecha; las de una prioridad salen en orden de alta dentro de cada partición, con las
+ * particiones una tras otra. Las lecturas no pasan por los hilos escritores.
+ *
+ * Las tareas devueltas son copias sin gestor con el estado del momento de la consulta:
+ * cambiarles el estado no toca la partición, porque eso saltaría su hilo escritor. Los
+ * cambios se hacen siempre con {@link #actualizarEstadoTarea}.
+ *
+ * Las operaciones síncronas esperan a que el hilo escritor termine y lanzan sus mismas
+ * excepciones; las variantes "Async" devuelven un CompletableFuture para encadenar muchas
+ * escrituras sin esperar a cada una. Hay que cerrar el gestor con {@link #close()}.
+ */
+public class GestorTareasParticionado implements Closeable {
+    // Mezcla el ID antes de repartir para que patrones como "solo múltiplos de N" no
+    // acaben todos en la misma partición
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+    private final Particion[] particiones;
+
+    /** Crea 'particiones' particiones con el reloj del sistema. */
+    public GestorTareasParticionado(int particiones) {
+        this(particiones, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param particiones Número de particiones; lo razonable es uno por núcleo.
+     * @param reloj Reloj del que todas las particiones toman la fecha de hoy.
+     * @throws IllegalArgumentException si el número de particiones no es positivo o el reloj es nulo.
+     */
+    public GestorTareasParticionado(int particiones, Clock reloj) {
+        if (particiones < 1) {
+            throw new IllegalArgumentException("El número de particiones debe ser positivo: " + particiones);
+        }
+        if (reloj == null) {
+            throw new IllegalArgumentException("El reloj no puede ser nulo.");
+        }
+        this.particiones = new Particion[particiones];
+        for (int i = 0; i < particiones; i++) {
+            this.particiones[i] = new Particion(new GestorTareas(reloj), "particion-tareas-" + i);
+        }
+    }
+
+    public int getParticiones() {
+        return particiones.length;
+    }
+
+    /**
+     * Crea una tarea en la partición de su ID y espera a que esté dada de alta.
+     *
+     * @throws IllegalArgumentException con los mismos motivos que {@link GestorTareas#crearTarea}.
+     */
+    public Tarea crearTarea(String id, String titulo, String descripcion, Prioridad prioridad, LocalDate fechaVencimiento) {
+        return esperar(crearTareaAsync(id, titulo, descripcion, prioridad, fechaVencimiento));
+    }
+
+    /**
+     * Como {@link #crearTarea}, sin esperar. Un ID vacío o no numérico se rechaza en el acto,
+     * porque no se puede saber a qué partición pertenece; el resto de validaciones las hace
+     * la partición y llegan como fallo del futuro.
+     *
+     * @throws IllegalArgumentException si el ID es nulo, vacío o no numérico.
+     */
+    public CompletableFuture<Tarea> crearTareaAsync(String id, String titulo, String descripcion, Prioridad prioridad,
+                                                    LocalDate fechaVencimiento) {
+        Particion particion = particionDe(idParaEnrutar(id));
+        return particion.escribir(() -> copia(particion.gestor.crearTarea(id, titulo, descripcion, prioridad, fechaVencimiento)));
+    }
+
+    /**
+     * Crea muchas tareas: reparte los registros por partición y cada partición importa los
+     * suyos en su hilo escritor, todas a la vez; dentro de una partición la importación es
+     * secuencial y no usa otros hilos. Las posiciones de los rechazos son las de
+     * la entrada completa y las reglas son las de {@link GestorTareas#crearTareas(Collection)};
+     * los registros nulos o con un ID no numérico se rechazan en la primera partición.
+     *
+     * @throws IllegalArgumentException si la colección es nula.
+     */
+    public ResultadoImportacion crearTareas(Collection<DatosTarea> datos) {
+        if (datos == null) {
+            throw new IllegalArgumentException("Los datos a importar no pueden ser nulos.");
+        }
+        // Primera pasada: partición de cada registro y cuántos van a cada una, para reservar
+        // las posiciones en arreglos primitivos del tamaño justo
+        int[] destinos = new int[datos.size()];
+        int[] cantidades = new int[particiones.length];
+        int posicion = 0;
+        for (DatosTarea d : datos) {
+            int indice = 0;
+            if (d != null && d.getId() != null && Tarea.esIdNumerico(d.getId())) {
+                indice = indiceDe(Long.parseLong(d.getId()));
+            }
+            destinos[posicion++] = indice;
+            cantidades[indice]++;
+        }
+        List<List<DatosTarea>> lotes = new ArrayList<>(particiones.length);
+        int[][] posiciones = new int[particiones.length][];
+        for (int i = 0; i < particiones.length; i++) {
+            lotes.add(new ArrayList<>(cantidades[i]));
+            posiciones[i] = new int[cantidades[i]];
+        }
+        posicion = 0;
+        for (DatosTarea d : datos) {
+            int indice = destinos[posicion];
+            posiciones[indice][lotes.get(indice).size()] = posicion++;
+            lotes.get(indice).add(d);
+        }
+        List<CompletableFuture<ResultadoImportacion>> parciales = new ArrayList<>(particiones.length);
+        for (int i = 0; i < particiones.length; i++) {
+            Particion particion = particiones[i];
+            List<DatosTarea> lote = lotes.get(i);
+            parciales.add(lote.isEmpty()
+                    ? CompletableFuture.completedFuture(new ResultadoImportacion(0, new ArrayList<>()))
+                    : particion.escribir(() -> particion.gestor.crearTareasEnSerie(lote)));
+        }
+        long aceptadas = 0;
+        List<ResultadoImportacion.Rechazo> rechazos = new ArrayList<>();
+        for (int i = 0; i < particiones.length; i++) {
+            ResultadoImportacion parcial = esperar(parciales.get(i));
+            aceptadas += parcial.getAceptadas();
+            for (ResultadoImportacion.Rechazo rechazo : parcial.getRechazos()) {
+                rechazos.add(new ResultadoImportacion.Rechazo(posiciones[i][(int) rechazo.getPosicion()],
+                        rechazo.getId(), rechazo.getMotivo()));
+            }
+        }
+        rechazos.sort(Comparator.comparingLong(ResultadoImportacion.Rechazo::getPosicion));
+        return new ResultadoImportacion(aceptadas, rechazos);
+    }
+
+    /**
+     * Busca en la partición del ID, sin pasar por su hilo escritor.
+     *
+     * @throws IllegalArgumentException si el ID es nulo o vacío.
+     */
+    public Optional<Tarea> buscarTareaPorId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("El ID para buscar no puede ser nulo ni vacío.");
+        }
+        if (!Tarea.esIdNumerico(id)) {
+            return Optional.empty();
+        }
+        return particionDe(Long.parseLong(id)).gestor.buscarTareaPorId(id).map(GestorTareasParticionado::copia);
+    }
+
+    /**
+     * Cambia el estado en el hilo escritor de la partición del ID y espera el resultado.
+     *
+     * @return true si la tarea se actualizó, false si no existe.
+     * @throws IllegalArgumentException si el ID o el estado son nulos, o la transición no es válida.
+     */
+    public boolean actualizarEstadoTarea(String idTarea, EstadoTarea nuevoEstado) {
+        return esperar(actualizarEstadoTareaAsync(idTarea, nuevoEstado));
+    }
+
+    /**
+     * Como {@link #actualizarEstadoTarea}, sin esperar; una transición no válida llega como
+     * fallo del futuro.
+     *
+     * @throws IllegalArgumentException si el ID o el estado son nulos.
+     */
+    public CompletableFuture<Boolean> actualizarEstadoTareaAsync(String idTarea, EstadoTarea nuevoEstado) {
+        if (idTarea == null || idTarea.trim().isEmpty()) {
+            throw new IllegalArgumentException("El ID de la tarea no puede ser nulo ni vacío para actualizar el estado.");
+        }
+        if (nuevoEstado == null) {
+            throw new IllegalArgumentException("El nuevo estado no puede ser nulo.");
+        }
+        if (!Tarea.esIdNumerico(idTarea)) {
+            // Un ID no numérico nunca pudo darse de alta
+            return CompletableFuture.completedFuture(false);
+        }
+        Particion particion = particionDe(Long.parseLong(idTarea));
+        return particion.escribir(() -> particion.gestor.actualizarEstadoTarea(idTarea, nuevoEstado));
+    }
+
+    /**
+     * Tareas de una prioridad de todas las particiones: en orden de alta dentro de cada una.
+     *
+     * @throws IllegalArgumentException si la prioridad es nula.
+     */
+    public List<Tarea> listarTareasPorPrioridad(Prioridad prioridad) {
+        if (prioridad == null) {
+            throw new IllegalArgumentException("La prioridad para listar no puede ser nula.");
+        }
+        List<List<Tarea>> parciales = reunir(gestor -> gestor.listarTareasPorPrioridad(prioridad));
+        int total = 0;
+        for (List<Tarea> parcial : parciales) {
+            total += parcial.size();
+        }
+        List<Tarea> resultado = new ArrayList<>(total);
+        for (List<Tarea> parcial : parciales) {
+            resultado.addAll(parcial);
+        }
+        return resultado;
+    }
+
+    /**
+     * Tareas que vencen entre hoy y dentro de 'diasLimite' días en todas las particiones,
+     * ordenadas por fecha de vencimiento; dentro de una fecha, partición a partición.
+     *
+     * @throws IllegalArgumentException si diasLimite es negativo.
+     */
+    public List<Tarea> listarTareasProximasAVencer(int diasLimite) {
+        if (diasLimite < 0) {
+            throw new IllegalArgumentException("El límite de días no puede ser negativo.");
+        }
+        return mezclarPorFecha(reunir(gestor -> gestor.listarTareasProximasAVencer(diasLimite)));
+    }
+
+    public int contarTareas() {
+        int total = 0;
+        for (Particion particion : particiones) {
+            total += particion.gestor.contarTareas();
+        }
+        return total;
+    }
+
+    /**
+     * Registra el oyente en todas las particiones. Recibe los eventos desde el hilo escritor
+     * de cada partición, así que puede ser llamado desde varios hilos a la vez.
+     *
+     * @throws IllegalArgumentException si el oyente es nulo.
+     */
+    public void agregarOyente(OyenteTareas oyente) {
+        for (Particion particion : particiones) {
+            particion.gestor.agregarOyente(oyente);
+        }
+    }
+
+    /** Termina las escrituras pendientes y detiene los hilos escritores. */
+    @Override
+    public void close() {
+        for (Particion particion : particiones) {
+            particion.escritor.shutdown();
+        }
+        for (Particion particion : particiones) {
+            particion.escritor.close();
+        }
+    }
+
+    /** Partición de un ID numérico; el mismo ID va siempre a la misma partición. */
+    int indiceDe(long idNumerico) {
+        long mezclado = idNumerico * MEZCLA;
+        return (int) Long.remainderUnsigned(mezclado ^ (mezclado >>> 32), particiones.length);
+    }
+
+    GestorTareas particion(int indice) {
+        return particiones[indice].gestor;
+    }
+
+    private Particion particionDe(long idNumerico) {
+        return particiones[indiceDe(idNumerico)];
+    }
+
+    private static long idParaEnrutar(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException(CodigoValidacion.ID_VACIO.getMensaje());
+        }
+        if (!Tarea.esIdNumerico(id)) {
+            throw new IllegalArgumentException(CodigoValidacion.ID_NO_NUMERICO.getMensaje());
+        }
+        return Long.parseLong(id);
+    }
+
+    /** Ejecuta la consulta en todas las particiones en paralelo; una lista por partición, en orden. */
+    private List<List<Tarea>> reunir(Function<GestorTareas, List<Tarea>> consulta) {
+        return Arrays.stream(particiones).parallel()
+                .map(particion -> copias(consulta.apply(particion.gestor)))
+                .collect(Collectors.toList());
+    }
+
+    private static Tarea copia(Tarea tarea) {
+        return tarea.copiaEnEstado(tarea.getEstado());
+    }
+
+    private static List<Tarea> copias(List<Tarea> tareas) {
+        List<Tarea> resultado = new ArrayList<>(tareas.size());
+        for (Tarea tarea : tareas) {
+            resultado.add(copia(tarea));
+        }
+        return resultado;
+    }
+
+    /** Mezcla listas ya ordenadas por fecha; a igual fecha, respeta el orden de las listas. */
+    private static List<Tarea> mezclarPorFecha(List<List<Tarea>> listas) {
+        int total = 0;
+        for (List<Tarea> lista : listas) {
+            total += lista.size();
+        }
+        List<Tarea> resultado = new ArrayList<>(total);
+        // Cada entrada: {índice de la lista, posición dentro de ella}
+        PriorityQueue<int[]> cabezas = new PriorityQueue<>(Math.max(1, listas.size()), (a, b) -> {
+            int porFecha = listas.get(a[0]).get(a[1]).getFechaVencimiento()
+                    .compareTo(listas.get(b[0]).get(b[1]).getFechaVencimiento());
+            return porFecha != 0 ? porFecha : Integer.compare(a[0], b[0]);
+        });
+        for (int i = 0; i < listas.size(); i++) {
+            if (!listas.get(i).isEmpty()) {
+                cabezas.add(new int[] {i, 0});
+            }
+        }
+        while (!cabezas.isEmpty()) {
+            int[] cabeza = cabezas.poll();
+            List<Tarea> lista = listas.get(cabeza[0]);
+            resultado.add(lista.get(cabeza[1]));
+            if (++cabeza[1] < lista.size()) {
+                cabezas.add(cabeza);
+            }
+        }
+        return resultado;
+    }
+
+    /** Espera el futuro y relanza tal cual la excepción de la operación. */
+    private static <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Particion {
+        final GestorTareas gestor;
+        final ExecutorService escritor;
+
+        Particion(GestorTareas gestor, String nombreHilo) {
+            this.gestor = gestor;
+            this.escritor = Executors.newSingleThreadExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, nombreHilo);
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+
+        <T> CompletableFuture<T> escribir(Supplier<T> operacion) {
+            try {
+                return CompletableFuture.supplyAsync(operacion, escritor);
+            } catch (RejectedExecutionException e) {
+                throw new IllegalStateException("El gestor particionado ya está cerrado.", e);
+            }
+        }
+    }
+}
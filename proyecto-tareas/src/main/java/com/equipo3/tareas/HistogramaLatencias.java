@@ -0,0 +1,120 @@
+package com.equipo3.tareas;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas logarítmico-lineales, al estilo de
+ * HdrHistogram: cada potencia de dos se divide en 128 cubetas iguales, así que cualquier
+ * valor se guarda con un error relativo menor del 0,8 % y el histograma ocupa siempre lo
+ * mismo (unos 58 KB) aunque registre millones de valores entre 1 ns y varias horas.
+ *
+ * No es seguro para varios hilos: cada hilo registra en el suyo y al final se suman con
+ * {@link #combinar(HistogramaLatencias)}.
+ */
+public final class HistogramaLatencias {
+    private static final int BITS_PRECISION = 7;
+    private static final int SUBCUBETAS = 1 << BITS_PRECISION;
+    // El mayor long cae en la cubeta 55 * 128 + 255, la última
+    private static final int CUBETAS = (63 - BITS_PRECISION) * SUBCUBETAS + SUBCUBETAS;
+
+    private final long[] cuentas = new long[CUBETAS];
+    private long cantidad;
+    private long maximo;
+    private long minimo = Long.MAX_VALUE;
+    private double suma;
+
+    /**
+     * Registra una latencia.
+     *
+     * @throws IllegalArgumentException si la latencia es negativa.
+     */
+    public void registrar(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("La latencia no puede ser negativa: " + nanos);
+        }
+        cuentas[cubeta(nanos)]++;
+        cantidad++;
+        suma += nanos;
+        if (nanos > maximo) {
+            maximo = nanos;
+        }
+        if (nanos < minimo) {
+            minimo = nanos;
+        }
+    }
+
+    /** Suma a este histograma los valores de otro. */
+    public void combinar(HistogramaLatencias otro) {
+        for (int i = 0; i < CUBETAS; i++) {
+            cuentas[i] += otro.cuentas[i];
+        }
+        cantidad += otro.cantidad;
+        suma += otro.suma;
+        maximo = Math.max(maximo, otro.maximo);
+        minimo = Math.min(minimo, otro.minimo);
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /** Latencia máxima exacta, o 0 si no hay valores. */
+    public long getMaximo() {
+        return maximo;
+    }
+
+    /** Latencia mínima exacta, o 0 si no hay valores. */
+    public long getMinimo() {
+        return cantidad == 0 ? 0 : minimo;
+    }
+
+    public double getMedia() {
+        return cantidad == 0 ? 0 : suma / cantidad;
+    }
+
+    /**
+     * Valor por debajo del cual queda el 'percentil' % de las latencias (por ejemplo 99.9).
+     * Se devuelve el extremo superior de su cubeta, sin superar el máximo registrado.
+     *
+     * @throws IllegalArgumentException si el percentil no está entre 0 y 100.
+     */
+    public long percentil(double percentil) {
+        if (!(percentil >= 0 && percentil <= 100)) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100: " + percentil);
+        }
+        if (cantidad == 0) {
+            return 0;
+        }
+        long posicion = Math.max(1, (long) Math.ceil(percentil / 100 * cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= posicion) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    /** Vacía el histograma. */
+    public void reiniciar() {
+        Arrays.fill(cuentas, 0);
+        cantidad = 0;
+        suma = 0;
+        maximo = 0;
+        minimo = Long.MAX_VALUE;
+    }
+
+    // Con exponente e = max(0, log2(v) - 7), la cubeta es e * 128 + (v >> e): los valores
+    // menores que 256 tienen cubeta propia y cada potencia de dos posterior ocupa 128.
+    static int cubeta(long valor) {
+        int exponente = Math.max(0, 63 - Long.numberOfLeadingZeros(valor) - BITS_PRECISION);
+        return exponente * SUBCUBETAS + (int) (valor >>> exponente);
+    }
+
+    static long limiteSuperior(int cubeta) {
+        int exponente = cubeta < 2 * SUBCUBETAS ? 0 : (cubeta >> BITS_PRECISION) - 1;
+        long sub = cubeta - (long) exponente * SUBCUBETAS;
+        return ((sub + 1) << exponente) - 1;
+    }
+}
@@ -0,0 +1,570 @@
+package com.equipo3.tareas;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido sobre el título y la descripción de las tareas.
+ * Cada tarea recibe un número de documento denso (0, 1, 2...) en orden de alta, y cada
+ * término guarda la lista de documentos que lo contienen codificada como diferencias entre
+ * números consecutivos en varint; los términos muy frecuentes pasan a un mapa de bits, que
+ * ocupa un bit por tarea y permite resolver un AND comprobando bits en lugar de recorrer
+ * la lista. Los términos se guardan ordenados para resolver búsquedas por prefijo.
+ *
+ * El tokenizador pasa a minúsculas, quita tildes y diéresis ("Canción" y "cancion" son el
+ * mismo término, igual que "ñandú" y "nandu") y corta por cualquier carácter que no sea
+ * letra o dígito.
+ *
+ * Varias altas pueden indexarse a la vez: solo la asignación del número de documento pasa
+ * por un cerrojo común, y cada término tiene el suyo propio. Un documento no es visible para
+ * las búsquedas hasta que él y todos los anteriores están indexados del todo, así que una
+ * búsqueda nunca ve un alta a medias.
+ */
+final class IndiceTexto {
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    // Protege la asignación de números de documento y el avance de 'visibles'
+    private final ReentrantLock cerrojoDocumentos = new ReentrantLock();
+    private final ConcurrentSkipListMap<String, Postings> terminos = new ConcurrentSkipListMap<>();
+    private volatile Tarea[] documentos = new Tarea[1024];
+    private int numeroDocumentos;
+    // Los documentos por debajo de este número están indexados del todo
+    private volatile int visibles;
+
+    void indexar(Tarea tarea) {
+        Set<String> terminosTarea = new HashSet<>();
+        tokenizar(tarea.getTitulo(), terminosTarea);
+        tokenizar(tarea.getDescripcion(), terminosTarea);
+        int documento;
+        cerrojoDocumentos.lock();
+        try {
+            documento = numeroDocumentos++;
+        } finally {
+            cerrojoDocumentos.unlock();
+        }
+        try {
+            for (String termino : terminosTarea) {
+                terminos.computeIfAbsent(termino, t -> new Postings()).agregar(documento, visibles);
+            }
+        } finally {
+            publicar(documento, tarea);
+        }
+    }
+
+    /** Marca el documento como indexado y avanza 'visibles' hasta el primero que aún no lo está. */
+    private void publicar(int documento, Tarea tarea) {
+        cerrojoDocumentos.lock();
+        try {
+            Tarea[] actuales = documentos;
+            if (documento >= actuales.length) {
+                actuales = Arrays.copyOf(actuales, Math.max(actuales.length * 2, documento + 1));
+            }
+            actuales[documento] = tarea;
+            int siguiente = visibles;
+            while (siguiente < actuales.length && actuales[siguiente] != null) {
+                siguiente++;
+            }
+            documentos = actuales;
+            visibles = siguiente;
+        } finally {
+            cerrojoDocumentos.unlock();
+        }
+    }
+
+    int numeroTerminos() {
+        return terminos.size();
+    }
+
+    /**
+     * Resuelve una consulta ya analizada: una disyunción (OR) de grupos, cada uno una
+     * conjunción (AND) de términos. Un término terminado en '*' se busca como prefijo.
+     * Las tareas se ordenan por el número de términos de la consulta que contienen y,
+     * a igualdad, por orden de alta.
+     *
+     * @param limite Número máximo de resultados.
+     */
+    List<Tarea> buscar(List<List<String>> grupos, int limite) {
+        // Se lee 'visibles' antes que 'documentos': el arreglo leído contiene todos los visibles
+        int hasta = visibles;
+        Tarea[] tareas = documentos;
+        List<ListaDocumentos> listasTerminos = new ArrayList<>();
+        int[] candidatos = new int[0];
+        for (List<String> grupo : grupos) {
+            List<ListaDocumentos> listasGrupo = new ArrayList<>(grupo.size());
+            for (String termino : grupo) {
+                listasGrupo.add(documentosDe(termino, hasta));
+            }
+            listasTerminos.addAll(listasGrupo);
+            candidatos = union(candidatos, interseccion(listasGrupo));
+        }
+        // Puntuación = términos de la consulta presentes; se agrupa por puntuación en lugar de ordenar
+        int[] puntuaciones = new int[candidatos.length];
+        for (ListaDocumentos lista : listasTerminos) {
+            lista.contarCoincidencias(candidatos, puntuaciones);
+        }
+        List<Tarea> resultado = new ArrayList<>(Math.min(limite, candidatos.length));
+        for (int puntuacion = listasTerminos.size(); puntuacion > 0 && resultado.size() < limite; puntuacion--) {
+            for (int i = 0; i < candidatos.length && resultado.size() < limite; i++) {
+                if (puntuaciones[i] == puntuacion) {
+                    resultado.add(tareas[candidatos[i]]);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Documentos por debajo de 'hasta' que contienen el término, o alguno que empiece por él
+     * si termina en '*'.
+     */
+    private ListaDocumentos documentosDe(String termino, int hasta) {
+        if (!termino.endsWith("*")) {
+            Postings postings = terminos.get(termino);
+            return postings == null ? ListaDocumentos.VACIA : postings.comoLista(hasta);
+        }
+        String prefijo = termino.substring(0, termino.length() - 1);
+        List<ListaDocumentos> expansiones = new ArrayList<>();
+        for (Postings postings : terminos.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values()) {
+            expansiones.add(postings.comoLista(hasta));
+        }
+        if (expansiones.isEmpty()) {
+            return ListaDocumentos.VACIA;
+        }
+        if (expansiones.size() == 1) {
+            return expansiones.get(0);
+        }
+        long total = 0;
+        for (ListaDocumentos lista : expansiones) {
+            total += lista.cantidad();
+        }
+        if (total * 32 < hasta) {
+            // Pocas coincidencias: concatenar y ordenar es más barato que recorrer un mapa de bits
+            int[] union = new int[(int) total];
+            int k = 0;
+            for (ListaDocumentos lista : expansiones) {
+                k = lista.copiarEn(union, k);
+            }
+            Arrays.sort(union);
+            return new ListaDocumentos(union, union.length);
+        }
+        long[] mapa = new long[(hasta + 63) >>> 6];
+        for (ListaDocumentos lista : expansiones) {
+            lista.marcarEn(mapa);
+        }
+        return new ListaDocumentos(mapa, hasta);
+    }
+
+    /** Intersección de un grupo AND: se parte de la lista más corta y se filtra con las demás. */
+    private static int[] interseccion(List<ListaDocumentos> listas) {
+        listas.sort((a, b) -> Integer.compare(a.cantidad(), b.cantidad()));
+        int[] resultado = listas.get(0).comoArreglo();
+        for (int i = 1; i < listas.size() && resultado.length > 0; i++) {
+            resultado = listas.get(i).filtrar(resultado);
+        }
+        return resultado;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        int[] resultado = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                resultado[k++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                resultado[k++] = b[j++];
+            } else {
+                resultado[k++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, k);
+    }
+
+    /**
+     * Documentos de un término durante una búsqueda: un arreglo ordenado si son pocos o un
+     * mapa de bits si el término es frecuente, para comprobar la pertenencia en O(1).
+     * El arreglo y el mapa pueden ser los del propio término, que siguen creciendo mientras
+     * se indexa: la lista solo mira las 'longitud' primeras posiciones del arreglo o los bits
+     * por debajo de 'limite', que ya no cambian.
+     */
+    private static final class ListaDocumentos {
+        static final ListaDocumentos VACIA = new ListaDocumentos(new int[0], 0);
+
+        private final int[] ordenados;
+        private final int longitud;
+        private final long[] mapa;
+        private final int limite;
+
+        ListaDocumentos(int[] ordenados, int longitud) {
+            this.ordenados = ordenados;
+            this.longitud = longitud;
+            this.mapa = null;
+            this.limite = 0;
+        }
+
+        ListaDocumentos(long[] mapa, int limite) {
+            this.ordenados = null;
+            this.longitud = 0;
+            this.mapa = mapa;
+            this.limite = limite;
+        }
+
+        int cantidad() {
+            if (ordenados != null) {
+                return longitud;
+            }
+            int completas = Math.min(limite >>> 6, mapa.length);
+            int total = 0;
+            for (int palabra = 0; palabra < completas; palabra++) {
+                total += Long.bitCount(mapa[palabra]);
+            }
+            if (completas < mapa.length && (limite & 63) != 0) {
+                total += Long.bitCount(mapa[completas] & ((1L << limite) - 1));
+            }
+            return total;
+        }
+
+        boolean contiene(int documento) {
+            int palabra = documento >>> 6;
+            return documento < limite && palabra < mapa.length && (mapa[palabra] & (1L << documento)) != 0;
+        }
+
+        int[] comoArreglo() {
+            if (ordenados != null) {
+                return longitud == ordenados.length ? ordenados : Arrays.copyOf(ordenados, longitud);
+            }
+            int[] resultado = new int[cantidad()];
+            copiarEn(resultado, 0);
+            return resultado;
+        }
+
+        /** Escribe los documentos en 'destino' a partir de 'desde'; devuelve la siguiente posición libre. */
+        int copiarEn(int[] destino, int desde) {
+            if (ordenados != null) {
+                System.arraycopy(ordenados, 0, destino, desde, longitud);
+                return desde + longitud;
+            }
+            int k = desde;
+            int palabras = Math.min((limite + 63) >>> 6, mapa.length);
+            for (int palabra = 0; palabra < palabras; palabra++) {
+                long bits = mapa[palabra];
+                while (bits != 0) {
+                    int documento = (palabra << 6) + Long.numberOfTrailingZeros(bits);
+                    if (documento >= limite) {
+                        return k;
+                    }
+                    destino[k++] = documento;
+                    bits &= bits - 1;
+                }
+            }
+            return k;
+        }
+
+        void marcarEn(long[] destino) {
+            if (ordenados != null) {
+                for (int i = 0; i < longitud; i++) {
+                    destino[ordenados[i] >>> 6] |= 1L << ordenados[i];
+                }
+                return;
+            }
+            int completas = Math.min(limite >>> 6, Math.min(mapa.length, destino.length));
+            for (int palabra = 0; palabra < completas; palabra++) {
+                destino[palabra] |= mapa[palabra];
+            }
+            if (completas < mapa.length && completas < destino.length && (limite & 63) != 0) {
+                destino[completas] |= mapa[completas] & ((1L << limite) - 1);
+            }
+        }
+
+        /** Los elementos de 'candidatos' (ordenados) que están en esta lista. */
+        int[] filtrar(int[] candidatos) {
+            int[] resultado = new int[candidatos.length];
+            int k = 0;
+            if (mapa != null) {
+                for (int documento : candidatos) {
+                    if (contiene(documento)) {
+                        resultado[k++] = documento;
+                    }
+                }
+            } else {
+                int j = 0;
+                for (int documento : candidatos) {
+                    j = buscarDesde(j, documento);
+                    if (j < longitud && ordenados[j] == documento) {
+                        resultado[k++] = documento;
+                    }
+                }
+            }
+            return Arrays.copyOf(resultado, k);
+        }
+
+        /** Suma 1 a la puntuación de cada candidato que está en esta lista. */
+        void contarCoincidencias(int[] candidatos, int[] puntuaciones) {
+            if (mapa != null) {
+                for (int i = 0; i < candidatos.length; i++) {
+                    if (contiene(candidatos[i])) {
+                        puntuaciones[i]++;
+                    }
+                }
+                return;
+            }
+            int j = 0;
+            for (int i = 0; i < candidatos.length; i++) {
+                j = buscarDesde(j, candidatos[i]);
+                if (j < longitud && ordenados[j] == candidatos[i]) {
+                    puntuaciones[i]++;
+                }
+            }
+        }
+
+        /**
+         * Primera posición desde 'desde' con valor mayor o igual que 'objetivo', avanzando a
+         * saltos exponenciales: cuesta O(log distancia) si la lista es mucho más larga.
+         */
+        private int buscarDesde(int desde, int objetivo) {
+            int salto = 1;
+            int alto = desde;
+            while (alto < longitud && ordenados[alto] < objetivo) {
+                desde = alto + 1;
+                alto += salto;
+                salto <<= 1;
+            }
+            int bajo = desde;
+            alto = Math.min(alto, longitud);
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (ordenados[medio] < objetivo) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+    }
+
+    /**
+     * Divide un texto en términos normalizados.
+     * Solo los fragmentos con caracteres no ASCII pasan por Normalizer, que es lo costoso.
+     */
+    static void tokenizar(String texto, Collection<String> destino) {
+        int inicio = -1;
+        boolean ascii = true;
+        for (int i = 0; i <= texto.length(); i++) {
+            char c = i < texto.length() ? texto.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || (inicio >= 0 && Character.getType(c) == Character.NON_SPACING_MARK)) {
+                if (inicio < 0) {
+                    inicio = i;
+                    ascii = true;
+                }
+                ascii &= c < 128;
+            } else if (inicio >= 0) {
+                destino.add(normalizar(texto.substring(inicio, i), ascii));
+                inicio = -1;
+            }
+        }
+    }
+
+    /**
+     * Analiza una consulta de texto: las palabras separadas por espacios deben aparecer todas
+     * (AND), la palabra OR en mayúsculas separa alternativas y una palabra terminada en '*'
+     * se busca como prefijo. Las palabras se normalizan igual que el texto indexado.
+     *
+     * @return Los grupos de términos; los de prefijo conservan el '*' final.
+     * @throws IllegalArgumentException si la consulta no contiene ningún término.
+     */
+    static List<List<String>> analizarConsulta(String consulta) {
+        List<List<String>> grupos = new ArrayList<>();
+        List<String> grupo = new ArrayList<>();
+        for (String palabra : consulta.trim().split("\\s+")) {
+            if (palabra.equals("OR")) {
+                if (!grupo.isEmpty()) {
+                    grupos.add(grupo);
+                    grupo = new ArrayList<>();
+                }
+                continue;
+            }
+            boolean prefijo = palabra.endsWith("*");
+            List<String> terminosPalabra = new ArrayList<>();
+            tokenizar(prefijo ? palabra.substring(0, palabra.length() - 1) : palabra, terminosPalabra);
+            if (prefijo && !terminosPalabra.isEmpty()) {
+                int ultimo = terminosPalabra.size() - 1;
+                terminosPalabra.set(ultimo, terminosPalabra.get(ultimo) + "*");
+            }
+            grupo.addAll(terminosPalabra);
+        }
+        if (!grupo.isEmpty()) {
+            grupos.add(grupo);
+        }
+        if (grupos.isEmpty()) {
+            throw new IllegalArgumentException("La consulta de texto no contiene ningún término.");
+        }
+        return grupos;
+    }
+
+    private static String normalizar(String termino, boolean ascii) {
+        if (!ascii) {
+            termino = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(termino, Normalizer.Form.NFD)).replaceAll("");
+        }
+        return termino.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Documentos de un término en orden ascendente. Mientras el término es poco frecuente se
+     * guardan como diferencias en varint; cuando aparece en más de una de cada ocho tareas
+     * pasa a un mapa de bits, que a esa densidad ocupa lo mismo o menos y permite comprobar
+     * la pertenencia sin decodificar.
+     *
+     * Con altas en paralelo los documentos pueden llegar desordenados. Los que todavía no son
+     * visibles esperan en una cola ordenada y solo se codifican cuando ya lo son: a partir de
+     * ahí no puede llegar ninguno menor, así que las diferencias nunca son negativas.
+     *
+     * La primera búsqueda que usa el término decodifica la lista en 'decodificados', y las
+     * siguientes solo decodifican lo codificado desde entonces; a cambio el término ocupa
+     * cuatro bytes más por documento mientras no pase a mapa de bits. El arreglo solo crece
+     * por el final, así que las búsquedas lo comparten sin copiarlo.
+     */
+    private static final class Postings {
+        private static final int MINIMO_PARA_MAPA = 1024;
+
+        private byte[] datos = new byte[4];
+        private int longitud;
+        private int codificados;
+        private int ultimoCodificado;
+        private int[] cola = new int[2];
+        private int enCola;
+        private int[] decodificados;
+        private int numeroDecodificados;
+        private int posicionDecodificada;
+        private long[] mapa;
+        private int cantidad;
+        private int ultimo;
+
+        /**
+         * @param visibles Documentos visibles al empezar el alta: ninguno por debajo puede
+         *                 llegar después.
+         */
+        synchronized void agregar(int documento, int visibles) {
+            cantidad++;
+            ultimo = Math.max(ultimo, documento);
+            if (mapa != null) {
+                marcar(documento);
+                return;
+            }
+            if (enCola == cola.length) {
+                cola = Arrays.copyOf(cola, cola.length * 2);
+            }
+            int i = enCola++;
+            while (i > 0 && cola[i - 1] > documento) {
+                cola[i] = cola[i - 1];
+                i--;
+            }
+            cola[i] = documento;
+            codificarHasta(visibles);
+            if (cantidad >= MINIMO_PARA_MAPA && (long) cantidad * 8 > ultimo) {
+                long[] nuevo = new long[(ultimo >>> 6) + 1];
+                int[] todos = new int[cantidad];
+                decodificarEn(todos, 0, 0, 0, codificados);
+                System.arraycopy(cola, 0, todos, codificados, enCola);
+                for (int documentoTermino : todos) {
+                    nuevo[documentoTermino >>> 6] |= 1L << documentoTermino;
+                }
+                mapa = nuevo;
+                datos = null;
+                cola = null;
+                decodificados = null;
+            }
+        }
+
+        /** Los documentos del término por debajo de 'hasta', que deben ser todos visibles. */
+        synchronized ListaDocumentos comoLista(int hasta) {
+            if (mapa != null) {
+                return new ListaDocumentos(mapa, hasta);
+            }
+            codificarHasta(hasta);
+            if (decodificados == null || decodificados.length < codificados) {
+                int capacidad = decodificados == null ? codificados : Math.max(codificados, decodificados.length * 2);
+                decodificados = decodificados == null ? new int[capacidad] : Arrays.copyOf(decodificados, capacidad);
+            }
+            if (numeroDecodificados < codificados) {
+                int anterior = numeroDecodificados == 0 ? 0 : decodificados[numeroDecodificados - 1];
+                posicionDecodificada = decodificarEn(decodificados, numeroDecodificados, posicionDecodificada,
+                        anterior, codificados - numeroDecodificados);
+                numeroDecodificados = codificados;
+            }
+            // Otra alta pudo codificar documentos que esta búsqueda aún no debe ver
+            int visibles = numeroDecodificados;
+            while (visibles > 0 && decodificados[visibles - 1] >= hasta) {
+                visibles--;
+            }
+            return new ListaDocumentos(decodificados, visibles);
+        }
+
+        /** Pasa de la cola a 'datos' los documentos menores que 'hasta'. */
+        private void codificarHasta(int hasta) {
+            int pasan = 0;
+            while (pasan < enCola && cola[pasan] < hasta) {
+                int delta = cola[pasan] - ultimoCodificado;
+                ultimoCodificado = cola[pasan++];
+                if (longitud + 5 > datos.length) {
+                    datos = Arrays.copyOf(datos, Math.max(datos.length * 2, longitud + 5));
+                }
+                while ((delta & ~0x7F) != 0) {
+                    datos[longitud++] = (byte) ((delta & 0x7F) | 0x80);
+                    delta >>>= 7;
+                }
+                datos[longitud++] = (byte) delta;
+            }
+            if (pasan > 0) {
+                System.arraycopy(cola, pasan, cola, 0, enCola - pasan);
+                enCola -= pasan;
+                codificados += pasan;
+            }
+        }
+
+        /**
+         * Decodifica 'cuantos' documentos de 'datos' desde el byte 'posicion', partiendo del
+         * documento 'anterior', y los escribe en 'destino' desde 'desde'.
+         *
+         * @return La posición en 'datos' tras el último documento decodificado.
+         */
+        private int decodificarEn(int[] destino, int desde, int posicion, int anterior, int cuantos) {
+            int documento = anterior;
+            for (int i = 0; i < cuantos; i++) {
+                int delta = 0;
+                int desplazamiento = 0;
+                byte b;
+                do {
+                    b = datos[posicion++];
+                    delta |= (b & 0x7F) << desplazamiento;
+                    desplazamiento += 7;
+                } while (b < 0);
+                documento += delta;
+                destino[desde + i] = documento;
+            }
+            return posicion;
+        }
+
+        private void marcar(int documento) {
+            int palabra = documento >>> 6;
+            if (palabra >= mapa.length) {
+                mapa = Arrays.copyOf(mapa, Math.max(mapa.length * 2, palabra + 1));
+            }
+            mapa[palabra] |= 1L << documento;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.equipo3.tareas;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importación y exportación de tareas en CSV o NDJSON.
+ * Ambas operaciones son en streaming sobre canales de archivo con búfer: la importación lee
+ * y crea las tareas por lotes y la exportación recorre el repositorio sin copiarlo, así que
+ * la memoria usada no depende del tamaño del archivo.
+ *
+ * Al importar, cada registro pasa por las mismas validaciones que crearTarea; los rechazos
+ * indican en {@link ResultadoImportacion.Rechazo#getPosicion()} el número de línea (desde 1)
+ * donde empieza el registro. Si el registro trae un estado, se alcanza aplicando las
+ * transiciones válidas en orden (Pendiente -> En_progreso -> Completada), en lote para todo
+ * un bloque de registros. El resultado guarda como mucho {@link #MAXIMO_RECHAZOS_GUARDADOS}
+ * rechazos, los de las primeras líneas; para recibirlos todos sin acumularlos en memoria,
+ * use {@link #importar(GestorTareas, Path, FormatoIntercambio, Consumer)}.
+ */
+public final class IntercambioTareas {
+    static final String[] COLUMNAS = {"id", "titulo", "descripcion", "prioridad", "fechaVencimiento", "estado"};
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+    private static final int LOTE = 10_000;
+    /** Rechazos que conserva el resultado de una importación; los demás solo se cuentan. */
+    public static final int MAXIMO_RECHAZOS_GUARDADOS = 1_000;
+
+    private IntercambioTareas() {
+    }
+
+    /**
+     * Crea en el gestor las tareas del archivo.
+     *
+     * @return Resumen de la importación; la posición de cada rechazo es su número de línea.
+     * @throws IOException si no se puede leer el archivo.
+     */
+    public static ResultadoImportacion importar(GestorTareas gestor, Path origen, FormatoIntercambio formato) throws IOException {
+        return importar(gestor, origen, formato, rechazo -> {
+        });
+    }
+
+    /**
+     * Como {@link #importar(GestorTareas, Path, FormatoIntercambio)}, pasando además cada
+     * rechazo a 'alRechazar' en orden de línea, a medida que se procesa cada bloque.
+     *
+     * @throws IOException si no se puede leer el archivo.
+     * @throws IllegalArgumentException si alRechazar es nulo.
+     */
+    public static ResultadoImportacion importar(GestorTareas gestor, Path origen, FormatoIntercambio formato,
+                                                Consumer<ResultadoImportacion.Rechazo> alRechazar) throws IOException {
+        if (alRechazar == null) {
+            throw new IllegalArgumentException("El consumidor de rechazos no puede ser nulo.");
+        }
+        try (FileChannel canal = FileChannel.open(origen, StandardOpenOption.READ);
+             BufferedReader lector = new BufferedReader(
+                     Channels.newReader(canal, StandardCharsets.UTF_8.newDecoder(), TAMANIO_BUFFER), TAMANIO_BUFFER)) {
+            LectorRegistros registros = formato == FormatoIntercambio.CSV ? new LectorCsv(lector) : new LectorNdjson(lector);
+            Importacion importacion = new Importacion(gestor, alRechazar);
+            RegistroLeido registro;
+            while ((registro = registros.siguiente()) != null) {
+                importacion.agregar(registro);
+            }
+            return importacion.terminar();
+        }
+    }
+
+    /**
+     * Escribe todas las tareas del gestor en el archivo, reemplazándolo si existe.
+     *
+     * @return El número de tareas exportadas.
+     * @throws IOException si no se puede escribir el archivo.
+     */
+    public static long exportar(GestorTareas gestor, Path destino, FormatoIntercambio formato) throws IOException {
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer escritor = new BufferedWriter(
+                     Channels.newWriter(canal, StandardCharsets.UTF_8.newEncoder(), TAMANIO_BUFFER), TAMANIO_BUFFER)) {
+            StringBuilder linea = new StringBuilder(256);
+            if (formato == FormatoIntercambio.CSV) {
+                escritor.write(String.join(",", COLUMNAS));
+                escritor.write('\n');
+            }
+            long[] exportadas = {0};
+            try {
+                gestor.recorrerTareas(tarea -> {
+                    linea.setLength(0);
+                    if (formato == FormatoIntercambio.CSV) {
+                        escribirCsv(tarea, linea);
+                    } else {
+                        JsonTareas.escribirTarea(tarea, linea);
+                    }
+                    linea.append('\n');
+                    try {
+                        escritor.append(linea);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    exportadas[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return exportadas[0];
+        }
+    }
+
+    private static void escribirCsv(Tarea tarea, StringBuilder linea) {
+        escribirCampoCsv(tarea.getId(), linea);
+        linea.append(',');
+        escribirCampoCsv(tarea.getTitulo(), linea);
+        linea.append(',');
+        escribirCampoCsv(tarea.getDescripcion(), linea);
+        linea.append(',').append(tarea.getPrioridad().name())
+             .append(',').append(tarea.getFechaVencimiento())
+             .append(',').append(tarea.getEstado().name());
+    }
+
+    private static void escribirCampoCsv(String valor, StringBuilder linea) {
+        boolean comillas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!comillas) {
+            linea.append(valor);
+            return;
+        }
+        linea.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                linea.append('"');
+            }
+            linea.append(c);
+        }
+        linea.append('"');
+    }
+
+    /** Registro leído del archivo: o bien sus datos, o bien el error de formato. */
+    private static final class RegistroLeido {
+        final long linea;
+        final DatosTarea datos;
+        final EstadoTarea estado;
+        final String error;
+
+        RegistroLeido(long linea, DatosTarea datos, EstadoTarea estado, String error) {
+            this.linea = linea;
+            this.datos = datos;
+            this.estado = estado;
+            this.error = error;
+        }
+
+        static RegistroLeido desdeCampos(long linea, Map<String, String> campos) {
+            String id = campos.get("id");
+            Prioridad prioridad = null;
+            String valorPrioridad = campos.get("prioridad");
+            if (valorPrioridad != null && !valorPrioridad.isEmpty()) {
+                try {
+                    prioridad = Prioridad.valueOf(valorPrioridad.toLowerCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    return new RegistroLeido(linea, null, null, "Prioridad no válida: " + valorPrioridad);
+                }
+            }
+            LocalDate fechaVencimiento = null;
+            String valorFecha = campos.get("fechaVencimiento");
+            if (valorFecha != null && !valorFecha.isEmpty()) {
+                try {
+                    fechaVencimiento = LocalDate.parse(valorFecha);
+                } catch (DateTimeParseException e) {
+                    return new RegistroLeido(linea, null, null, "Fecha de vencimiento no válida (use YYYY-MM-DD): " + valorFecha);
+                }
+            }
+            EstadoTarea estado = null;
+            String valorEstado = campos.get("estado");
+            if (valorEstado != null && !valorEstado.isEmpty()) {
+                try {
+                    estado = EstadoTarea.valueOf(valorEstado);
+                } catch (IllegalArgumentException e) {
+                    return new RegistroLeido(linea, null, null, "Estado no válido: " + valorEstado);
+                }
+            }
+            DatosTarea datos = new DatosTarea(id, campos.get("titulo"), campos.get("descripcion"), prioridad, fechaVencimiento);
+            return new RegistroLeido(linea, datos, estado, null);
+        }
+    }
+
+    private interface LectorRegistros {
+        /** Devuelve el siguiente registro, o null al final del archivo. */
+        RegistroLeido siguiente() throws IOException;
+    }
+
+    private static final class LectorNdjson implements LectorRegistros {
+        private final BufferedReader lector;
+        private long linea;
+
+        LectorNdjson(BufferedReader lector) {
+            this.lector = lector;
+        }
+
+        @Override
+        public RegistroLeido siguiente() throws IOException {
+            String texto;
+            while ((texto = lector.readLine()) != null) {
+                linea++;
+                if (texto.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    return RegistroLeido.desdeCampos(linea, JsonTareas.leerObjeto(texto));
+                } catch (IllegalArgumentException e) {
+                    return new RegistroLeido(linea, null, null, e.getMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Lector CSV (RFC 4180): la primera línea es la cabecera con los nombres de columna y los
+     * campos entre comillas pueden contener comas, comillas dobladas y saltos de línea.
+     */
+    private static final class LectorCsv implements LectorRegistros {
+        private final BufferedReader lector;
+        private String[] cabecera;
+        private long linea;
+
+        LectorCsv(BufferedReader lector) {
+            this.lector = lector;
+        }
+
+        @Override
+        public RegistroLeido siguiente() throws IOException {
+            while (true) {
+                String texto = lector.readLine();
+                if (texto == null) {
+                    return null;
+                }
+                linea++;
+                long inicio = linea;
+                if (texto.trim().isEmpty()) {
+                    continue;
+                }
+                List<String> campos = new ArrayList<>(COLUMNAS.length);
+                String error = separar(texto, campos);
+                if (cabecera == null) {
+                    cabecera = campos.toArray(new String[0]);
+                    continue;
+                }
+                if (error != null) {
+                    return new RegistroLeido(inicio, null, null, error);
+                }
+                if (campos.size() != cabecera.length) {
+                    return new RegistroLeido(inicio, null, null,
+                            "Se esperaban " + cabecera.length + " campos y hay " + campos.size() + ".");
+                }
+                Map<String, String> porNombre = new HashMap<>();
+                for (int i = 0; i < cabecera.length; i++) {
+                    porNombre.put(cabecera[i], campos.get(i));
+                }
+                return RegistroLeido.desdeCampos(inicio, porNombre);
+            }
+        }
+
+        /** Separa los campos de un registro, leyendo más líneas si hay comillas abiertas. */
+        private String separar(String texto, List<String> campos) throws IOException {
+            StringBuilder campo = new StringBuilder();
+            boolean entreComillas = false;
+            String actual = texto;
+            int i = 0;
+            while (true) {
+                if (i >= actual.length()) {
+                    if (!entreComillas) {
+                        campos.add(campo.toString());
+                        return null;
+                    }
+                    String siguiente = lector.readLine();
+                    if (siguiente == null) {
+                        campos.add(campo.toString());
+                        return "Comillas sin cerrar al final del archivo.";
+                    }
+                    linea++;
+                    campo.append('\n');
+                    actual = siguiente;
+                    i = 0;
+                    continue;
+                }
+                char c = actual.charAt(i++);
+                if (entreComillas) {
+                    if (c == '"') {
+                        if (i < actual.length() && actual.charAt(i) == '"') {
+                            campo.append('"');
+                            i++;
+                        } else {
+                            entreComillas = false;
+                        }
+                    } else {
+                        campo.append(c);
+                    }
+                } else if (c == '"' && campo.length() == 0) {
+                    entreComillas = true;
+                } else if (c == ',') {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else {
+                    campo.append(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Acumula registros y los crea en el gestor por lotes con crearTareas. Los rechazos de
+     * cada lote se ordenan por línea y se entregan al terminarlo; como los lotes siguen el
+     * orden del archivo, todos salen en orden de línea sin guardarlos.
+     */
+    private static final class Importacion {
+        private final GestorTareas gestor;
+        private final Consumer<ResultadoImportacion.Rechazo> alRechazar;
+        private final List<DatosTarea> lote = new ArrayList<>(LOTE);
+        private final List<RegistroLeido> registrosLote = new ArrayList<>(LOTE);
+        private final List<ResultadoImportacion.Rechazo> rechazosLote = new ArrayList<>();
+        private final List<ResultadoImportacion.Rechazo> rechazos = new ArrayList<>();
+        private long aceptadas;
+        private long rechazadas;
+
+        Importacion(GestorTareas gestor, Consumer<ResultadoImportacion.Rechazo> alRechazar) {
+            this.gestor = gestor;
+            this.alRechazar = alRechazar;
+        }
+
+        void agregar(RegistroLeido registro) {
+            if (registro.error != null) {
+                rechazosLote.add(new ResultadoImportacion.Rechazo(registro.linea, null, registro.error));
+            } else {
+                lote.add(registro.datos);
+                registrosLote.add(registro);
+            }
+            if (lote.size() + rechazosLote.size() >= LOTE) {
+                vaciar();
+            }
+        }
+
+        ResultadoImportacion terminar() {
+            vaciar();
+            return new ResultadoImportacion(aceptadas, rechazadas, rechazos);
+        }
+
+        private void vaciar() {
+            if (!lote.isEmpty()) {
+                crearLote();
+            }
+            rechazosLote.sort(Comparator.comparingLong(ResultadoImportacion.Rechazo::getPosicion));
+            for (ResultadoImportacion.Rechazo rechazo : rechazosLote) {
+                rechazadas++;
+                if (rechazos.size() < MAXIMO_RECHAZOS_GUARDADOS) {
+                    rechazos.add(rechazo);
+                }
+                alRechazar.accept(rechazo);
+            }
+            rechazosLote.clear();
+        }
+
+        private void crearLote() {
+            ResultadoImportacion resultado = gestor.crearTareas(lote);
+            Set<Integer> rechazadasLote = new HashSet<>();
+            for (ResultadoImportacion.Rechazo rechazo : resultado.getRechazos()) {
+                int indice = (int) rechazo.getPosicion();
+                rechazadasLote.add(indice);
+                rechazosLote.add(new ResultadoImportacion.Rechazo(registrosLote.get(indice).linea, rechazo.getId(), rechazo.getMotivo()));
+            }
+            aceptadas += resultado.getAceptadas();
+            // Los estados del lote se aplican con dos cambios en bloque (a En_progreso y luego
+            // a Completada): como mucho dos escrituras en el registro por lote
+            Map<String, EstadoTarea> enProgreso = new HashMap<>();
+            Map<String, EstadoTarea> completadas = new HashMap<>();
+            for (int i = 0; i < registrosLote.size(); i++) {
+                RegistroLeido registro = registrosLote.get(i);
+                if (registro.estado != null && registro.estado != EstadoTarea.Pendiente && !rechazadasLote.contains(i)) {
+                    String id = registro.datos.getId();
+                    enProgreso.put(id, EstadoTarea.En_progreso);
+                    if (registro.estado == EstadoTarea.Completada) {
+                        completadas.put(id, EstadoTarea.Completada);
+                    }
+                }
+            }
+            if (!enProgreso.isEmpty()) {
+                gestor.actualizarEstados(enProgreso);
+            }
+            if (!completadas.isEmpty()) {
+                gestor.actualizarEstados(completadas);
+            }
+            lote.clear();
+            registrosLote.clear();
+        }
+    }
+}
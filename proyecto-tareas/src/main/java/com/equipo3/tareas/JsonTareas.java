@@ -0,0 +1,174 @@
+package com.equipo3.tareas;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conversión mínima entre tareas y objetos JSON planos, sin dependencias externas.
+ * Solo admite objetos de un nivel cuyos valores son cadenas, números, booleanos o null,
+ * que es todo lo que necesita el intercambio de tareas.
+ */
+final class JsonTareas {
+
+    private JsonTareas() {
+    }
+
+    static void escribirTarea(Tarea tarea, StringBuilder salida) {
+        salida.append("{\"id\":");
+        escribirCadena(tarea.getId(), salida);
+        salida.append(",\"titulo\":");
+        escribirCadena(tarea.getTitulo(), salida);
+        salida.append(",\"descripcion\":");
+        escribirCadena(tarea.getDescripcion(), salida);
+        salida.append(",\"prioridad\":\"").append(tarea.getPrioridad().name())
+              .append("\",\"fechaVencimiento\":\"").append(tarea.getFechaVencimiento())
+              .append("\",\"estado\":\"").append(tarea.getEstado().name()).append("\"}");
+    }
+
+    static void escribirCadena(String valor, StringBuilder salida) {
+        salida.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"': salida.append("\\\""); break;
+                case '\\': salida.append("\\\\"); break;
+                case '\n': salida.append("\\n"); break;
+                case '\r': salida.append("\\r"); break;
+                case '\t': salida.append("\\t"); break;
+                case '\b': salida.append("\\b"); break;
+                case '\f': salida.append("\\f"); break;
+                default:
+                    if (c < 0x20) {
+                        salida.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        salida.append(c);
+                    }
+            }
+        }
+        salida.append('"');
+    }
+
+    /**
+     * Lee un objeto JSON plano. Los valores se devuelven como texto; null se devuelve como null.
+     *
+     * @throws IllegalArgumentException si el texto no es un objeto JSON plano válido.
+     */
+    static Map<String, String> leerObjeto(String texto) {
+        Lector lector = new Lector(texto);
+        Map<String, String> campos = new LinkedHashMap<>();
+        lector.saltarEspacios();
+        lector.esperar('{');
+        lector.saltarEspacios();
+        if (!lector.consumir('}')) {
+            do {
+                lector.saltarEspacios();
+                String clave = lector.leerCadena();
+                lector.saltarEspacios();
+                lector.esperar(':');
+                lector.saltarEspacios();
+                campos.put(clave, lector.leerValor());
+                lector.saltarEspacios();
+            } while (lector.consumir(','));
+            lector.esperar('}');
+        }
+        lector.saltarEspacios();
+        if (!lector.terminado()) {
+            throw new IllegalArgumentException("Contenido inesperado después del objeto JSON.");
+        }
+        return campos;
+    }
+
+    private static final class Lector {
+        private final String texto;
+        private int posicion;
+
+        Lector(String texto) {
+            this.texto = texto;
+        }
+
+        boolean terminado() {
+            return posicion >= texto.length();
+        }
+
+        void saltarEspacios() {
+            while (posicion < texto.length() && Character.isWhitespace(texto.charAt(posicion))) {
+                posicion++;
+            }
+        }
+
+        boolean consumir(char c) {
+            if (posicion < texto.length() && texto.charAt(posicion) == c) {
+                posicion++;
+                return true;
+            }
+            return false;
+        }
+
+        void esperar(char c) {
+            if (!consumir(c)) {
+                throw new IllegalArgumentException("JSON no válido: se esperaba '" + c + "' en la posición " + (posicion + 1) + ".");
+            }
+        }
+
+        String leerValor() {
+            if (posicion < texto.length() && texto.charAt(posicion) == '"') {
+                return leerCadena();
+            }
+            int inicio = posicion;
+            while (posicion < texto.length() && ",}".indexOf(texto.charAt(posicion)) < 0
+                    && !Character.isWhitespace(texto.charAt(posicion))) {
+                posicion++;
+            }
+            String literal = texto.substring(inicio, posicion);
+            if (literal.isEmpty() || literal.equals("{") || literal.startsWith("[")) {
+                throw new IllegalArgumentException("JSON no válido: valor no admitido en la posición " + (inicio + 1) + ".");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String leerCadena() {
+            esperar('"');
+            StringBuilder valor = new StringBuilder();
+            while (true) {
+                if (posicion >= texto.length()) {
+                    throw new IllegalArgumentException("JSON no válido: cadena sin cerrar.");
+                }
+                char c = texto.charAt(posicion++);
+                if (c == '"') {
+                    return valor.toString();
+                }
+                if (c != '\\') {
+                    valor.append(c);
+                    continue;
+                }
+                if (posicion >= texto.length()) {
+                    throw new IllegalArgumentException("JSON no válido: escape incompleto.");
+                }
+                char escape = texto.charAt(posicion++);
+                switch (escape) {
+                    case '"': valor.append('"'); break;
+                    case '\\': valor.append('\\'); break;
+                    case '/': valor.append('/'); break;
+                    case 'b': valor.append('\b'); break;
+                    case 'f': valor.append('\f'); break;
+                    case 'n': valor.append('\n'); break;
+                    case 'r': valor.append('\r'); break;
+                    case 't': valor.append('\t'); break;
+                    case 'u':
+                        if (posicion + 4 > texto.length()) {
+                            throw new IllegalArgumentException("JSON no válido: escape \\u incompleto.");
+                        }
+                        try {
+                            valor.append((char) Integer.parseInt(texto.substring(posicion, posicion + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("JSON no válido: escape \\u incorrecto.");
+                        }
+                        posicion += 4;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("JSON no válido: escape desconocido \\" + escape + ".");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.equipo3.tareas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Almacén principal de tareas indexado por el ID numérico (long primitivo).
+ * Es una tabla hash de direccionamiento abierto (sondeo lineal) dividida en segmentos,
+ * cada uno con su propio StampedLock: las escrituras solo bloquean su segmento y las
+ * lecturas usan lectura optimista, así que buscar una tarea no reserva memoria ni
+ * toma el bloqueo salvo que coincida con una escritura en el mismo segmento.
+ * Las tareas nunca se eliminan, por lo que una casilla vacía (valor nulo) marca el final
+ * de la secuencia de sondeo.
+ */
+final class MapaTareasPorId {
+    private static final int CAPACIDAD_INICIAL_SEGMENTO = 16;
+
+    private final Segmento[] segmentos;
+    private final int desplazamientoSegmento;
+
+    MapaTareasPorId() {
+        int deseados = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+        int numSegmentos = Integer.highestOneBit(deseados - 1) << 1;
+        this.segmentos = new Segmento[numSegmentos];
+        for (int i = 0; i < numSegmentos; i++) {
+            segmentos[i] = new Segmento(CAPACIDAD_INICIAL_SEGMENTO);
+        }
+        // Los bits altos del hash eligen segmento; los bajos, la casilla dentro de él.
+        this.desplazamientoSegmento = Long.SIZE - Integer.numberOfTrailingZeros(numSegmentos);
+    }
+
+    /** Devuelve la tarea con ese ID o null si no existe. No reserva memoria. */
+    Tarea obtener(long id) {
+        long hash = mezclar(id);
+        return segmentoDe(hash).obtener(id, hash);
+    }
+
+    /**
+     * Inserta la tarea si su ID no está ocupado.
+     *
+     * @return null si se insertó, o la tarea que ya ocupaba ese ID.
+     */
+    Tarea ponerSiAusente(Tarea tarea) {
+        long id = tarea.getIdNumerico();
+        long hash = mezclar(id);
+        return segmentoDe(hash).ponerSiAusente(id, hash, tarea);
+    }
+
+    /** Reserva espacio para que el mapa pueda alcanzar ese total de tareas sin redimensionar. */
+    void asegurarCapacidad(int totalEsperado) {
+        int porSegmento = totalEsperado / segmentos.length + 1;
+        for (Segmento segmento : segmentos) {
+            segmento.asegurarCapacidad(porSegmento);
+        }
+    }
+
+    int tamanio() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            total += segmento.tamanio();
+        }
+        return total;
+    }
+
+    int numeroSegmentos() {
+        return segmentos.length;
+    }
+
+    /**
+     * Recorre las tareas de un segmento sin bloquear a los escritores. Ve todas las altas
+     * terminadas antes de la llamada y puede ver o no las concurrentes.
+     */
+    void recorrerSegmento(int indice, Consumer<? super Tarea> accion) {
+        Tarea[] valores = segmentos[indice].tablaPublicada().valores;
+        for (Tarea tarea : valores) {
+            if (tarea != null) {
+                accion.accept(tarea);
+            }
+        }
+    }
+
+    void recorrer(Consumer<? super Tarea> accion) {
+        for (int i = 0; i < segmentos.length; i++) {
+            recorrerSegmento(i, accion);
+        }
+    }
+
+    /** Vista perezosa de todas las tareas, con la misma consistencia que recorrer(). */
+    Stream<Tarea> stream() {
+        return IntStream.range(0, segmentos.length)
+                .mapToObj(i -> segmentos[i].tablaPublicada().valores)
+                .flatMap(valores -> Arrays.stream(valores).filter(Objects::nonNull));
+    }
+
+    List<Tarea> valores() {
+        List<Tarea> copia = new ArrayList<>(tamanio());
+        recorrer(copia::add);
+        return copia;
+    }
+
+    private Segmento segmentoDe(long hash) {
+        return segmentos[(int) (hash >>> desplazamientoSegmento)];
+    }
+
+    /** Finalizador de MurmurHash3: reparte bien IDs consecutivos. */
+    static long mezclar(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Claves y valores se sustituyen juntos al redimensionar para que un lector nunca los mezcle. */
+    private static final class Tabla {
+        final long[] claves;
+        final Tarea[] valores;
+        final int mascara;
+
+        Tabla(int capacidad) {
+            this.claves = new long[capacidad];
+            this.valores = new Tarea[capacidad];
+            this.mascara = capacidad - 1;
+        }
+    }
+
+    private static final class Segmento {
+        private final StampedLock cerrojo = new StampedLock();
+        private Tabla tabla;
+        private int tamanio;
+
+        Segmento(int capacidad) {
+            this.tabla = new Tabla(capacidad);
+        }
+
+        Tarea obtener(long id, long hash) {
+            long sello = cerrojo.tryOptimisticRead();
+            Tarea encontrada = buscar(tabla, id, hash);
+            if (cerrojo.validate(sello)) {
+                return encontrada;
+            }
+            sello = cerrojo.readLock();
+            try {
+                return buscar(tabla, id, hash);
+            } finally {
+                cerrojo.unlockRead(sello);
+            }
+        }
+
+        Tarea ponerSiAusente(long id, long hash, Tarea tarea) {
+            long sello = cerrojo.writeLock();
+            try {
+                Tabla t = tabla;
+                int i = (int) hash & t.mascara;
+                while (t.valores[i] != null) {
+                    if (t.claves[i] == id) {
+                        return t.valores[i];
+                    }
+                    i = (i + 1) & t.mascara;
+                }
+                t.claves[i] = id;
+                t.valores[i] = tarea;
+                if (++tamanio * 4 >= t.claves.length * 3) {
+                    redimensionar(t.claves.length * 2);
+                }
+                return null;
+            } finally {
+                cerrojo.unlockWrite(sello);
+            }
+        }
+
+        void asegurarCapacidad(int elementos) {
+            long sello = cerrojo.writeLock();
+            try {
+                int necesaria = Integer.highestOneBit(Math.max(elementos * 4 / 3, 1)) << 1;
+                if (necesaria > tabla.claves.length) {
+                    redimensionar(necesaria);
+                }
+            } finally {
+                cerrojo.unlockWrite(sello);
+            }
+        }
+
+        int tamanio() {
+            long sello = cerrojo.readLock();
+            try {
+                return tamanio;
+            } finally {
+                cerrojo.unlockRead(sello);
+            }
+        }
+
+        /** Tabla vigente tras sincronizarse con todas las escrituras ya terminadas. */
+        Tabla tablaPublicada() {
+            long sello = cerrojo.readLock();
+            try {
+                return tabla;
+            } finally {
+                cerrojo.unlockRead(sello);
+            }
+        }
+
+        private void redimensionar(int capacidad) {
+            Tabla anterior = tabla;
+            Tabla nueva = new Tabla(capacidad);
+            for (int j = 0; j < anterior.valores.length; j++) {
+                Tarea tarea = anterior.valores[j];
+                if (tarea != null) {
+                    long id = anterior.claves[j];
+                    int i = (int) mezclar(id) & nueva.mascara;
+                    while (nueva.valores[i] != null) {
+                        i = (i + 1) & nueva.mascara;
+                    }
+                    nueva.claves[i] = id;
+                    nueva.valores[i] = tarea;
+                }
+            }
+            tabla = nueva;
+        }
+
+        /**
+         * Sondeo lineal acotado por la capacidad: en una lectura optimista la tabla puede
+         * estar a medio escribir, y el resultado solo se usa si validate() lo confirma.
+         */
+        private static Tarea buscar(Tabla t, long id, long hash) {
+            int i = (int) hash & t.mascara;
+            for (int sondeos = 0; sondeos <= t.mascara; sondeos++) {
+                Tarea tarea = t.valores[i];
+                if (tarea == null) {
+                    return null;
+                }
+                if (t.claves[i] == id) {
+                    return tarea;
+                }
+                i = (i + 1) & t.mascara;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.equipo3.tareas;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Oyente que escribe en consola las altas y los cambios de estado sin frenar al gestor.
+ * Los eventos se encolan en una cola acotada y un hilo en segundo plano los saca por lotes,
+ * los formatea y los escribe de una sola vez. Si la cola está llena el evento se descarta en
+ * lugar de bloquear a quien llama; {@link #getDescartados()} indica cuántos se perdieron.
+ * Las consultas no se escriben. Al cerrarlo se escriben los eventos pendientes.
+ */
+public class OyenteConsolaAsincrono implements OyenteTareas, Closeable {
+    private static final int CAPACIDAD_POR_DEFECTO = 64 * 1024;
+    private static final int EVENTOS_POR_LOTE = 1024;
+    private static final Evento FIN = new Evento(null, null);
+
+    private final BlockingQueue<Evento> cola;
+    private final PrintStream salida;
+    private final AtomicLong descartados = new AtomicLong();
+    private final Thread escritor;
+    private volatile boolean cerrado;
+
+    public OyenteConsolaAsincrono() {
+        this(System.out, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param salida Flujo donde se escriben los mensajes.
+     * @param capacidad Eventos que pueden esperar en la cola antes de empezar a descartar.
+     * @throws IllegalArgumentException si la salida es nula o la capacidad no es positiva.
+     */
+    public OyenteConsolaAsincrono(PrintStream salida, int capacidad) {
+        if (salida == null) {
+            throw new IllegalArgumentException("La salida no puede ser nula.");
+        }
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la cola debe ser positiva.");
+        }
+        this.salida = salida;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.escritor = new Thread(this::escribirEventos, "oyente-consola-tareas");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @Override
+    public void tareaCreada(Tarea tarea) {
+        publicar(new Evento(tarea, null));
+    }
+
+    @Override
+    public void estadoCambiado(Tarea tarea, EstadoTarea anterior, EstadoTarea nuevo) {
+        publicar(new Evento(tarea, nuevo));
+    }
+
+    /** Eventos descartados porque la cola estaba llena o el oyente ya estaba cerrado. */
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    /** Escribe los eventos pendientes y detiene el hilo de escritura. */
+    @Override
+    public void close() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                cola.put(FIN);
+                escritor.join();
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publicar(Evento evento) {
+        if (cerrado || !cola.offer(evento)) {
+            descartados.incrementAndGet();
+        }
+    }
+
+    private void escribirEventos() {
+        List<Evento> lote = new ArrayList<>(EVENTOS_POR_LOTE);
+        StringBuilder texto = new StringBuilder();
+        boolean fin = false;
+        while (!fin) {
+            try {
+                Evento primero = cola.poll(1, TimeUnit.SECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+            } catch (InterruptedException e) {
+                // Solo close() detiene el hilo, para no perder eventos ya aceptados
+                continue;
+            }
+            cola.drainTo(lote, EVENTOS_POR_LOTE - 1);
+            for (Evento evento : lote) {
+                if (evento == FIN) {
+                    fin = true;
+                } else {
+                    evento.formatear(texto);
+                }
+            }
+            if (texto.length() > 0) {
+                salida.print(texto);
+                salida.flush();
+            }
+            texto.setLength(0);
+            lote.clear();
+        }
+    }
+
+    /** Alta si 'estado' es null; cambio de estado en otro caso. */
+    private static final class Evento {
+        final Tarea tarea;
+        final EstadoTarea estado;
+
+        Evento(Tarea tarea, EstadoTarea estado) {
+            this.tarea = tarea;
+            this.estado = estado;
+        }
+
+        void formatear(StringBuilder texto) {
+            if (estado == null) {
+                texto.append("Tarea creada exitosamente: ").append(tarea.getTitulo())
+                     .append(" (ID: ").append(tarea.getId()).append(')');
+            } else {
+                texto.append("Estado de la tarea ID '").append(tarea.getId())
+                     .append("' actualizado a: ").append(estado);
+            }
+            texto.append(System.lineSeparator());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.equipo3.tareas;
+
+/**
+ * Recibe los eventos que publica GestorTareas: altas, cambios de estado y consultas, y
+ * los vencimientos si hay un {@link VigilanteVencimientos} activo.
+ * Los métodos se invocan de forma síncrona en el hilo que hace la operación, así que deben
+ * volver enseguida; para trabajo costoso (consola, disco, red) use un oyente asíncrono como
+ * {@link OyenteConsolaAsincrono}. Todos los métodos tienen una implementación vacía para
+ * que cada oyente sobrescriba solo los eventos que le interesan.
+ */
+public interface OyenteTareas {
+
+    /** Oyente que descarta todos los eventos. */
+    OyenteTareas NINGUNO = new OyenteTareas() {
+    };
+
+    /** Tipos de consulta que informa {@link #consultaRealizada(TipoConsulta, int)}. */
+    enum TipoConsulta {
+        BUSCAR_POR_ID,
+        BUSCAR_POR_TEXTO,
+        LISTAR_POR_PRIORIDAD,
+        LISTAR_PROXIMAS_A_VENCER,
+        CONSULTA_COMPUESTA
+    }
+
+    /**
+     * Se invoca tras dar de alta una tarea, de una en una o en bloque. Si lanza una
+     * excepción, los demás oyentes reciben el aviso igualmente y la excepción llega después
+     * a quien creó la tarea, que ya está dada de alta.
+     */
+    default void tareaCreada(Tarea tarea) {
+    }
+
+    /** Se invoca tras aplicar una transición de estado válida. */
+    default void estadoCambiado(Tarea tarea, EstadoTarea anterior, EstadoTarea nuevo) {
+    }
+
+    /**
+     * Se invoca cuando pasa la fecha de vencimiento de una tarea que no está Completada.
+     * Solo se publica mientras haya un {@link VigilanteVencimientos} vigilando el gestor, y
+     * desde el hilo de ese vigilante.
+     */
+    default void tareaVencida(Tarea tarea) {
+    }
+
+    /** Se invoca al terminar una consulta con el número de tareas encontradas. */
+    default void consultaRealizada(TipoConsulta consulta, int resultados) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.equipo3.tareas;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plan elegido para una {@link ConsultaTareas}: qué índice recorre, cuántas tareas espera
+ * visitar según los contadores del gestor, qué criterios se comprueban después sobre cada
+ * tarea y la estimación de cada alternativa considerada.
+ */
+public final class PlanConsulta {
+
+    /** Forma de obtener las tareas candidatas. */
+    public enum Acceso {
+        /** Algún criterio no admite ningún valor: no se recorre nada. */
+        RESULTADO_VACIO,
+        INDICE_PRIORIDAD,
+        INDICE_ESTADO,
+        INDICE_VENCIMIENTO,
+        /** Sin criterios que acoten: se recorre todo el repositorio. */
+        RECORRIDO_COMPLETO
+    }
+
+    private final Acceso acceso;
+    private final long estimacion;
+    private final List<String> filtrosResiduales;
+    private final Map<Acceso, Long> alternativas;
+
+    PlanConsulta(Acceso acceso, long estimacion, List<String> filtrosResiduales, EnumMap<Acceso, Long> alternativas) {
+        this.acceso = acceso;
+        this.estimacion = estimacion;
+        this.filtrosResiduales = Collections.unmodifiableList(filtrosResiduales);
+        this.alternativas = Collections.unmodifiableMap(alternativas);
+    }
+
+    public Acceso getAcceso() { return acceso; }
+    /** Tareas que se espera visitar por el acceso elegido. */
+    public long getEstimacion() { return estimacion; }
+    /** Criterios que se comprueban sobre cada tarea candidata. */
+    public List<String> getFiltrosResiduales() { return filtrosResiduales; }
+    /** Estimación de cada acceso considerado, incluido el elegido. */
+    public Map<Acceso, Long> getAlternativas() { return alternativas; }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder("PlanConsulta {Acceso = ").append(acceso)
+                .append(", Estimación = ").append(estimacion)
+                .append(", Filtros residuales = ").append(filtrosResiduales.isEmpty() ? "ninguno" : String.join(" y ", filtrosResiduales))
+                .append(", Alternativas = ").append(alternativas);
+        return texto.append('}').toString();
+    }
+}
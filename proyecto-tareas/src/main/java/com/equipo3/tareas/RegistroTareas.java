@@ -0,0 +1,415 @@
+package com.equipo3.tareas;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Registro de escritura anticipada (write-ahead log) de GestorTareas.
+ * Cada alta y cada cambio de estado se añade al final del archivo como un registro binario
+ * compacto: [longitud int][crc32c int][tipo byte][datos...]. Las altas se escriben antes de
+ * publicar la tarea; los cambios de estado, justo después de aplicarlos (ver GestorTareas).
+ *
+ * La sincronización con disco (fsync) se agrupa:
+ * <ul>
+ *   <li>Con intervalo 0, cada llamada espera a que su registro esté en disco, pero un único
+ *       fsync cubre a todos los hilos que escribieron mientras se hacía el anterior
+ *       (group commit).</li>
+ *   <li>Con intervalo mayor que 0, las llamadas no esperan y un hilo en segundo plano hace
+ *       fsync cada 'intervalo' milisegundos; una caída puede perder como mucho ese margen.</li>
+ * </ul>
+ * Si un fsync periódico falla, el error se guarda y lo lanzan todas las escrituras, las
+ * sincronizaciones y el close() posteriores: lo ya confirmado puede no estar en disco.
+ * Si una escritura falla a medias, el archivo se recorta al final del último registro
+ * completo para que lo siguiente no quede detrás de un fragmento; si ni eso es posible, el
+ * registro queda inutilizable y rechaza todas las escrituras posteriores.
+ *
+ * Al abrir el archivo se recorre entero y, si el último registro quedó a medias por una caída
+ * (longitud incompleta o CRC que no coincide), se trunca a partir de ahí. Un registro dañado
+ * seguido de más datos no puede ser una escritura a medias: en ese caso no se trunca nada
+ * y la apertura falla con IOException.
+ */
+public class RegistroTareas implements Closeable {
+    private static final byte TIPO_CREACION = 1;
+    private static final byte TIPO_ESTADO = 2;
+    private static final int CABECERA = 8;
+    // Lo comprueban tanto la codificación como la lectura: un registro mayor se tomaría por dañado
+    private static final int MAXIMO_DATOS = 16 * 1024 * 1024;
+    private static final Prioridad[] PRIORIDADES = Prioridad.values();
+    private static final EstadoTarea[] ESTADOS = EstadoTarea.values();
+
+    private final FileChannel canal;
+    private final ReentrantLock escritura = new ReentrantLock();
+    private final ReentrantLock sincronizacion = new ReentrantLock();
+    private final Condition sincronizacionTerminada = sincronizacion.newCondition();
+    private final ScheduledExecutorService sincronizadorPeriodico;
+
+    private volatile long fin;
+    private long sincronizadoHasta;
+    private boolean sincronizando;
+    private volatile IOException errorSincronizacion;
+    // Escritura fallida que no se pudo deshacer: el final del archivo ya no es fiable
+    private volatile IOException errorEscritura;
+
+    /** Abre el registro con group commit: cada escritura es duradera al volver. */
+    public RegistroTareas(Path archivo) throws IOException {
+        this(archivo, 0);
+    }
+
+    /**
+     * @param archivo Archivo del registro; se crea si no existe.
+     * @param intervaloSincronizacionMs 0 para group commit, o el intervalo entre fsync periódicos.
+     * @throws IllegalArgumentException si el intervalo es negativo.
+     */
+    public RegistroTareas(Path archivo, long intervaloSincronizacionMs) throws IOException {
+        if (intervaloSincronizacionMs < 0) {
+            throw new IllegalArgumentException("El intervalo de sincronización no puede ser negativo.");
+        }
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long finValido = recorrer(0, null);
+        if (finValido < canal.size()) {
+            canal.truncate(finValido);
+            canal.force(true);
+        }
+        canal.position(finValido);
+        this.fin = finValido;
+        this.sincronizadoHasta = finValido;
+        if (intervaloSincronizacionMs > 0) {
+            this.sincronizadorPeriodico = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "registro-tareas-fsync");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            sincronizadorPeriodico.scheduleWithFixedDelay(this::sincronizarPeriodicamente,
+                    intervaloSincronizacionMs, intervaloSincronizacionMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.sincronizadorPeriodico = null;
+        }
+    }
+
+    /** Posición lógica del final del registro; los registros anteriores a ella ya están escritos. */
+    public long posicion() {
+        return fin;
+    }
+
+    /**
+     * Codifica el alta de una tarea para escribirla después con {@link #registrarCreaciones}.
+     * Se hace antes de publicar la tarea, para no aceptar una que luego no pueda registrarse.
+     *
+     * @return El registro codificado, o null si sus datos superan el máximo que admite el
+     *         registro (ver {@link CodigoValidacion#DATOS_DEMASIADO_GRANDES}).
+     */
+    static ByteBuffer codificarCreacion(Tarea tarea) {
+        byte[] id = tarea.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] titulo = tarea.getTitulo().getBytes(StandardCharsets.UTF_8);
+        byte[] descripcion = tarea.getDescripcion().getBytes(StandardCharsets.UTF_8);
+        long datos = 1 + 8 + 1 + 4 + 4L + id.length + 4 + titulo.length + 4 + descripcion.length;
+        if (datos > MAXIMO_DATOS) {
+            return null;
+        }
+        ByteBuffer registro = ByteBuffer.allocate(CABECERA + (int) datos);
+        registro.position(CABECERA);
+        registro.put(TIPO_CREACION)
+                .putLong(tarea.getIdNumerico())
+                .put((byte) tarea.getPrioridad().ordinal())
+                .putInt((int) tarea.getFechaVencimiento().toEpochDay());
+        registro.putInt(id.length).put(id);
+        registro.putInt(titulo.length).put(titulo);
+        registro.putInt(descripcion.length).put(descripcion);
+        return registro;
+    }
+
+    /** Escribe altas ya codificadas con una sola escritura y, como mucho, un fsync. */
+    void registrarCreaciones(ByteBuffer... altas) {
+        if (altas.length > 0) {
+            anexar(altas);
+        }
+    }
+
+    void registrarCambioEstado(Tarea tarea, EstadoTarea nuevoEstado) {
+        anexar(codificarCambioEstado(tarea, nuevoEstado));
+    }
+
+    /** Registra varios cambios de estado con una sola escritura y, como mucho, un fsync. */
+    void registrarCambiosEstado(List<Tarea> tareas, List<EstadoTarea> nuevosEstados) {
+        if (tareas.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] registros = new ByteBuffer[tareas.size()];
+        for (int i = 0; i < registros.length; i++) {
+            registros[i] = codificarCambioEstado(tareas.get(i), nuevosEstados.get(i));
+        }
+        anexar(registros);
+    }
+
+    private static ByteBuffer codificarCambioEstado(Tarea tarea, EstadoTarea nuevoEstado) {
+        ByteBuffer registro = ByteBuffer.allocate(CABECERA + 1 + 8 + 1);
+        registro.position(CABECERA);
+        registro.put(TIPO_ESTADO)
+                .putLong(tarea.getIdNumerico())
+                .put((byte) nuevoEstado.ordinal());
+        return registro;
+    }
+
+    /**
+     * Reconstruye en el gestor las tareas registradas a partir de 'desde'.
+     * La reproducción es idempotente: una alta ya presente se ignora y un cambio de estado
+     * solo hace avanzar el estado. Los registros escritos cuando las altas se registraban
+     * después de publicarse pueden tener un cambio de estado antes que el alta de su tarea;
+     * en ese caso se guarda y se aplica cuando llega el alta.
+     */
+    void reproducirEn(GestorTareas gestor, long desde) throws IOException {
+        Map<Long, EstadoTarea> estadosPendientes = new HashMap<>();
+        recorrer(desde, datos -> {
+            byte tipo = datos.get();
+            long idNumerico = datos.getLong();
+            if (tipo == TIPO_CREACION) {
+                Prioridad prioridad = PRIORIDADES[datos.get()];
+                LocalDate fechaVencimiento = LocalDate.ofEpochDay(datos.getInt());
+                String id = leerCadena(datos);
+                String titulo = leerCadena(datos);
+                String descripcion = leerCadena(datos);
+                EstadoTarea estado = estadosPendientes.getOrDefault(idNumerico, EstadoTarea.Pendiente);
+                estadosPendientes.remove(idNumerico);
+                gestor.restaurarTarea(Tarea.restaurar(id, idNumerico, titulo, descripcion, prioridad, fechaVencimiento, estado));
+            } else if (tipo == TIPO_ESTADO) {
+                EstadoTarea estado = ESTADOS[datos.get()];
+                if (!gestor.restaurarEstado(idNumerico, estado)) {
+                    estadosPendientes.merge(idNumerico, estado, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+                }
+            } else {
+                throw new IOException("Tipo de registro desconocido: " + tipo);
+            }
+        });
+    }
+
+    /**
+     * @throws IOException si falla el último fsync o falló alguno de los periódicos.
+     */
+    @Override
+    public void close() throws IOException {
+        if (sincronizadorPeriodico != null) {
+            sincronizadorPeriodico.shutdown();
+        }
+        escritura.lock();
+        try {
+            if (canal.isOpen()) {
+                try {
+                    canal.force(false);
+                } finally {
+                    canal.close();
+                }
+            }
+        } finally {
+            escritura.unlock();
+        }
+        IOException error = errorSincronizacion;
+        if (error != null) {
+            throw new IOException("Falló una sincronización periódica del registro de tareas.", error);
+        }
+    }
+
+    private void comprobarSincronizacion() {
+        IOException fallida = errorEscritura;
+        if (fallida != null) {
+            throw new UncheckedIOException("El registro de tareas quedó inutilizable tras una escritura fallida.", fallida);
+        }
+        IOException error = errorSincronizacion;
+        if (error != null) {
+            throw new UncheckedIOException("Falló una sincronización periódica del registro de tareas.", error);
+        }
+    }
+
+    private void anexar(ByteBuffer... registros) {
+        comprobarSincronizacion();
+        long bytes = 0;
+        for (ByteBuffer registro : registros) {
+            int datos = registro.position() - CABECERA;
+            CRC32C crc = new CRC32C();
+            crc.update(registro.array(), CABECERA, datos);
+            registro.putInt(0, datos).putInt(4, (int) crc.getValue());
+            registro.flip();
+            bytes += registro.limit();
+        }
+        long hasta;
+        escritura.lock();
+        try {
+            comprobarSincronizacion();
+            long pendientes = bytes;
+            while (pendientes > 0) {
+                pendientes -= canal.write(registros);
+            }
+            hasta = fin + bytes;
+            fin = hasta;
+        } catch (IOException e) {
+            descartarEscrituraParcial(e);
+            throw new UncheckedIOException("No se pudo escribir en el registro de tareas.", e);
+        } finally {
+            escritura.unlock();
+        }
+        if (sincronizadorPeriodico == null) {
+            sincronizarHasta(hasta);
+        }
+    }
+
+    /**
+     * Con el cerrojo de escritura tomado: recorta lo que una escritura fallida dejara tras
+     * 'fin'. Si no se puede, el registro se marca como fallido.
+     */
+    private void descartarEscrituraParcial(IOException error) {
+        try {
+            if (canal.size() > fin) {
+                canal.truncate(fin);
+            }
+            canal.position(fin);
+        } catch (IOException e) {
+            error.addSuppressed(e);
+            errorEscritura = error;
+        }
+    }
+
+    /**
+     * Espera a que el registro esté en disco hasta 'posicion'. Si otro hilo ya está haciendo
+     * fsync, espera a que termine y reutiliza su resultado o lanza el siguiente, de forma que
+     * un solo fsync sirve a todos los escritores acumulados (group commit).
+     */
+    private void sincronizarHasta(long posicion) {
+        comprobarSincronizacion();
+        sincronizacion.lock();
+        try {
+            while (sincronizadoHasta < posicion) {
+                if (sincronizando) {
+                    sincronizacionTerminada.awaitUninterruptibly();
+                    continue;
+                }
+                sincronizando = true;
+                long objetivo = fin;
+                sincronizacion.unlock();
+                try {
+                    canal.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("No se pudo sincronizar el registro de tareas con disco.", e);
+                } finally {
+                    sincronizacion.lock();
+                    sincronizando = false;
+                    sincronizacionTerminada.signalAll();
+                }
+                sincronizadoHasta = Math.max(sincronizadoHasta, objetivo);
+            }
+        } finally {
+            sincronizacion.unlock();
+        }
+    }
+
+    private void sincronizarPeriodicamente() {
+        try {
+            if (canal.isOpen()) {
+                sincronizarHasta(fin);
+            }
+        } catch (UncheckedIOException e) {
+            if (errorSincronizacion == null) {
+                errorSincronizacion = e.getCause();
+            }
+        }
+    }
+
+    private interface ProcesadorRegistro {
+        void procesar(ByteBuffer datos) throws IOException;
+    }
+
+    /**
+     * Lee los registros completos y válidos desde 'desde' y devuelve la posición donde termina
+     * el último de ellos, que es donde debe continuar la escritura.
+     *
+     * @throws IOException si hay un registro dañado seguido de datos que no son ceros.
+     */
+    private long recorrer(long desde, ProcesadorRegistro procesador) throws IOException {
+        long tamanio = canal.size();
+        long posicion = desde;
+        ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+        ByteBuffer datos = ByteBuffer.allocate(4096);
+        CRC32C crc = new CRC32C();
+        while (posicion + CABECERA <= tamanio) {
+            cabecera.clear();
+            leerCompleto(cabecera, posicion);
+            int longitud = cabecera.getInt(0);
+            int crcEsperado = cabecera.getInt(4);
+            if (longitud <= 0 || longitud > MAXIMO_DATOS) {
+                comprobarFinal(posicion, posicion + CABECERA, tamanio);
+                break;
+            }
+            if (posicion + CABECERA + longitud > tamanio) {
+                break;
+            }
+            if (datos.capacity() < longitud) {
+                datos = ByteBuffer.allocate(Integer.highestOneBit(longitud) << 1);
+            }
+            datos.clear().limit(longitud);
+            leerCompleto(datos, posicion + CABECERA);
+            crc.reset();
+            crc.update(datos.array(), 0, longitud);
+            if ((int) crc.getValue() != crcEsperado) {
+                comprobarFinal(posicion, posicion + CABECERA + longitud, tamanio);
+                break;
+            }
+            if (procesador != null) {
+                datos.flip();
+                procesador.procesar(datos);
+            }
+            posicion += CABECERA + longitud;
+        }
+        return posicion;
+    }
+
+    /**
+     * Una caída solo deja a medias el último registro, a lo sumo seguido de ceros si el sistema
+     * de archivos ya había ampliado el tamaño. Si tras el registro dañado hay otros datos, se
+     * perderían registros confirmados, así que se informa en lugar de truncar.
+     */
+    private void comprobarFinal(long posicion, long finDanado, long tamanio) throws IOException {
+        ByteBuffer resto = ByteBuffer.allocate(4096);
+        for (long actual = finDanado; actual < tamanio; actual += resto.limit()) {
+            resto.clear().limit((int) Math.min(resto.capacity(), tamanio - actual));
+            leerCompleto(resto, actual);
+            for (int i = 0; i < resto.limit(); i++) {
+                if (resto.get(i) != 0) {
+                    throw new IOException("Registro de tareas dañado en la posición " + posicion
+                            + " seguido de " + (tamanio - finDanado) + " bytes más; no se trunca para no perder registros confirmados.");
+                }
+            }
+        }
+    }
+
+    private void leerCompleto(ByteBuffer destino, long posicion) throws IOException {
+        long actual = posicion;
+        while (destino.hasRemaining()) {
+            int leidos = canal.read(destino, actual);
+            if (leidos < 0) {
+                throw new IOException("Fin inesperado del registro de tareas.");
+            }
+            actual += leidos;
+        }
+    }
+
+    private static String leerCadena(ByteBuffer datos) {
+        int longitud = datos.getInt();
+        String cadena = new String(datos.array(), datos.arrayOffset() + datos.position(), longitud, StandardCharsets.UTF_8);
+        datos.position(datos.position() + longitud);
+        return cadena;
+    }
+}
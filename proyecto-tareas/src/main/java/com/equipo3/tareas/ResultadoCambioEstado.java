@@ -0,0 +1,13 @@
+package com.equipo3.tareas;
+
+/**
+ * Resultado de cada cambio en {@link GestorTareas#actualizarEstados(java.util.Map)}.
+ */
+public enum ResultadoCambioEstado {
+    /** La tarea está ahora en el estado pedido (o ya lo estaba). */
+    APLICADO,
+    /** No existe ninguna tarea con ese ID. */
+    NO_ENCONTRADA,
+    /** El estado actual de la tarea no permite pasar al pedido. */
+    TRANSICION_NO_VALIDA
+}
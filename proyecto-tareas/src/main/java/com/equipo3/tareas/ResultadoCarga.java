@@ -0,0 +1,77 @@
+package com.equipo3.tareas;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de una ejecución de {@link GeneradorCarga}: duración real, histograma de
+ * latencias de cada tipo de operación y número de operaciones que lanzaron una excepción.
+ */
+public final class ResultadoCarga {
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    private final Duration duracion;
+    private final Map<GeneradorCarga.Operacion, HistogramaLatencias> latencias;
+    private final HistogramaLatencias total = new HistogramaLatencias();
+    private final long errores;
+
+    ResultadoCarga(Duration duracion, Map<GeneradorCarga.Operacion, HistogramaLatencias> latencias, long errores) {
+        this.duracion = duracion;
+        this.latencias = Collections.unmodifiableMap(new EnumMap<>(latencias));
+        this.errores = errores;
+        for (HistogramaLatencias histograma : latencias.values()) {
+            total.combinar(histograma);
+        }
+    }
+
+    public Duration getDuracion() { return duracion; }
+    public long getErrores() { return errores; }
+
+    /** Histograma de una operación; vacío si la mezcla no la incluía. */
+    public HistogramaLatencias getLatencias(GeneradorCarga.Operacion operacion) {
+        HistogramaLatencias histograma = latencias.get(operacion);
+        return histograma != null ? histograma : new HistogramaLatencias();
+    }
+
+    /** Histograma de todas las operaciones juntas. */
+    public HistogramaLatencias getTotal() {
+        return total;
+    }
+
+    /** Operaciones completadas por segundo, contando todos los tipos. */
+    public double getRendimiento() {
+        return total.getCantidad() / (duracion.toNanos() / 1e9);
+    }
+
+    /** Tabla con operaciones, rendimiento y percentiles de latencia en microsegundos. */
+    public String informe() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format(Locale.ROOT, "%-18s %10s %11s %10s %10s %10s %10s%n",
+                "Operación", "n", "op/s", "p50 µs", "p99 µs", "p99.9 µs", "max µs"));
+        for (Map.Entry<GeneradorCarga.Operacion, HistogramaLatencias> entrada : latencias.entrySet()) {
+            linea(texto, entrada.getKey().name(), entrada.getValue());
+        }
+        linea(texto, "TOTAL", total);
+        texto.append(String.format(Locale.ROOT, "Duración: %.1f s, errores: %d%n", duracion.toNanos() / 1e9, errores));
+        return texto.toString();
+    }
+
+    private void linea(StringBuilder texto, String nombre, HistogramaLatencias histograma) {
+        texto.append(String.format(Locale.ROOT, "%-18s %10d %11.1f", nombre, histograma.getCantidad(),
+                histograma.getCantidad() / (duracion.toNanos() / 1e9)));
+        for (double percentil : PERCENTILES) {
+            texto.append(String.format(Locale.ROOT, " %10.1f", histograma.percentil(percentil) / 1e3));
+        }
+        texto.append(String.format(Locale.ROOT, " %10.1f%n", histograma.getMaximo() / 1e3));
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoCarga {Operaciones = " + total.getCantidad() + ", Rendimiento = "
+                + String.format(Locale.ROOT, "%.1f", getRendimiento()) + " op/s, p99 = "
+                + total.percentil(99) / 1000 + " µs, Errores = " + errores + '}';
+    }
+}
@@ -0,0 +1,57 @@
+package com.equipo3.tareas;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumen de una creación de tareas en bloque: cuántas se aceptaron y, para cada registro
+ * rechazado, su posición en la entrada (empezando en 0) y el motivo. Una importación desde
+ * archivo puede guardar solo los primeros rechazos; {@link #getRechazadas()} los cuenta todos.
+ */
+public final class ResultadoImportacion {
+    private final long aceptadas;
+    private final long rechazadas;
+    private final List<Rechazo> rechazos;
+
+    ResultadoImportacion(long aceptadas, List<Rechazo> rechazos) {
+        this(aceptadas, rechazos.size(), rechazos);
+    }
+
+    ResultadoImportacion(long aceptadas, long rechazadas, List<Rechazo> rechazos) {
+        this.aceptadas = aceptadas;
+        this.rechazadas = rechazadas;
+        this.rechazos = Collections.unmodifiableList(rechazos);
+    }
+
+    public long getAceptadas() { return aceptadas; }
+    /** Total de registros rechazados, aunque no todos estén en {@link #getRechazos()}. */
+    public long getRechazadas() { return rechazadas; }
+    public List<Rechazo> getRechazos() { return rechazos; }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacion {Aceptadas = " + aceptadas + ", Rechazadas = " + rechazadas + '}';
+    }
+
+    /** Un registro de la entrada que no se pudo crear. */
+    public static final class Rechazo {
+        private final long posicion;
+        private final String id;
+        private final String motivo;
+
+        Rechazo(long posicion, String id, String motivo) {
+            this.posicion = posicion;
+            this.id = id;
+            this.motivo = motivo;
+        }
+
+        public long getPosicion() { return posicion; }
+        public String getId() { return id; }
+        public String getMotivo() { return motivo; }
+
+        @Override
+        public String toString() {
+            return "Rechazo {Posición = " + posicion + ", ID = '" + id + "', Motivo = " + motivo + '}';
+        }
+    }
+}
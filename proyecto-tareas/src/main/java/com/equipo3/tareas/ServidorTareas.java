@@ -0,0 +1,269 @@
+package com.equipo3.tareas;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP/JSON sin interfaz de consola delante de un GestorTareas:
+ * <pre>
+ * POST /tareas                    crea una tarea: {"id", "titulo", "descripcion", "prioridad", "fechaVencimiento"}
+ * GET  /tareas/{id}               devuelve la tarea
+ * PUT  /tareas/{id}/estado        cambia el estado: {"estado": "En_progreso"}
+ * GET  /tareas?prioridad=alta     lista las tareas de una prioridad
+ * GET  /tareas?proximasDias=3     lista las tareas que vencen hoy o en los próximos días
+ * </pre>
+ * Los listados aceptan además 'desplazamiento' y 'limite' (por defecto 1000) y se
+ * devuelven como un arreglo JSON. Los errores de validación responden 400, una tarea que no
+ * existe 404 y el cuerpo de error es {"error": "mensaje"}.
+ *
+ * Usa el HttpServer del JDK con un hilo virtual por petición: las peticiones que esperan
+ * (por ejemplo, al fsync del registro) no ocupan un hilo de plataforma, así que el número
+ * de conexiones simultáneas no está limitado por el tamaño de un pool. El servidor empieza
+ * a escuchar al construirlo y se detiene con {@link #close()}.
+ */
+public class ServidorTareas implements Closeable {
+    private static final int LIMITE_POR_DEFECTO = 1000;
+    private static final int MAXIMO_CUERPO = 64 * 1024;
+    // Conexiones pendientes de aceptar que admite el sistema operativo
+    private static final int COLA_CONEXIONES = 4096;
+    private static final String RUTA = "/tareas";
+
+    private final GestorTareas gestor;
+    private final HttpServer servidor;
+    private final ExecutorService hilos;
+
+    /**
+     * @param gestor Gestor al que se delegan las peticiones.
+     * @param direccion Dirección y puerto donde escuchar; con puerto 0 se elige uno libre.
+     * @throws IllegalArgumentException si el gestor o la dirección son nulos.
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public ServidorTareas(GestorTareas gestor, InetSocketAddress direccion) throws IOException {
+        if (gestor == null) {
+            throw new IllegalArgumentException("El gestor no puede ser nulo.");
+        }
+        if (direccion == null) {
+            throw new IllegalArgumentException("La dirección del servidor no puede ser nula.");
+        }
+        this.gestor = gestor;
+        this.servidor = HttpServer.create(direccion, COLA_CONEXIONES);
+        this.hilos = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(hilos);
+        servidor.createContext(RUTA, this::atender);
+        servidor.start();
+    }
+
+    /** Puerto en el que escucha, útil si se creó con puerto 0. */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /** Deja de aceptar conexiones y espera a que terminen las peticiones en curso. */
+    @Override
+    public void close() {
+        servidor.stop(0);
+        hilos.close();
+    }
+
+    private void atender(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            String metodo = intercambio.getRequestMethod();
+            String resto = intercambio.getRequestURI().getPath().substring(RUTA.length());
+            // partes: [] para /tareas, ["", id] para /tareas/{id}, ["", id, "estado"]
+            String[] partes = resto.split("/");
+            try {
+                if (!resto.isEmpty() && !resto.startsWith("/")) {
+                    responderError(intercambio, 404, "Ruta no encontrada: " + intercambio.getRequestURI().getPath());
+                } else if (partes.length <= 1) {
+                    if (metodo.equals("POST")) {
+                        crear(intercambio);
+                    } else if (metodo.equals("GET")) {
+                        listar(intercambio);
+                    } else {
+                        metodoNoPermitido(intercambio, "GET, POST");
+                    }
+                } else if (partes.length == 2 && !partes[1].isEmpty()) {
+                    if (metodo.equals("GET")) {
+                        buscar(intercambio, partes[1]);
+                    } else {
+                        metodoNoPermitido(intercambio, "GET");
+                    }
+                } else if (partes.length == 3 && partes[2].equals("estado")) {
+                    if (metodo.equals("PUT")) {
+                        actualizarEstado(intercambio, partes[1]);
+                    } else {
+                        metodoNoPermitido(intercambio, "PUT");
+                    }
+                } else {
+                    responderError(intercambio, 404, "Ruta no encontrada: " + intercambio.getRequestURI().getPath());
+                }
+            } catch (IllegalArgumentException e) {
+                responderError(intercambio, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                // Un fallo inesperado (por ejemplo, de un oyente) responde 500 en lugar de cortar
+                // la conexión sin respuesta; si ya se enviaron las cabeceras solo queda cerrar
+                if (intercambio.getResponseCode() == -1) {
+                    responderError(intercambio, 500, "Error interno del servidor.");
+                }
+            }
+        }
+    }
+
+    private void crear(HttpExchange intercambio) throws IOException {
+        Map<String, String> campos = leerCuerpo(intercambio);
+        if (campos == null) {
+            return;
+        }
+        Prioridad prioridad = campos.get("prioridad") == null ? null : leerPrioridad(campos.get("prioridad"));
+        LocalDate fechaVencimiento = null;
+        if (campos.get("fechaVencimiento") != null) {
+            try {
+                fechaVencimiento = LocalDate.parse(campos.get("fechaVencimiento"));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Fecha de vencimiento no válida (use YYYY-MM-DD): " + campos.get("fechaVencimiento"));
+            }
+        }
+        Tarea tarea = gestor.crearTarea(campos.get("id"), campos.get("titulo"), campos.get("descripcion"), prioridad, fechaVencimiento);
+        responderTarea(intercambio, 201, tarea);
+    }
+
+    private void buscar(HttpExchange intercambio, String id) throws IOException {
+        Optional<Tarea> tarea = gestor.buscarTareaPorId(id);
+        if (tarea.isPresent()) {
+            responderTarea(intercambio, 200, tarea.get());
+        } else {
+            responderError(intercambio, 404, "Tarea con ID '" + id + "' no encontrada.");
+        }
+    }
+
+    private void actualizarEstado(HttpExchange intercambio, String id) throws IOException {
+        Map<String, String> campos = leerCuerpo(intercambio);
+        if (campos == null) {
+            return;
+        }
+        String valorEstado = campos.get("estado");
+        EstadoTarea estado;
+        try {
+            estado = EstadoTarea.valueOf(valorEstado == null ? "" : valorEstado);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado no válido: " + valorEstado);
+        }
+        if (!gestor.actualizarEstadoTarea(id, estado)) {
+            responderError(intercambio, 404, "Tarea con ID '" + id + "' no encontrada.");
+            return;
+        }
+        responderTarea(intercambio, 200, gestor.buscarTareaPorId(id).orElseThrow());
+    }
+
+    private void listar(HttpExchange intercambio) throws IOException {
+        Map<String, String> parametros = leerParametros(intercambio.getRequestURI().getRawQuery());
+        long desplazamiento = leerEntero(parametros, "desplazamiento", 0);
+        int limite = (int) leerEntero(parametros, "limite", LIMITE_POR_DEFECTO);
+        List<Tarea> tareas;
+        if (parametros.containsKey("prioridad")) {
+            tareas = gestor.listarTareasPorPrioridad(leerPrioridad(parametros.get("prioridad")), desplazamiento, limite);
+        } else if (parametros.containsKey("proximasDias")) {
+            int dias = (int) leerEntero(parametros, "proximasDias", 0);
+            tareas = gestor.listarTareasProximasAVencer(dias, desplazamiento, limite);
+        } else {
+            throw new IllegalArgumentException("Indique 'prioridad' o 'proximasDias' para listar tareas.");
+        }
+        StringBuilder json = new StringBuilder(tareas.size() * 160 + 2).append('[');
+        for (int i = 0; i < tareas.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            JsonTareas.escribirTarea(tareas.get(i), json);
+        }
+        responder(intercambio, 200, json.append(']'));
+    }
+
+    /** Lee el cuerpo como objeto JSON; si es demasiado grande responde 413 y devuelve null. */
+    private static Map<String, String> leerCuerpo(HttpExchange intercambio) throws IOException {
+        try (InputStream entrada = intercambio.getRequestBody()) {
+            byte[] cuerpo = entrada.readNBytes(MAXIMO_CUERPO + 1);
+            if (cuerpo.length > MAXIMO_CUERPO) {
+                responderError(intercambio, 413, "El cuerpo de la petición supera " + MAXIMO_CUERPO + " bytes.");
+                return null;
+            }
+            return JsonTareas.leerObjeto(new String(cuerpo, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> leerParametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null || consulta.isEmpty()) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String nombre = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(nombre, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    private static long leerEntero(Map<String, String> parametros, String nombre, long porDefecto) {
+        String valor = parametros.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro '" + nombre + "' debe ser un número entero: " + valor);
+        }
+    }
+
+    private static Prioridad leerPrioridad(String valor) {
+        try {
+            return Prioridad.valueOf(valor.toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Prioridad no válida: " + valor);
+        }
+    }
+
+    private static void metodoNoPermitido(HttpExchange intercambio, String permitidos) throws IOException {
+        intercambio.getResponseHeaders().set("Allow", permitidos);
+        responderError(intercambio, 405, "Método no permitido: " + intercambio.getRequestMethod());
+    }
+
+    private static void responderTarea(HttpExchange intercambio, int codigo, Tarea tarea) throws IOException {
+        StringBuilder json = new StringBuilder(192);
+        JsonTareas.escribirTarea(tarea, json);
+        responder(intercambio, codigo, json);
+    }
+
+    private static void responderError(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        JsonTareas.escribirCadena(mensaje == null ? "" : mensaje, json);
+        responder(intercambio, codigo, json.append('}'));
+    }
+
+    private static void responder(HttpExchange intercambio, int codigo, CharSequence json) throws IOException {
+        byte[] cuerpo = json.toString().getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(codigo, cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+}
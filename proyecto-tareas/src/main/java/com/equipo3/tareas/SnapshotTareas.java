@@ -0,0 +1,242 @@
+package com.equipo3.tareas;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Instantánea binaria de todas las tareas con un formato fijo pensado para cargarse con
+ * MappedByteBuffer. El archivo se organiza por columnas:
+ * <pre>
+ * cabecera:  magia int | versión int | cantidad long | posición del registro long | inicio desplazamientos long
+ * columnas:  ids long[n] | vencimientos (día epoch) int[n] | prioridades byte[n] | estados byte[n]
+ * cadenas:   por fila, id, título y descripción como [longitud int][UTF-8]
+ * índice:    desplazamiento de las cadenas de cada fila, long[n]
+ * </pre>
+ * La posición del registro indica desde dónde hay que reproducir el RegistroTareas tras cargar
+ * la instantánea. Se escribe en un archivo temporal de nombre único que después se mueve de
+ * forma atómica; si algo falla, el temporal se borra.
+ */
+final class SnapshotTareas {
+    private static final int MAGIA = 0x54534E50; // "TSNP"
+    private static final int VERSION = 1;
+    private static final int CABECERA = 32;
+    private static final int TAMANIO_SEGMENTO = 1 << 30;
+    private static final int FILAS_POR_BLOQUE = 64 * 1024;
+    private static final Prioridad[] PRIORIDADES = Prioridad.values();
+    private static final EstadoTarea[] ESTADOS = EstadoTarea.values();
+
+    private SnapshotTareas() {
+    }
+
+    static void escribir(List<Tarea> tareas, long posicionRegistro, Path destino) throws IOException {
+        int n = tareas.size();
+        long[] desplazamientos = new long[n];
+        // Nombre único en el mismo directorio: dos escrituras a la vez no comparten temporal
+        // y el movimiento final sigue siendo dentro del mismo sistema de archivos
+        Path absoluto = destino.toAbsolutePath();
+        Path temporal = Files.createTempFile(absoluto.getParent(), absoluto.getFileName() + ".", ".tmp");
+        boolean movido = false;
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                EscritorBufferizado salida = new EscritorBufferizado(canal);
+                long inicioCadenas = CABECERA + 14L * n;
+                salida.buffer().putInt(MAGIA).putInt(VERSION).putLong(n).putLong(posicionRegistro).putLong(0L);
+                for (Tarea tarea : tareas) {
+                    salida.espacio(8).putLong(tarea.getIdNumerico());
+                }
+                for (Tarea tarea : tareas) {
+                    salida.espacio(4).putInt((int) tarea.getFechaVencimiento().toEpochDay());
+                }
+                for (Tarea tarea : tareas) {
+                    salida.espacio(1).put((byte) tarea.getPrioridad().ordinal());
+                }
+                for (Tarea tarea : tareas) {
+                    salida.espacio(1).put((byte) tarea.getEstado().ordinal());
+                }
+                long posicion = 0;
+                for (int fila = 0; fila < n; fila++) {
+                    Tarea tarea = tareas.get(fila);
+                    desplazamientos[fila] = posicion;
+                    posicion += salida.cadena(tarea.getId());
+                    posicion += salida.cadena(tarea.getTitulo());
+                    posicion += salida.cadena(tarea.getDescripcion());
+                }
+                long inicioDesplazamientos = inicioCadenas + posicion;
+                for (long desplazamiento : desplazamientos) {
+                    salida.espacio(8).putLong(desplazamiento);
+                }
+                salida.vaciar();
+                ByteBuffer inicio = ByteBuffer.allocate(8).putLong(0, inicioDesplazamientos);
+                canal.write(inicio, 24);
+                canal.force(true);
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            movido = true;
+        } finally {
+            if (!movido) {
+                Files.deleteIfExists(temporal);
+            }
+        }
+    }
+
+    /**
+     * Carga la instantánea en el gestor mapeando el archivo en memoria. Las filas se reparten
+     * en bloques que se procesan en paralelo, ya que el alta en memoria del gestor es concurrente.
+     *
+     * @return La posición del registro desde la que hay que continuar la reproducción.
+     */
+    static long cargarEn(Path origen, GestorTareas gestor) throws IOException {
+        try (FileChannel canal = FileChannel.open(origen, StandardOpenOption.READ)) {
+            MappedByteBuffer cabecera = canal.map(FileChannel.MapMode.READ_ONLY, 0, CABECERA);
+            if (cabecera.getInt(0) != MAGIA || cabecera.getInt(4) != VERSION) {
+                throw new IOException("El archivo no es una instantánea de tareas válida: " + origen);
+            }
+            long cantidad = cabecera.getLong(8);
+            long posicionRegistro = cabecera.getLong(16);
+            long inicioDesplazamientos = cabecera.getLong(24);
+            if (cantidad > Integer.MAX_VALUE || CABECERA + 22 * cantidad > canal.size()) {
+                throw new IOException("Instantánea de tareas incompleta o dañada: " + origen);
+            }
+            int n = (int) cantidad;
+            long inicioCadenas = CABECERA + 14L * n;
+
+            MappedByteBuffer ids = canal.map(FileChannel.MapMode.READ_ONLY, CABECERA, 8L * n);
+            MappedByteBuffer vencimientos = canal.map(FileChannel.MapMode.READ_ONLY, CABECERA + 8L * n, 4L * n);
+            MappedByteBuffer prioridades = canal.map(FileChannel.MapMode.READ_ONLY, CABECERA + 12L * n, n);
+            MappedByteBuffer estados = canal.map(FileChannel.MapMode.READ_ONLY, CABECERA + 13L * n, n);
+            MappedByteBuffer desplazamientos = canal.map(FileChannel.MapMode.READ_ONLY, inicioDesplazamientos, 8L * n);
+            LectorMapeado cadenas = new LectorMapeado(canal, inicioCadenas, inicioDesplazamientos - inicioCadenas);
+
+            gestor.reservarCapacidad(n);
+            int bloques = (n + FILAS_POR_BLOQUE - 1) / FILAS_POR_BLOQUE;
+            IntStream.range(0, bloques).parallel().forEach(bloque -> {
+                LectorMapeado lector = cadenas.copia();
+                int hasta = Math.min(n, (bloque + 1) * FILAS_POR_BLOQUE);
+                for (int fila = bloque * FILAS_POR_BLOQUE; fila < hasta; fila++) {
+                    lector.posicionar(desplazamientos.getLong(fila * 8));
+                    String id = lector.leerCadena();
+                    String titulo = lector.leerCadena();
+                    String descripcion = lector.leerCadena();
+                    gestor.restaurarTarea(Tarea.restaurar(id, ids.getLong(fila * 8), titulo, descripcion,
+                            PRIORIDADES[prioridades.get(fila)], LocalDate.ofEpochDay(vencimientos.getInt(fila * 4)),
+                            ESTADOS[estados.get(fila)]));
+                }
+            });
+            return posicionRegistro;
+        }
+    }
+
+    /** Acumula la salida en un búfer directo y lo vuelca al canal cuando se llena. */
+    private static final class EscritorBufferizado {
+        private final FileChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+        EscritorBufferizado(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        ByteBuffer espacio(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                vaciar();
+            }
+            return buffer;
+        }
+
+        /** Escribe [longitud][UTF-8] y devuelve los bytes ocupados. */
+        int cadena(String texto) throws IOException {
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            espacio(4).putInt(bytes.length);
+            int escritos = 0;
+            while (escritos < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    vaciar();
+                }
+                int trozo = Math.min(buffer.remaining(), bytes.length - escritos);
+                buffer.put(bytes, escritos, trozo);
+                escritos += trozo;
+            }
+            return 4 + bytes.length;
+        }
+
+        void vaciar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Lectura secuencial sobre una región que puede superar los 2 GB de un único
+     * MappedByteBuffer: la región se mapea en segmentos de 1 GB y los valores que caen a
+     * caballo entre dos segmentos se leen byte a byte.
+     */
+    private static final class LectorMapeado {
+        private final ByteBuffer[] segmentos;
+        private long posicion;
+
+        LectorMapeado(FileChannel canal, long inicio, long longitud) throws IOException {
+            int numero = (int) ((longitud + TAMANIO_SEGMENTO - 1) / TAMANIO_SEGMENTO);
+            this.segmentos = new ByteBuffer[numero];
+            for (int i = 0; i < numero; i++) {
+                long desde = (long) i * TAMANIO_SEGMENTO;
+                segmentos[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio + desde, Math.min(TAMANIO_SEGMENTO, longitud - desde));
+            }
+        }
+
+        private LectorMapeado(ByteBuffer[] originales) {
+            this.segmentos = new ByteBuffer[originales.length];
+            for (int i = 0; i < originales.length; i++) {
+                segmentos[i] = originales[i].duplicate();
+            }
+        }
+
+        /** Copia con posiciones propias, para leer desde otro hilo. */
+        LectorMapeado copia() {
+            return new LectorMapeado(segmentos);
+        }
+
+        void posicionar(long posicion) {
+            this.posicion = posicion;
+        }
+
+        String leerCadena() {
+            byte[] longitud = leer(4);
+            int n = ((longitud[0] & 0xFF) << 24) | ((longitud[1] & 0xFF) << 16) | ((longitud[2] & 0xFF) << 8) | (longitud[3] & 0xFF);
+            return new String(leer(n), StandardCharsets.UTF_8);
+        }
+
+        private byte[] leer(int n) {
+            byte[] bytes = new byte[n];
+            int segmento = (int) (posicion / TAMANIO_SEGMENTO);
+            int desplazamiento = (int) (posicion % TAMANIO_SEGMENTO);
+            ByteBuffer actual = segmentos[segmento];
+            if (desplazamiento + n <= actual.limit()) {
+                actual.position(desplazamiento);
+                actual.get(bytes);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    long p = posicion + i;
+                    bytes[i] = segmentos[(int) (p / TAMANIO_SEGMENTO)].get((int) (p % TAMANIO_SEGMENTO));
+                }
+            }
+            posicion += n;
+            return bytes;
+        }
+    }
+}
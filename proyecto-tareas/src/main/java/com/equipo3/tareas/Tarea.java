@@ -1,53 +1,195 @@
 package com.equipo3.tareas;
 
 import java.time.LocalDate;
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Representa una tarea en el sistema de gestión de tareas.
  * Incluye ID, título, descripción, prioridad, fecha de vencimiento y estado.
  * La transición de estado es ordenada: Pendiente -> En_progreso -> Completada.
+ * Los cambios de estado son atómicos (compare-and-set), por lo que una misma tarea
+ * puede compartirse entre hilos sin sincronización adicional.
+ * Dentro de un gestor, la tarea guarda además la versión del gestor en que llegó a cada
+ * estado, para que las vistas de {@link GestorTareas#abrirVista()} vean el estado que tenía
+ * en el momento de abrirlas.
  */
 public class Tarea {
-    private String id;
-    private String titulo;
-    private String descripcion;
-    private Prioridad prioridad;
-    private LocalDate fechaVencimiento;
-    private EstadoTarea estado;
+    private static final AtomicReferenceFieldUpdater<Tarea, EstadoTarea> ESTADO =
+            AtomicReferenceFieldUpdater.newUpdater(Tarea.class, EstadoTarea.class, "estado");
+    private static final EstadoTarea[] ESTADOS = EstadoTarea.values();
+    static final long SIN_CONFIRMAR = Long.MAX_VALUE;
+    // Ya se está pidiendo la versión al gestor: puede ser anterior a la de una vista abierta
+    private static final long CONFIRMANDO = Long.MAX_VALUE - 1;
+    // Esperas activas antes de ceder el procesador mientras se confirma una versión
+    private static final int ESPERAS_ACTIVAS = 64;
+
+    private final String id;
+    private final long idNumerico;
+    private final String titulo;
+    private final String descripcion;
+    private final Prioridad prioridad;
+    private final LocalDate fechaVencimiento;
+    private volatile EstadoTarea estado;
+    // Versión del gestor en que la tarea llegó a cada estado (o en que se dio de alta, si ya
+    // estaba en él). SIN_CONFIRMAR mientras el cambio se aplica y para los estados futuros,
+    // CONFIRMANDO desde que se pide la versión hasta que se guarda; 0 en las tareas fuera de
+    // un gestor. Como los estados solo avanzan, tres campos bastan.
+    private volatile long versionPendiente;
+    private volatile long versionEnProgreso;
+    private volatile long versionCompletada;
+    // Gestor que contiene la tarea; se le avisa de los cambios de estado aunque se hagan
+    // directamente con setEstado. Se asigna antes de publicar la tarea en el repositorio.
+    private GestorTareas gestor;
 
     public Tarea(String id, String titulo, String descripcion, Prioridad prioridad, LocalDate fechaVencimiento) {
-        // ... (constructor sin cambios, se mantiene igual que la versión anterior)
-        if (id == null || id.trim().isEmpty()) {
-            throw new IllegalArgumentException("El ID de la tarea no puede ser nulo ni vacío.");
+        this(id, titulo, descripcion, prioridad, fechaVencimiento, DiaActual.SISTEMA.hoy());
+    }
+
+    /**
+     * Crea una tarea validando la fecha de vencimiento contra 'hoy' en lugar de la fecha del
+     * sistema; GestorTareas pasa la fecha de su reloj.
+     */
+    Tarea(String id, String titulo, String descripcion, Prioridad prioridad, LocalDate fechaVencimiento, LocalDate hoy) {
+        CodigoValidacion codigo = validar(id, titulo, descripcion, prioridad, fechaVencimiento, hoy);
+        if (codigo != CodigoValidacion.VALIDA) {
+            throw new IllegalArgumentException(codigo.getMensaje());
         }
-        try {
-            Long.parseLong(id);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("El ID de la tarea debe ser un valor numérico.");
+        this.id = id;
+        this.idNumerico = Long.parseLong(id);
+        this.titulo = titulo;
+        this.descripcion = descripcion;
+        this.prioridad = prioridad;
+        this.fechaVencimiento = fechaVencimiento;
+        this.estado = EstadoTarea.Pendiente;
+    }
+
+    private Tarea(String id, long idNumerico, String titulo, String descripcion, Prioridad prioridad,
+                  LocalDate fechaVencimiento, EstadoTarea estado) {
+        this.id = id;
+        this.idNumerico = idNumerico;
+        this.titulo = titulo;
+        this.descripcion = descripcion;
+        this.prioridad = prioridad;
+        this.fechaVencimiento = fechaVencimiento;
+        this.estado = estado;
+    }
+
+    /**
+     * Reconstruye una tarea ya validada en su día (por ejemplo, desde un almacén compacto o
+     * desde disco) sin repetir las validaciones del constructor público: una tarea guardada
+     * puede tener hoy una fecha de vencimiento pasada o un estado distinto de Pendiente.
+     */
+    static Tarea restaurar(String id, long idNumerico, String titulo, String descripcion, Prioridad prioridad,
+                           LocalDate fechaVencimiento, EstadoTarea estado) {
+        return new Tarea(id, idNumerico, titulo, descripcion, prioridad, fechaVencimiento, estado);
+    }
+
+    /**
+     * Como {@link #restaurar}, pero la tarea rechaza los cambios de estado: es una vista de
+     * datos guardados en otra parte (por ejemplo, en un almacén columnar) y un cambio hecho
+     * sobre ella no llegaría a ese origen.
+     */
+    static Tarea vistaSoloLectura(String id, long idNumerico, String titulo, String descripcion, Prioridad prioridad,
+                                  LocalDate fechaVencimiento, EstadoTarea estado) {
+        return new SoloLectura(id, idNumerico, titulo, descripcion, prioridad, fechaVencimiento, estado);
+    }
+
+    private static final class SoloLectura extends Tarea {
+        SoloLectura(String id, long idNumerico, String titulo, String descripcion, Prioridad prioridad,
+                    LocalDate fechaVencimiento, EstadoTarea estado) {
+            super(id, idNumerico, titulo, descripcion, prioridad, fechaVencimiento, estado);
         }
-        if (titulo == null || titulo.trim().isEmpty()) {
-            throw new IllegalArgumentException("El título de la tarea no puede ser nulo ni vacío.");
+
+        /** @throws UnsupportedOperationException siempre: la vista no puede cambiar de estado. */
+        @Override
+        public CodigoValidacion intentarSetEstado(EstadoTarea nuevoEstado) {
+            throw new UnsupportedOperationException(
+                    "La tarea " + getId() + " es una vista de solo lectura; cambie su estado desde el almacén que la contiene.");
         }
-        if (descripcion == null || descripcion.trim().isEmpty()) {
-            throw new IllegalArgumentException("La descripción de la tarea no puede ser nula ni vacía.");
+    }
+
+    /**
+     * Comprueba los datos de una tarea nueva en el mismo orden que el constructor, pero
+     * devolviendo un código en lugar de lanzar: en cargas con muchos registros inválidos,
+     * construir la excepción y su traza costaba más que la propia validación.
+     *
+     * @return {@link CodigoValidacion#VALIDA} o el primer problema encontrado.
+     */
+    public static CodigoValidacion validar(String id, String titulo, String descripcion, Prioridad prioridad,
+                                           LocalDate fechaVencimiento, LocalDate hoy) {
+        if (estaVacio(id)) {
+            return CodigoValidacion.ID_VACIO;
+        }
+        if (!esIdNumerico(id)) {
+            return CodigoValidacion.ID_NO_NUMERICO;
+        }
+        if (estaVacio(titulo)) {
+            return CodigoValidacion.TITULO_VACIO;
+        }
+        if (estaVacio(descripcion)) {
+            return CodigoValidacion.DESCRIPCION_VACIA;
         }
         if (prioridad == null) {
-            throw new IllegalArgumentException("La prioridad de la tarea no puede ser nula.");
+            return CodigoValidacion.PRIORIDAD_NULA;
         }
         if (fechaVencimiento == null) {
-            throw new IllegalArgumentException("La fecha de vencimiento de la tarea no puede ser nula.");
+            return CodigoValidacion.FECHA_NULA;
         }
-        if (fechaVencimiento.isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("La fecha de vencimiento no puede ser anterior a la fecha actual.");
+        if (fechaVencimiento.isBefore(hoy)) {
+            return CodigoValidacion.FECHA_PASADA;
         }
+        return CodigoValidacion.VALIDA;
+    }
 
-        this.id = id;
-        this.titulo = titulo;
-        this.descripcion = descripcion;
-        this.prioridad = prioridad;
-        this.fechaVencimiento = fechaVencimiento;
-        this.estado = EstadoTarea.Pendiente;
+    /**
+     * Indica si Long.parseLong aceptaría el ID, sin lanzar NumberFormatException: signo
+     * opcional, al menos un dígito y un valor dentro del rango de long.
+     */
+    static boolean esIdNumerico(String id) {
+        int longitud = id.length();
+        if (longitud == 0) {
+            return false;
+        }
+        int i = 0;
+        // Se acumula en negativo, como Long.parseLong, para admitir Long.MIN_VALUE
+        long limite = -Long.MAX_VALUE;
+        char primero = id.charAt(0);
+        if (primero == '-' || primero == '+') {
+            if (longitud == 1) {
+                return false;
+            }
+            if (primero == '-') {
+                limite = Long.MIN_VALUE;
+            }
+            i = 1;
+        }
+        long maximoAntesDeMultiplicar = limite / 10;
+        long resultado = 0;
+        for (; i < longitud; i++) {
+            int digito = Character.digit(id.charAt(i), 10);
+            if (digito < 0 || resultado < maximoAntesDeMultiplicar) {
+                return false;
+            }
+            resultado *= 10;
+            if (resultado < limite + digito) {
+                return false;
+            }
+            resultado -= digito;
+        }
+        return true;
+    }
+
+    // Equivale a s == null || s.trim().isEmpty() sin crear la cadena recortada
+    private static boolean estaVacio(String s) {
+        if (s == null) {
+            return true;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     // Getters (sin cambios)
@@ -58,6 +200,9 @@ public class Tarea {
     public LocalDate getFechaVencimiento() { return fechaVencimiento; }
     public EstadoTarea getEstado() { return estado; }
 
+    /** ID ya convertido a número; se calcula una sola vez en el constructor. */
+    long getIdNumerico() { return idNumerico; }
+
     /**
      * Actualiza el estado de la tarea.
      * La transición de estado debe seguir el orden: Pendiente -> En_progreso -> Completada.
@@ -68,37 +213,239 @@ public class Tarea {
      * @throws IllegalArgumentException Si el nuevoEstado es nulo o la transición no es válida.
      */
     public void setEstado(EstadoTarea nuevoEstado) {
+        CodigoValidacion codigo = intentarSetEstado(nuevoEstado);
+        if (codigo != CodigoValidacion.VALIDA) {
+            throw new IllegalArgumentException(codigo.getMensaje());
+        }
+    }
+
+    /**
+     * Igual que {@link #setEstado}, pero si el estado es nulo o la transición no es válida
+     * devuelve el motivo en lugar de lanzar una excepción.
+     *
+     * @return {@link CodigoValidacion#VALIDA} si la tarea queda en nuevoEstado.
+     */
+    public CodigoValidacion intentarSetEstado(EstadoTarea nuevoEstado) {
+        while (true) {
+            EstadoTarea actual = this.estado;
+            CodigoValidacion codigo = comprobarTransicion(actual, nuevoEstado);
+            if (codigo != CodigoValidacion.VALIDA || actual == nuevoEstado) {
+                return codigo;
+            }
+            if (transicionar(actual, nuevoEstado)) {
+                if (gestor != null) {
+                    gestor.estadoCambiado(this, actual, nuevoEstado);
+                }
+                return codigo;
+            }
+        }
+    }
+
+    /**
+     * Aplica la transición con compare-and-set y devuelve el estado que tenía la tarea
+     * justo antes del cambio. Si otro hilo modifica el estado entre la validación y la
+     * escritura, la transición se vuelve a validar contra el nuevo estado actual.
+     *
+     * @param nuevoEstado El nuevo estado deseado para la tarea.
+     * @return El estado anterior (igual a nuevoEstado si la tarea ya estaba en él).
+     * @throws IllegalArgumentException Si el nuevoEstado es nulo o la transición no es válida.
+     */
+    EstadoTarea cambiarEstado(EstadoTarea nuevoEstado) {
         if (nuevoEstado == null) {
             throw new IllegalArgumentException("El nuevo estado de la tarea no puede ser nulo.");
         }
+        while (true) {
+            EstadoTarea actual = this.estado;
+            validarTransicion(actual, nuevoEstado);
+            if (actual == nuevoEstado) {
+                return actual;
+            }
+            if (transicionar(actual, nuevoEstado)) {
+                if (gestor != null) {
+                    gestor.estadoCambiado(this, actual, nuevoEstado);
+                }
+                return actual;
+            }
+        }
+    }
+
+    /**
+     * Como cambiarEstado, pero sin excepciones y sin avisar al gestor: lo usa el cambio de
+     * estado en lote, que actualiza índices y contadores una sola vez para todo el lote.
+     *
+     * @return El estado anterior (igual a nuevoEstado si ya estaba en él), o null si la
+     *         transición no es válida.
+     */
+    EstadoTarea cambiarEstadoSinAviso(EstadoTarea nuevoEstado) {
+        while (true) {
+            EstadoTarea actual = this.estado;
+            if (!esTransicionValida(actual, nuevoEstado)) {
+                return null;
+            }
+            if (actual == nuevoEstado || transicionar(actual, nuevoEstado)) {
+                return actual;
+            }
+        }
+    }
+
+    /** Misma regla que validarTransicion, sin lanzar excepciones: quedarse igual o avanzar un paso. */
+    static boolean esTransicionValida(EstadoTarea actual, EstadoTarea nuevoEstado) {
+        return nuevoEstado == actual || nuevoEstado.ordinal() == actual.ordinal() + 1;
+    }
+
+    /**
+     * Hace avanzar el estado hasta 'objetivo' sin validar la transición ni avisar al gestor.
+     * Se usa al reconstruir tareas desde disco: como los estados solo avanzan, quedarse con
+     * el mayor hace que el orden en que se reproducen los cambios no importe.
+     *
+     * @return El estado anterior si cambió, o null si ya estaba en 'objetivo' o más allá.
+     */
+    EstadoTarea avanzarEstadoHasta(EstadoTarea objetivo) {
+        while (true) {
+            EstadoTarea actual = this.estado;
+            if (actual.compareTo(objetivo) >= 0) {
+                return null;
+            }
+            if (transicionar(actual, objetivo)) {
+                return actual;
+            }
+        }
+    }
 
-        switch (this.estado) {
+    void asignarGestor(GestorTareas gestor) {
+        this.gestor = gestor;
+        versionPendiente = SIN_CONFIRMAR;
+        versionEnProgreso = SIN_CONFIRMAR;
+        versionCompletada = SIN_CONFIRMAR;
+    }
+
+    /** El gestor la llama cuando la tarea ya está en el repositorio y en todos los índices. */
+    void confirmarAlta() {
+        // Nadie puede cambiar el estado antes: cualquier transición espera a esta versión
+        confirmarEstados(0, estado.ordinal());
+    }
+
+    /**
+     * Cambia el estado con compare-and-set. Dentro de un gestor, antes espera a que se
+     * confirme la versión del estado actual, para que las versiones de una tarea crezcan
+     * con sus estados, y después confirma la del nuevo con una versión recién asignada.
+     */
+    private boolean transicionar(EstadoTarea actual, EstadoTarea nuevoEstado) {
+        GestorTareas g = gestor;
+        if (g != null) {
+            esperarVersion(actual.ordinal());
+        }
+        if (!ESTADO.compareAndSet(this, actual, nuevoEstado)) {
+            return false;
+        }
+        if (g != null) {
+            confirmarEstados(actual.ordinal() + 1, nuevoEstado.ordinal());
+        }
+        return true;
+    }
+
+    /**
+     * Estado que tenía la tarea en la versión indicada del gestor, o null si todavía no se
+     * había dado de alta. Un estado que aún no ha pedido su versión al gestor la tendrá
+     * mayor que cualquiera ya repartida, así que no se ve y no se espera por él; solo se
+     * espera, un instante, a un estado cuya versión ya se pidió pero no se ha guardado. Así
+     * la respuesta para una misma versión es siempre la misma sin frenar a quien lee durante
+     * toda un alta.
+     */
+    EstadoTarea estadoEnVersion(long version) {
+        for (int i = estado.ordinal(); i >= 0; i--) {
+            if (esperarVersionPedida(i) <= version) {
+                return ESTADOS[i];
+            }
+        }
+        return null;
+    }
+
+    /** Copia independiente de la tarea en el estado indicado, sin gestor. */
+    Tarea copiaEnEstado(EstadoTarea estadoCopia) {
+        return new Tarea(id, idNumerico, titulo, descripcion, prioridad, fechaVencimiento, estadoCopia);
+    }
+
+    /** Espera a que se confirme la versión del estado; la usan las transiciones. */
+    private long esperarVersion(int ordinal) {
+        long version;
+        int intentos = 0;
+        while ((version = leerVersion(ordinal)) >= CONFIRMANDO) {
+            intentos = esperar(intentos);
+        }
+        return version;
+    }
+
+    /** Como esperarVersion, pero devuelve SIN_CONFIRMAR en lugar de esperar por él. */
+    private long esperarVersionPedida(int ordinal) {
+        long version;
+        int intentos = 0;
+        while ((version = leerVersion(ordinal)) == CONFIRMANDO) {
+            intentos = esperar(intentos);
+        }
+        return version;
+    }
+
+    private static int esperar(int intentos) {
+        if (++intentos < ESPERAS_ACTIVAS) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+        return intentos;
+    }
+
+    private long leerVersion(int ordinal) {
+        switch (ordinal) {
+            case 0: return versionPendiente;
+            case 1: return versionEnProgreso;
+            default: return versionCompletada;
+        }
+    }
+
+    /**
+     * Marca los estados como CONFIRMANDO antes de pedir la versión: quien lea SIN_CONFIRMAR
+     * sabe que la versión que se pida después será mayor que la de su vista.
+     */
+    private void confirmarEstados(int desde, int hasta) {
+        guardarVersion(desde, hasta, CONFIRMANDO);
+        guardarVersion(desde, hasta, gestor.nuevaVersion());
+    }
+
+    private void guardarVersion(int desde, int hasta, long version) {
+        for (int i = desde; i <= hasta; i++) {
+            switch (i) {
+                case 0: versionPendiente = version; break;
+                case 1: versionEnProgreso = version; break;
+                default: versionCompletada = version; break;
+            }
+        }
+    }
+
+    static void validarTransicion(EstadoTarea actual, EstadoTarea nuevoEstado) {
+        CodigoValidacion codigo = comprobarTransicion(actual, nuevoEstado);
+        if (codigo != CodigoValidacion.VALIDA) {
+            throw new IllegalArgumentException(codigo.getMensaje());
+        }
+    }
+
+    /** Como validarTransicion, pero devuelve el motivo en lugar de lanzarlo. */
+    static CodigoValidacion comprobarTransicion(EstadoTarea actual, EstadoTarea nuevoEstado) {
+        if (nuevoEstado == null) {
+            return CodigoValidacion.ESTADO_NULO;
+        }
+        if (esTransicionValida(actual, nuevoEstado)) {
+            return CodigoValidacion.VALIDA;
+        }
+        switch (actual) {
             case Pendiente:
-                if (nuevoEstado == EstadoTarea.En_progreso) {
-                    this.estado = nuevoEstado;
-                } else if (nuevoEstado == EstadoTarea.Pendiente) {
-                    // No hacer nada, ya está en este estado
-                } else {
-                    throw new IllegalArgumentException("Transición de estado no válida: Desde 'Pendiente' solo se puede pasar a 'En_progreso'.");
-                }
-                break;
+                return CodigoValidacion.TRANSICION_DESDE_PENDIENTE;
             case En_progreso:
-                if (nuevoEstado == EstadoTarea.Completada) {
-                    this.estado = nuevoEstado;
-                } else if (nuevoEstado == EstadoTarea.En_progreso) {
-                    // No hacer nada, ya está en este estado
-                } else {
-                    throw new IllegalArgumentException("Transición de estado no válida: Desde 'En_progreso' solo se puede pasar a 'Completada'.");
-                }
-                break;
+                return CodigoValidacion.TRANSICION_DESDE_EN_PROGRESO;
             case Completada:
-                if (nuevoEstado != EstadoTarea.Completada) {
-                    throw new IllegalArgumentException("Una tarea 'Completada' no puede cambiar su estado.");
-                }
-                // Si es Completada a Completada, no hacer nada.
-                break;
+                return CodigoValidacion.TAREA_COMPLETADA;
             default:
-                throw new IllegalStateException("Estado actual desconocido: " + this.estado);
+                throw new IllegalStateException("Estado actual desconocido: " + actual);
         }
     }
 
@@ -114,16 +461,20 @@ public class Tarea {
                '}';
     }
 
+    /**
+     * Dos tareas son iguales si tienen el mismo ID numérico, que es la clave con la que el
+     * gestor las identifica ("042" y "42" son la misma tarea). Las vistas de solo lectura y
+     * las copias son iguales a la tarea de la que salen.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Tarea tarea = (Tarea) o;
-        return Objects.equals(id, tarea.id);
+        if (!(o instanceof Tarea)) return false;
+        return idNumerico == ((Tarea) o).idNumerico;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Long.hashCode(idNumerico);
     }
 }
@@ -0,0 +1,195 @@
+package com.equipo3.tareas;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Detecta las tareas cuya fecha de vencimiento pasa sin que estén completadas y lo publica
+ * a los oyentes del gestor con {@link OyenteTareas#tareaVencida(Tarea)}, sin recorrer
+ * periódicamente todas las tareas.
+ * Guarda en una DelayQueue una entrada por cada fecha de vencimiento, que expira al empezar
+ * el día siguiente según el reloj del gestor. Al expirar solo se recorren las tareas de esa
+ * fecha en el índice de vencimientos, así que el coste es proporcional a las tareas que
+ * vencen y no al tamaño del repositorio. Cada fecha se revisa una sola vez: al revisarla se
+ * olvida, y solo se recuerda la última fecha revisada, así que la memoria no crece con los
+ * días que lleva funcionando.
+ *
+ * En segundo plano, un hilo espera a cada vencimiento. Sin ese hilo (por ejemplo, en pruebas
+ * con un reloj que se adelanta a mano), {@link #revisar()} procesa en el hilo que llama
+ * todo lo que ya ha vencido. Las fechas que ya habían pasado al crear el vigilante se
+ * notifican en la primera revisión.
+ */
+public class VigilanteVencimientos implements OyenteTareas, Closeable {
+    // Aunque la DelayQueue calcula la espera exacta, se vuelve a consultar el reloj cada
+    // minuto por si la hora del sistema cambia mientras tanto.
+    private static final long ESPERA_MAXIMA_MS = 60_000;
+
+    private final GestorTareas gestor;
+    private final Clock reloj;
+    private final DelayQueue<Vencimiento> pendientes = new DelayQueue<>();
+    // Fechas con una entrada en la cola; cada una se quita al revisarla.
+    private final Set<LocalDate> programadas = ConcurrentHashMap.newKeySet();
+    // Última fecha revisada: las fechas hasta ella ya no se vuelven a programar.
+    private final AtomicReference<LocalDate> revisadaHasta = new AtomicReference<>(LocalDate.MIN);
+    private final Thread vigilante;
+    private volatile boolean cerrado;
+
+    /** Vigila el gestor con un hilo en segundo plano. */
+    public VigilanteVencimientos(GestorTareas gestor) {
+        this(gestor, true);
+    }
+
+    /**
+     * @param gestor Gestor cuyas tareas se vigilan; se usa su reloj.
+     * @param enSegundoPlano Si es false no se crea ningún hilo y hay que llamar a {@link #revisar()}.
+     * @throws IllegalArgumentException si el gestor es nulo.
+     */
+    public VigilanteVencimientos(GestorTareas gestor, boolean enSegundoPlano) {
+        if (gestor == null) {
+            throw new IllegalArgumentException("El gestor no puede ser nulo.");
+        }
+        this.gestor = gestor;
+        this.reloj = gestor.getReloj();
+        // Primero el oyente, para no perder las altas que lleguen mientras se recorren las fechas
+        gestor.agregarOyente(this);
+        for (LocalDate fecha : gestor.fechasVencimiento()) {
+            programar(fecha);
+        }
+        if (enSegundoPlano) {
+            this.vigilante = new Thread(this::vigilar, "vigilante-vencimientos");
+            vigilante.setDaemon(true);
+            vigilante.start();
+        } else {
+            this.vigilante = null;
+        }
+    }
+
+    @Override
+    public void tareaCreada(Tarea tarea) {
+        programar(tarea.getFechaVencimiento());
+    }
+
+    /**
+     * Procesa todas las fechas que ya han vencido según el reloj.
+     *
+     * @return El número de tareas notificadas como vencidas.
+     */
+    public int revisar() {
+        int vencidas = 0;
+        Vencimiento vencimiento;
+        while ((vencimiento = pendientes.poll()) != null) {
+            vencidas += revisarFecha(vencimiento.fecha);
+        }
+        return vencidas;
+    }
+
+    /** Fechas programadas que todavía no han vencido. */
+    int fechasPendientes() {
+        return pendientes.size();
+    }
+
+    /** Fechas que tienen entrada en la cola, sin contar las ya revisadas. */
+    int fechasProgramadas() {
+        return programadas.size();
+    }
+
+    /** Deja de vigilar el gestor y detiene el hilo en segundo plano, si lo hay. */
+    @Override
+    public void close() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        gestor.quitarOyente(this);
+        if (vigilante != null) {
+            vigilante.interrupt();
+            try {
+                vigilante.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void programar(LocalDate fecha) {
+        if (cerrado || yaRevisada(fecha) || !programadas.add(fecha)) {
+            return;
+        }
+        if (yaRevisada(fecha)) {
+            // Se revisó y se olvidó entre la comprobación y el alta en el conjunto
+            programadas.remove(fecha);
+            return;
+        }
+        pendientes.add(new Vencimiento(fecha));
+    }
+
+    private boolean yaRevisada(LocalDate fecha) {
+        return !fecha.isAfter(revisadaHasta.get());
+    }
+
+    /** Se anota la fecha como revisada antes de olvidarla, para que nadie la vuelva a programar. */
+    private int revisarFecha(LocalDate fecha) {
+        revisadaHasta.accumulateAndGet(fecha, (a, b) -> a.isAfter(b) ? a : b);
+        programadas.remove(fecha);
+        return notificar(fecha);
+    }
+
+    private int notificar(LocalDate fecha) {
+        int vencidas = 0;
+        for (Queue<Tarea> tareas : gestor.indicePorVencimiento(fecha, fecha)) {
+            for (Tarea tarea : tareas) {
+                if (tarea.getEstado() != EstadoTarea.Completada) {
+                    gestor.tareaVencida(tarea);
+                    vencidas++;
+                }
+            }
+        }
+        return vencidas;
+    }
+
+    private void vigilar() {
+        while (!cerrado) {
+            try {
+                Vencimiento vencimiento = pendientes.poll(ESPERA_MAXIMA_MS, TimeUnit.MILLISECONDS);
+                if (vencimiento != null) {
+                    revisarFecha(vencimiento.fecha);
+                }
+            } catch (InterruptedException e) {
+                // Solo close() interrumpe el hilo
+                return;
+            }
+        }
+    }
+
+    /** Entrada de la cola: la fecha vence al empezar el día siguiente en la zona del reloj. */
+    private final class Vencimiento implements Delayed {
+        final LocalDate fecha;
+        final long vencimientoMs;
+
+        Vencimiento(LocalDate fecha) {
+            this.fecha = fecha;
+            this.vencimientoMs = fecha.plusDays(1).atStartOfDay(reloj.getZone()).toInstant().toEpochMilli();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unidad) {
+            return unidad.convert(vencimientoMs - reloj.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed otro) {
+            if (otro instanceof Vencimiento) {
+                return Long.compare(vencimientoMs, ((Vencimiento) otro).vencimientoMs);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), otro.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.equipo3.tareas;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+
+/**
+ * Vista de solo lectura de un GestorTareas en un instante, obtenida con
+ * {@link GestorTareas#abrirVista()}. Todas sus consultas responden como si el gestor se
+ * hubiera detenido al abrirla: no ven las altas posteriores, cada tarea aparece con el
+ * estado que tenía entonces y un cambio en curso se ve entero o no se ve.
+ *
+ * No copia el repositorio: recorre los mismos índices que el gestor y descarta lo que tenga
+ * una versión posterior a la de la vista, así que abrirla es inmediato y no frena a quien
+ * escribe. Las tareas devueltas son copias sin gestor con el estado de la vista; cambiarles
+ * el estado no afecta al gestor. La fecha de hoy también se fija al abrir la vista.
+ */
+public final class VistaTareas {
+    private final GestorTareas gestor;
+    private final long version;
+    private final LocalDate hoy;
+
+    VistaTareas(GestorTareas gestor, long version, LocalDate hoy) {
+        this.gestor = gestor;
+        this.version = version;
+        this.hoy = hoy;
+    }
+
+    /** Versión del gestor que refleja la vista: el número de modificaciones que incluye. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** Fecha de hoy en el momento de abrir la vista. */
+    public LocalDate getHoy() {
+        return hoy;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el ID es nulo o vacío.
+     */
+    public Optional<Tarea> buscarTareaPorId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("El ID para buscar no puede ser nulo ni vacío.");
+        }
+        Tarea tarea = gestor.obtenerPorId(id);
+        return Optional.ofNullable(tarea == null ? null : enVista(tarea));
+    }
+
+    /**
+     * Tareas de una prioridad en orden de alta.
+     *
+     * @throws IllegalArgumentException si la prioridad es nula.
+     */
+    public List<Tarea> listarTareasPorPrioridad(Prioridad prioridad) {
+        if (prioridad == null) {
+            throw new IllegalArgumentException("La prioridad para listar no puede ser nula.");
+        }
+        List<Tarea> resultado = new ArrayList<>();
+        agregarVisibles(gestor.indicePorPrioridad(prioridad), resultado);
+        return resultado;
+    }
+
+    /**
+     * Tareas que vencen entre hoy (el de la vista) y dentro de 'diasLimite' días, por fecha.
+     *
+     * @throws IllegalArgumentException si diasLimite es negativo.
+     */
+    public List<Tarea> listarTareasProximasAVencer(int diasLimite) {
+        if (diasLimite < 0) {
+            throw new IllegalArgumentException("El límite de días no puede ser negativo.");
+        }
+        List<Tarea> resultado = new ArrayList<>();
+        for (Queue<Tarea> tareasDelDia : gestor.indicePorVencimiento(hoy, hoy.plusDays(diasLimite))) {
+            agregarVisibles(tareasDelDia, resultado);
+        }
+        return resultado;
+    }
+
+    /** Todas las tareas de la vista, en un orden no definido. */
+    public List<Tarea> obtenerTodasLasTareas() {
+        List<Tarea> resultado = new ArrayList<>();
+        gestor.recorrerTareas(tarea -> {
+            Tarea copia = enVista(tarea);
+            if (copia != null) {
+                resultado.add(copia);
+            }
+        });
+        return resultado;
+    }
+
+    /** Número de tareas de la vista por estado, indexado por ordinal de EstadoTarea. */
+    public long[] contarPorEstado() {
+        long[] cuentas = new long[EstadoTarea.values().length];
+        gestor.recorrerTareas(tarea -> {
+            EstadoTarea estado = tarea.estadoEnVersion(version);
+            if (estado != null) {
+                cuentas[estado.ordinal()]++;
+            }
+        });
+        return cuentas;
+    }
+
+    private void agregarVisibles(Queue<Tarea> tareas, List<Tarea> destino) {
+        for (Tarea tarea : tareas) {
+            Tarea copia = enVista(tarea);
+            if (copia != null) {
+                destino.add(copia);
+            }
+        }
+    }
+
+    private Tarea enVista(Tarea tarea) {
+        EstadoTarea estado = tarea.estadoEnVersion(version);
+        return estado == null ? null : tarea.copiaEnEstado(estado);
+    }
+}
@@ -0,0 +1,113 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlmacenColumnarTareasTest {
+
+    private GestorTareas gestor;
+    private AlmacenColumnarTareas almacen;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas();
+        LocalDate hoy = LocalDate.now();
+        for (int i = 0; i < 3_000; i++) {
+            Prioridad prioridad = Prioridad.values()[i % Prioridad.values().length];
+            // Pocos títulos distintos para comprobar que se comparten
+            gestor.crearTarea(String.valueOf(i), "Título " + (i % 10), "Descripción " + i, prioridad, hoy.plusDays(i % 30));
+        }
+        gestor.actualizarEstadoTarea("7", EstadoTarea.En_progreso);
+        almacen = AlmacenColumnarTareas.desde(gestor);
+    }
+
+    @Test
+    @DisplayName("Las consultas del almacén columnar coinciden con las de GestorTareas")
+    void consultas_coincidenConGestor() {
+        assertEquals(ids(gestor.obtenerTodasLasTareas()), ids(almacen.obtenerTodasLasTareas()));
+        for (Prioridad prioridad : Prioridad.values()) {
+            assertEquals(ids(gestor.listarTareasPorPrioridad(prioridad)), ids(almacen.listarTareasPorPrioridad(prioridad)));
+        }
+        for (int dias : new int[] {0, 3, 29}) {
+            assertEquals(ids(gestor.listarTareasProximasAVencer(dias)), ids(almacen.listarTareasProximasAVencer(dias)));
+        }
+    }
+
+    @Test
+    @DisplayName("La vista reconstruida conserva todos los atributos de la tarea")
+    void buscarTareaPorId_devuelveVistaCompleta() {
+        Tarea original = gestor.buscarTareaPorId("7").get();
+        Tarea vista = almacen.buscarTareaPorId("7").get();
+        assertEquals(original.getId(), vista.getId());
+        assertEquals(original.getTitulo(), vista.getTitulo());
+        assertEquals(original.getDescripcion(), vista.getDescripcion());
+        assertEquals(original.getPrioridad(), vista.getPrioridad());
+        assertEquals(original.getFechaVencimiento(), vista.getFechaVencimiento());
+        assertEquals(EstadoTarea.En_progreso, vista.getEstado());
+        assertFalse(almacen.buscarTareaPorId("999999").isPresent());
+    }
+
+    @Test
+    @DisplayName("Los títulos y descripciones repetidos se guardan una sola vez")
+    void cadenas_seDeduplican() {
+        assertEquals(3_000, almacen.tamanio());
+        assertEquals(10 + 3_000, almacen.cadenasDistintas());
+    }
+
+    @Test
+    @DisplayName("El almacén columnar aplica las mismas reglas de transición y de unicidad")
+    void actualizarEstadoTarea_respetaTransiciones() {
+        assertThrows(IllegalArgumentException.class, () -> almacen.actualizarEstadoTarea("8", EstadoTarea.Completada));
+        assertTrue(almacen.actualizarEstadoTarea("8", EstadoTarea.En_progreso));
+        assertTrue(almacen.actualizarEstadoTarea("8", EstadoTarea.Completada));
+        assertEquals(EstadoTarea.Completada, almacen.buscarTareaPorId("8").get().getEstado());
+        assertFalse(almacen.actualizarEstadoTarea("123456", EstadoTarea.En_progreso));
+        assertThrows(IllegalArgumentException.class,
+                () -> almacen.crearTarea("8", "Otra", "Desc", Prioridad.alta, LocalDate.now()));
+    }
+
+    @Test
+    @DisplayName("crearTarea devuelve la misma vista de solo lectura que las consultas")
+    void crearTarea_devuelveVistaDeSoloLectura() {
+        Tarea creada = almacen.crearTarea("0070000", "Nueva", "Desc", Prioridad.alta, LocalDate.now());
+        assertEquals("70000", creada.getId());
+        assertEquals(creada.getId(), almacen.buscarTareaPorId("70000").get().getId());
+        assertThrows(UnsupportedOperationException.class, () -> creada.setEstado(EstadoTarea.En_progreso));
+        Tarea consultada = almacen.buscarTareaPorId("7").get();
+        assertThrows(UnsupportedOperationException.class, () -> consultada.setEstado(EstadoTarea.Completada));
+        assertEquals(EstadoTarea.En_progreso, almacen.buscarTareaPorId("7").get().getEstado());
+    }
+
+    @Test
+    @DisplayName("La fecha de hoy del almacén sale de su reloj, o del reloj del gestor de origen")
+    void fechaDeHoy_usaElReloj() {
+        RelojAjustable reloj = new RelojAjustable(Instant.parse("2030-01-10T12:00:00Z"));
+        AlmacenColumnarTareas conReloj = new AlmacenColumnarTareas(16, reloj);
+        LocalDate hoy = LocalDate.of(2030, 1, 10);
+        conReloj.crearTarea("1", "Hoy", "D", Prioridad.alta, hoy);
+        conReloj.crearTarea("2", "Mañana", "D", Prioridad.alta, hoy.plusDays(1));
+        assertThrows(IllegalArgumentException.class, () -> conReloj.crearTarea("3", "Ayer", "D", Prioridad.alta, hoy.minusDays(1)));
+        assertEquals(Set.of("1"), ids(conReloj.listarTareasProximasAVencer(0)));
+
+        reloj.avanzar(Duration.ofDays(1));
+        assertEquals(Set.of("2"), ids(conReloj.listarTareasProximasAVencer(0)));
+        GestorTareas gestorConReloj = new GestorTareas(reloj);
+        gestorConReloj.crearTarea("5", "Hoy", "D", Prioridad.baja, hoy.plusDays(1));
+        assertEquals(Set.of("5"), ids(AlmacenColumnarTareas.desde(gestorConReloj).listarTareasProximasAVencer(0)));
+        assertThrows(IllegalArgumentException.class, () -> new AlmacenColumnarTareas(16, null));
+    }
+
+    private static Set<String> ids(List<Tarea> tareas) {
+        return tareas.stream().map(Tarea::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,141 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultaTareasTest {
+
+    private GestorTareas gestor;
+    private LocalDate hoy;
+
+    @BeforeEach
+    void setUp() {
+        gestor = new GestorTareas();
+        hoy = LocalDate.now();
+        // 300 tareas: prioridad según i % 3, vencimiento en los próximos 100 días, una de cada 5 completada
+        for (int i = 0; i < 300; i++) {
+            String id = String.valueOf(i);
+            gestor.crearTarea(id, "Tarea " + i, "Desc", Prioridad.values()[i % 3], hoy.plusDays(i % 100));
+            if (i % 5 == 0) {
+                gestor.actualizarEstadoTarea(id, EstadoTarea.En_progreso);
+                gestor.actualizarEstadoTarea(id, EstadoTarea.Completada);
+            }
+        }
+    }
+
+    private List<Tarea> filtrarRecorriendo(Prioridad prioridad, LocalDate hasta) {
+        return gestor.obtenerTodasLasTareas().stream()
+                .filter(t -> t.getPrioridad() == prioridad)
+                .filter(t -> t.getEstado() != EstadoTarea.Completada)
+                .filter(t -> !t.getFechaVencimiento().isAfter(hasta))
+                .sorted((a, b) -> Long.compare(a.getIdNumerico(), b.getIdNumerico()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Una consulta combinada devuelve lo mismo que filtrar todas las tareas")
+    void consultaCombinada_coincideConRecorridoCompleto() {
+        ConsultaTareas consulta = gestor.consulta()
+                .conPrioridad(Prioridad.alta)
+                .sinEstado(EstadoTarea.Completada)
+                .venceEnLosProximosDias(3);
+
+        List<Tarea> resultado = consulta.ejecutar();
+
+        assertEquals(filtrarRecorriendo(Prioridad.alta, hoy.plusDays(3)), resultado);
+        assertFalse(resultado.isEmpty());
+        assertEquals(resultado.size(), consulta.contar());
+    }
+
+    @Test
+    @DisplayName("El planificador elige el índice más selectivo y lo explica")
+    void explicar_eligeElIndiceMasSelectivo() {
+        // 4 días de 100: el índice por vencimiento (12 tareas) gana a prioridad (100) y estado (240)
+        PlanConsulta plan = gestor.consulta()
+                .conPrioridad(Prioridad.alta)
+                .sinEstado(EstadoTarea.Completada)
+                .venceEnLosProximosDias(3)
+                .explicar();
+        assertEquals(PlanConsulta.Acceso.INDICE_VENCIMIENTO, plan.getAcceso());
+        assertEquals(12, plan.getEstimacion());
+        assertEquals(100L, plan.getAlternativas().get(PlanConsulta.Acceso.INDICE_PRIORIDAD));
+        assertEquals(240L, plan.getAlternativas().get(PlanConsulta.Acceso.INDICE_ESTADO));
+        assertEquals(2, plan.getFiltrosResiduales().size());
+
+        // Solo completadas (60) es más selectivo que una prioridad (100)
+        PlanConsulta porEstado = gestor.consulta().conPrioridad(Prioridad.media).conEstado(EstadoTarea.Completada).explicar();
+        assertEquals(PlanConsulta.Acceso.INDICE_ESTADO, porEstado.getAcceso());
+        assertEquals(20, gestor.consulta().conPrioridad(Prioridad.media).conEstado(EstadoTarea.Completada).contar());
+
+        assertEquals(PlanConsulta.Acceso.RECORRIDO_COMPLETO, gestor.consulta().explicar().getAcceso());
+        assertEquals(300, gestor.consulta().contar());
+    }
+
+    @Test
+    @DisplayName("El índice por estado sigue los cambios de estado posteriores al alta")
+    void indiceEstado_sigueLosCambiosDeEstado() {
+        gestor.actualizarEstadoTarea("1", EstadoTarea.En_progreso);
+        gestor.buscarTareaPorId("2").get().setEstado(EstadoTarea.En_progreso);
+
+        List<String> enProgreso = gestor.consulta().conEstado(EstadoTarea.En_progreso).ejecutar().stream()
+                .map(Tarea::getId).collect(Collectors.toList());
+
+        assertEquals(List.of("1", "2"), enProgreso);
+        assertEquals(PlanConsulta.Acceso.INDICE_ESTADO, gestor.consulta().conEstado(EstadoTarea.En_progreso).explicar().getAcceso());
+    }
+
+    @Test
+    @DisplayName("Criterios incompatibles dan un resultado vacío sin recorrer nada")
+    void criteriosIncompatibles_resultadoVacio() {
+        ConsultaTareas consulta = gestor.consulta()
+                .conEstado(EstadoTarea.Pendiente)
+                .sinEstado(EstadoTarea.Pendiente);
+        assertEquals(PlanConsulta.Acceso.RESULTADO_VACIO, consulta.explicar().getAcceso());
+        assertTrue(consulta.ejecutar().isEmpty());
+
+        ConsultaTareas rangosDisjuntos = gestor.consulta()
+                .venceEntre(hoy, hoy.plusDays(2))
+                .venceEntre(hoy.plusDays(5), hoy.plusDays(9));
+        assertEquals(PlanConsulta.Acceso.RESULTADO_VACIO, rangosDisjuntos.explicar().getAcceso());
+
+        assertThrows(IllegalArgumentException.class, () -> gestor.consulta().conPrioridad());
+        assertThrows(IllegalArgumentException.class, () -> gestor.consulta().venceEntre(hoy.plusDays(1), hoy));
+    }
+
+    @Test
+    @DisplayName("Con cambios de estado concurrentes, una consulta por varios estados no repite tareas")
+    void consultaPorVariosEstados_sinRepetidosConCambiosConcurrentes() throws Exception {
+        GestorTareas otro = new GestorTareas();
+        int total = 20_000;
+        for (int i = 0; i < total; i++) {
+            otro.crearTarea(String.valueOf(i), "T", "D", Prioridad.media, hoy.plusDays(1));
+            otro.actualizarEstadoTarea(String.valueOf(i), EstadoTarea.En_progreso);
+        }
+        ConsultaTareas consulta = otro.consulta().conEstado(EstadoTarea.En_progreso, EstadoTarea.Completada);
+        assertEquals(PlanConsulta.Acceso.INDICE_ESTADO, consulta.explicar().getAcceso());
+        AtomicBoolean terminado = new AtomicBoolean();
+        Thread escritor = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                otro.actualizarEstadoTarea(String.valueOf(i), EstadoTarea.Completada);
+            }
+            terminado.set(true);
+        });
+        escritor.start();
+        do {
+            List<Tarea> resultado = consulta.ejecutar();
+            assertEquals(resultado.size(), resultado.stream().map(Tarea::getIdNumerico).distinct().count());
+            assertTrue(resultado.size() <= total);
+            assertTrue(consulta.contar() <= total);
+        } while (!terminado.get());
+        escritor.join();
+        assertEquals(total, consulta.contar());
+    }
+}
@@ -0,0 +1,184 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlujoCambiosTest {
+
+    private final LocalDate manana = LocalDate.now().plusDays(1);
+
+    @Test
+    @DisplayName("Altas y cambios de estado se publican en orden, y se puede reanudar desde una secuencia")
+    void publicaEnOrdenYReanuda() {
+        GestorTareas gestor = new GestorTareas();
+        gestor.crearTarea("1", "Anterior al flujo", "D", Prioridad.alta, manana);
+        try (FlujoCambios flujo = new FlujoCambios(gestor, 16)) {
+            FlujoCambios.Suscripcion suscripcion = flujo.suscribir();
+            gestor.crearTarea("2", "Dos", "D", Prioridad.media, manana);
+            gestor.actualizarEstadoTarea("2", EstadoTarea.En_progreso);
+            gestor.actualizarEstados(Map.of("1", EstadoTarea.En_progreso, "2", EstadoTarea.Completada));
+
+            List<CambioTarea> cambios = new ArrayList<>();
+            assertEquals(2, suscripcion.leer(cambios, 2));
+            assertEquals(2, suscripcion.leer(cambios, 10));
+            assertEquals(0, suscripcion.leer(cambios, 10));
+            assertEquals(4, flujo.getUltimaSecuencia());
+            for (int i = 0; i < cambios.size(); i++) {
+                assertEquals(i + 1, cambios.get(i).getSecuencia());
+            }
+            assertEquals(CambioTarea.Tipo.CREADA, cambios.get(0).getTipo());
+            assertNull(cambios.get(0).getEstadoAnterior());
+            assertEquals(EstadoTarea.Pendiente, cambios.get(1).getEstadoAnterior());
+            assertEquals(EstadoTarea.En_progreso, cambios.get(1).getEstado());
+
+            // Un lector que se reinicia retoma justo después del último que procesó
+            List<CambioTarea> reanudados = new ArrayList<>();
+            flujo.suscribirDesde(3).leer(reanudados, 10);
+            assertEquals(cambios.subList(2, 4), reanudados);
+            assertThrows(IllegalArgumentException.class, () -> flujo.suscribirDesde(6));
+        }
+        gestor.crearTarea("3", "Tras cerrar", "D", Prioridad.baja, manana);
+    }
+
+    @Test
+    @DisplayName("Un lector retrasado salta al cambio retenido más antiguo y cuenta los perdidos")
+    void desbordamiento() {
+        GestorTareas gestor = new GestorTareas();
+        try (FlujoCambios flujo = new FlujoCambios(gestor, 6)) {
+            assertEquals(8, flujo.getCapacidad());
+            FlujoCambios.Suscripcion lenta = flujo.suscribir();
+            for (int i = 0; i < 20; i++) {
+                gestor.crearTarea(String.valueOf(i), "Tarea " + i, "D", Prioridad.media, manana);
+            }
+            assertEquals(20, lenta.getPendientes());
+
+            List<CambioTarea> cambios = new ArrayList<>();
+            assertEquals(8, lenta.leer(cambios, 100));
+            assertEquals(12, lenta.getPerdidos());
+            assertEquals(13, cambios.get(0).getSecuencia());
+            assertEquals("19", cambios.get(7).getTarea().getId());
+            assertEquals(0, lenta.getPendientes());
+        }
+    }
+
+    @Test
+    @DisplayName("Con varios hilos escribiendo, cada cambio tiene una secuencia distinta y ninguno se pierde")
+    void escritoresConcurrentes() throws Exception {
+        GestorTareas gestor = new GestorTareas();
+        int hilos = 4;
+        int porHilo = 2_000;
+        try (FlujoCambios flujo = new FlujoCambios(gestor, hilos * porHilo * 2)) {
+            FlujoCambios.Suscripcion suscripcion = flujo.suscribir();
+            ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+            List<Future<?>> trabajos = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int base = h * porHilo;
+                trabajos.add(ejecutor.submit(() -> {
+                    for (int i = base; i < base + porHilo; i++) {
+                        gestor.crearTarea(String.valueOf(i), "Tarea " + i, "D", Prioridad.alta, manana);
+                        gestor.actualizarEstadoTarea(String.valueOf(i), EstadoTarea.En_progreso);
+                    }
+                }));
+            }
+            // Se lee mientras se escribe
+            List<CambioTarea> cambios = new ArrayList<>();
+            while (cambios.size() < hilos * porHilo * 2) {
+                suscripcion.leer(cambios, 256);
+            }
+            for (Future<?> trabajo : trabajos) {
+                trabajo.get();
+            }
+            ejecutor.shutdown();
+
+            assertEquals(0, suscripcion.getPerdidos());
+            Set<String> creadas = new HashSet<>();
+            for (int i = 0; i < cambios.size(); i++) {
+                assertEquals(i + 1, cambios.get(i).getSecuencia());
+                if (cambios.get(i).getTipo() == CambioTarea.Tipo.CREADA) {
+                    creadas.add(cambios.get(i).getTarea().getId());
+                }
+            }
+            assertEquals(hilos * porHilo, creadas.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Un cambio de estado que se cuela antes de avisar del alta se publica detrás de ella")
+    void altaAntesQueCambioConcurrente() throws Exception {
+        GestorTareas gestor = new GestorTareas();
+        List<CambioTarea> leidosDuranteElAlta = new ArrayList<>();
+        FlujoCambios.Suscripcion[] suscripcion = new FlujoCambios.Suscripcion[1];
+        // Este oyente va antes que el flujo: mientras el alta aún no se ha publicado,
+        // otro hilo cambia el estado de la tarea recién creada
+        gestor.agregarOyente(new OyenteTareas() {
+            @Override
+            public void tareaCreada(Tarea tarea) {
+                Thread otro = new Thread(() -> gestor.actualizarEstadoTarea(tarea.getId(), EstadoTarea.En_progreso));
+                otro.start();
+                try {
+                    otro.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                suscripcion[0].leer(leidosDuranteElAlta, 10);
+            }
+        });
+        FlujoCambios flujo = new FlujoCambios(gestor, 16);
+        suscripcion[0] = flujo.suscribir();
+
+        gestor.crearTarea("1", "Uno", "D", Prioridad.alta, manana);
+
+        // El cambio ya tenía secuencia, pero el lector se detiene en el alta pendiente
+        assertTrue(leidosDuranteElAlta.isEmpty());
+        List<CambioTarea> cambios = new ArrayList<>();
+        assertEquals(2, suscripcion[0].leer(cambios, 10));
+        assertEquals(CambioTarea.Tipo.CREADA, cambios.get(0).getTipo());
+        assertEquals(1, cambios.get(0).getSecuencia());
+        assertEquals(EstadoTarea.Pendiente, cambios.get(0).getEstado());
+        assertEquals(CambioTarea.Tipo.ESTADO_CAMBIADO, cambios.get(1).getTipo());
+        assertEquals(EstadoTarea.Pendiente, cambios.get(1).getEstadoAnterior());
+        flujo.close();
+    }
+
+    @Test
+    @DisplayName("Si un oyente anterior falla, el flujo recibe igualmente el alta y sus lectores no se paran")
+    void oyenteQueFalla_noBloqueaElFlujo() {
+        GestorTareas gestor = new GestorTareas();
+        gestor.agregarOyente(new OyenteTareas() {
+            @Override
+            public void tareaCreada(Tarea tarea) {
+                throw new IllegalStateException("Fallo del oyente");
+            }
+        });
+        try (FlujoCambios flujo = new FlujoCambios(gestor, 16)) {
+            FlujoCambios.Suscripcion suscripcion = flujo.suscribir();
+            assertThrows(IllegalStateException.class, () -> gestor.crearTarea("1", "Uno", "D", Prioridad.alta, manana));
+            IllegalStateException enLote = assertThrows(IllegalStateException.class, () -> gestor.crearTareas(List.of(
+                    new DatosTarea("2", "Dos", "D", Prioridad.alta, manana),
+                    new DatosTarea("3", "Tres", "D", Prioridad.alta, manana))));
+            assertEquals(1, enLote.getSuppressed().length);
+            gestor.actualizarEstadoTarea("1", EstadoTarea.En_progreso);
+
+            List<CambioTarea> cambios = new ArrayList<>();
+            assertEquals(4, suscripcion.leer(cambios, 10));
+            assertEquals("1", cambios.get(0).getTarea().getId());
+            // Las altas de un lote se publican en el orden en que se insertan
+            assertEquals(Set.of("2", "3"), Set.of(cambios.get(1).getTarea().getId(), cambios.get(2).getTarea().getId()));
+            assertEquals("1", cambios.get(3).getTarea().getId());
+            assertEquals(CambioTarea.Tipo.ESTADO_CAMBIADO, cambios.get(3).getTipo());
+            assertEquals(0, suscripcion.getPerdidos());
+        }
+    }
+}
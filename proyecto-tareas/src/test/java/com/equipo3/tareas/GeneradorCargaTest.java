@@ -0,0 +1,60 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneradorCargaTest {
+
+    @Test
+    @DisplayName("El histograma da percentiles con menos del 1 % de error y máximo exacto")
+    void histograma_percentiles() {
+        HistogramaLatencias primera = new HistogramaLatencias();
+        HistogramaLatencias segunda = new HistogramaLatencias();
+        for (long valor = 1; valor <= 100_000; valor++) {
+            (valor % 2 == 0 ? primera : segunda).registrar(valor * 1000);
+        }
+        primera.combinar(segunda);
+
+        assertEquals(100_000, primera.getCantidad());
+        assertEquals(100_000_000, primera.getMaximo());
+        assertEquals(1000, primera.getMinimo());
+        assertEquals(50_000_000, primera.percentil(50), 50_000_000 * 0.01);
+        assertEquals(99_000_000, primera.percentil(99), 99_000_000 * 0.01);
+        assertEquals(99_900_000, primera.percentil(99.9), 99_900_000 * 0.01);
+        assertEquals(100_000_000, primera.percentil(100));
+        assertEquals(Long.MAX_VALUE, HistogramaLatencias.limiteSuperior(HistogramaLatencias.cubeta(Long.MAX_VALUE)));
+        assertThrows(IllegalArgumentException.class, () -> primera.registrar(-1));
+        assertThrows(IllegalArgumentException.class, () -> primera.percentil(101));
+    }
+
+    @Test
+    @DisplayName("El generador ejecuta la mezcla indicada al ritmo pedido")
+    void generador_mezclaYRitmo() throws InterruptedException {
+        GestorTareas gestor = new GestorTareas();
+        for (int i = 0; i < 1000; i++) {
+            gestor.crearTarea(String.valueOf(i), "T", "D", Prioridad.media, LocalDate.now().plusDays(i % 10));
+        }
+        GeneradorCarga generador = new GeneradorCarga(gestor, 2, 2000,
+                Map.of(GeneradorCarga.Operacion.CREAR, 1, GeneradorCarga.Operacion.BUSCAR, 3), 7);
+
+        ResultadoCarga resultado = generador.ejecutar(Duration.ofMillis(500));
+
+        long creadas = resultado.getLatencias(GeneradorCarga.Operacion.CREAR).getCantidad();
+        long buscadas = resultado.getLatencias(GeneradorCarga.Operacion.BUSCAR).getCantidad();
+        assertEquals(0, resultado.getErrores());
+        assertEquals(0, resultado.getLatencias(GeneradorCarga.Operacion.LISTAR_PRIORIDAD).getCantidad());
+        assertEquals(1000 + creadas, gestor.contarTareas());
+        // 2000 op/s durante medio segundo, con margen para un entorno de pruebas lento
+        assertTrue(creadas + buscadas > 500 && creadas + buscadas <= 1002, "operaciones: " + (creadas + buscadas));
+        assertTrue(buscadas > creadas);
+        assertTrue(resultado.informe().contains("TOTAL"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GeneradorCarga(gestor, 1, 0, Map.of(GeneradorCarga.Operacion.CREAR, 0), 1));
+    }
+}
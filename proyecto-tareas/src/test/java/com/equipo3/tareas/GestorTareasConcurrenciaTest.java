@@ -0,0 +1,143 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de estrés de GestorTareas con varios hilos compitiendo por los mismos IDs y tareas.
+ */
+class GestorTareasConcurrenciaTest {
+
+    private static final int HILOS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    @Test
+    @DisplayName("Altas concurrentes con IDs repetidos: cada ID se acepta exactamente una vez")
+    void crearTarea_concurrente_noAdmiteDuplicados() throws Exception {
+        GestorTareas gestor = new GestorTareas();
+        int ids = 2_000;
+        LocalDate fecha = LocalDate.now().plusDays(1);
+        AtomicIntegerArray aceptadasPorId = new AtomicIntegerArray(ids);
+        AtomicInteger rechazadas = new AtomicInteger();
+
+        ejecutarEnParalelo(HILOS, hilo -> {
+            // Cada hilo recorre todos los IDs empezando en un punto distinto para forzar choques.
+            for (int i = 0; i < ids; i++) {
+                int id = (i + hilo * 37) % ids;
+                Prioridad prioridad = Prioridad.values()[id % Prioridad.values().length];
+                try {
+                    gestor.crearTarea(String.valueOf(id), "Tarea " + id, "Desc", prioridad, fecha);
+                    aceptadasPorId.incrementAndGet(id);
+                } catch (IllegalArgumentException e) {
+                    rechazadas.incrementAndGet();
+                }
+            }
+        });
+
+        for (int id = 0; id < ids; id++) {
+            assertEquals(1, aceptadasPorId.get(id), "ID aceptado un número de veces distinto de uno: " + id);
+        }
+        assertEquals(ids * (HILOS - 1), rechazadas.get());
+        assertEquals(ids, gestor.obtenerTodasLasTareas().size());
+        int indexadas = 0;
+        for (Prioridad prioridad : Prioridad.values()) {
+            indexadas += gestor.listarTareasPorPrioridad(prioridad).size();
+        }
+        assertEquals(ids, indexadas, "El índice por prioridad contiene duplicados o le faltan tareas");
+        assertEquals(ids, gestor.listarTareasProximasAVencer(1).size());
+        assertEquals(gestor.calcularEstadisticasRecorriendo(), gestor.obtenerEstadisticas());
+    }
+
+    @Test
+    @DisplayName("Cambios de estado concurrentes: nunca se salta de Pendiente a Completada")
+    void actualizarEstadoTarea_concurrente_respetaTransiciones() throws Exception {
+        GestorTareas gestor = new GestorTareas();
+        int tareas = 500;
+        for (int i = 0; i < tareas; i++) {
+            gestor.crearTarea(String.valueOf(i), "Tarea " + i, "Desc", Prioridad.media, LocalDate.now().plusDays(3));
+        }
+        ConcurrentLinkedQueue<String> violaciones = new ConcurrentLinkedQueue<>();
+        AtomicIntegerArray inicios = new AtomicIntegerArray(tareas);
+        AtomicIntegerArray finalizaciones = new AtomicIntegerArray(tareas);
+
+        ejecutarEnParalelo(HILOS, hilo -> {
+            for (int i = 0; i < tareas; i++) {
+                Tarea tarea = gestor.buscarTareaPorId(String.valueOf(i)).get();
+                // La mitad de los hilos intenta completar primero para provocar el salto ilegal.
+                EstadoTarea[] secuencia = hilo % 2 == 0
+                        ? new EstadoTarea[] {EstadoTarea.En_progreso, EstadoTarea.Completada}
+                        : new EstadoTarea[] {EstadoTarea.Completada, EstadoTarea.En_progreso};
+                for (EstadoTarea destino : secuencia) {
+                    try {
+                        EstadoTarea anterior = tarea.cambiarEstado(destino);
+                        if (destino == EstadoTarea.Completada && anterior == EstadoTarea.Pendiente) {
+                            violaciones.add(tarea.getId());
+                        }
+                        if (anterior == EstadoTarea.Pendiente && destino == EstadoTarea.En_progreso) {
+                            inicios.incrementAndGet(i);
+                        }
+                        if (anterior == EstadoTarea.En_progreso && destino == EstadoTarea.Completada) {
+                            finalizaciones.incrementAndGet(i);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // Transición rechazada por el estado actual: es el comportamiento esperado.
+                    }
+                }
+            }
+        });
+
+        assertTrue(violaciones.isEmpty(), "Saltos ilegales Pendiente -> Completada: " + violaciones);
+        for (int i = 0; i < tareas; i++) {
+            assertEquals(1, inicios.get(i), "La transición a En_progreso debe ganarla un único hilo");
+            assertTrue(finalizaciones.get(i) <= 1, "La transición a Completada debe ganarla como mucho un hilo");
+            EstadoTarea estadoFinal = gestor.buscarTareaPorId(String.valueOf(i)).get().getEstado();
+            assertEquals(finalizaciones.get(i) == 1 ? EstadoTarea.Completada : EstadoTarea.En_progreso, estadoFinal);
+        }
+        assertEquals(gestor.calcularEstadisticasRecorriendo(), gestor.obtenerEstadisticas());
+        for (EstadoTarea estado : EstadoTarea.values()) {
+            assertEquals(gestor.contarPorEstado(estado), gestor.indicePorEstado(estado).size(),
+                    "El índice por estado no coincide con el contador de " + estado);
+        }
+    }
+
+    private interface TrabajoHilo {
+        void ejecutar(int hilo) throws Exception;
+    }
+
+    private static void ejecutarEnParalelo(int hilos, TrabajoHilo trabajo) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<Future<Void>> resultados = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                Callable<Void> tarea = () -> {
+                    salida.await();
+                    trabajo.ejecutar(hilo);
+                    return null;
+                };
+                resultados.add(ejecutor.submit(tarea));
+            }
+            salida.countDown();
+            for (Future<Void> resultado : resultados) {
+                resultado.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GestorTareasParticionadoTest {
+
+    private final LocalDate hoy = LocalDate.now();
+    private final GestorTareasParticionado gestor = new GestorTareasParticionado(4);
+
+    @AfterEach
+    void tearDown() {
+        gestor.close();
+    }
+
+    @Test
+    @DisplayName("Cada ID va siempre a la misma partición y las operaciones por ID se enrutan a ella")
+    void operacionesPorId() {
+        Tarea tarea = gestor.crearTarea("42", "Título", "Desc", Prioridad.alta, hoy.plusDays(1));
+        int indice = gestor.indiceDe(42);
+        assertTrue(gestor.particion(indice).buscarTareaPorId("42").isPresent());
+        assertEquals(1, gestor.contarTareas());
+        assertEquals(tarea, gestor.buscarTareaPorId("042").get());
+        assertFalse(gestor.buscarTareaPorId("abc").isPresent());
+
+        assertTrue(gestor.actualizarEstadoTarea("42", EstadoTarea.En_progreso));
+        assertEquals(EstadoTarea.En_progreso, gestor.buscarTareaPorId("42").get().getEstado());
+        assertFalse(gestor.actualizarEstadoTarea("43", EstadoTarea.En_progreso));
+
+        // Lo devuelto son copias: cambiarlas no salta el hilo escritor de la partición
+        gestor.buscarTareaPorId("42").get().setEstado(EstadoTarea.Completada);
+        gestor.listarTareasPorPrioridad(Prioridad.alta).get(0).setEstado(EstadoTarea.Completada);
+        assertEquals(EstadoTarea.En_progreso, gestor.particion(indice).buscarTareaPorId("42").get().getEstado());
+
+        // Las excepciones del hilo escritor llegan tal cual a quien llama
+        IllegalArgumentException duplicada = assertThrows(IllegalArgumentException.class,
+                () -> gestor.crearTarea("42", "Otra", "Desc", Prioridad.baja, hoy.plusDays(1)));
+        assertEquals("Ya existe una tarea con el ID: 42", duplicada.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> gestor.actualizarEstadoTarea("42", EstadoTarea.Pendiente));
+        assertThrows(IllegalArgumentException.class, () -> gestor.crearTarea("x1", "T", "D", Prioridad.baja, hoy));
+        assertThrows(IllegalArgumentException.class, () -> new GestorTareasParticionado(0));
+    }
+
+    @Test
+    @DisplayName("Los listados reúnen todas las particiones; las próximas a vencer, ordenadas por fecha")
+    void listadosCombinados() {
+        List<CompletableFuture<Tarea>> altas = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            altas.add(gestor.crearTareaAsync(String.valueOf(i), "Tarea " + i, "Desc",
+                    Prioridad.values()[i % 3], hoy.plusDays(i % 10)));
+        }
+        altas.forEach(CompletableFuture::join);
+        int[] porParticion = new int[gestor.getParticiones()];
+        for (int i = 0; i < gestor.getParticiones(); i++) {
+            porParticion[i] = gestor.particion(i).contarTareas();
+        }
+        assertEquals(400, Arrays.stream(porParticion).sum());
+        assertTrue(Arrays.stream(porParticion).allMatch(n -> n > 50), Arrays.toString(porParticion));
+
+        List<Tarea> altasPrioridad = gestor.listarTareasPorPrioridad(Prioridad.alta);
+        assertEquals(134, altasPrioridad.size());
+        assertTrue(altasPrioridad.stream().allMatch(t -> t.getPrioridad() == Prioridad.alta));
+
+        List<Tarea> proximas = gestor.listarTareasProximasAVencer(4);
+        assertEquals(200, proximas.size());
+        for (int i = 1; i < proximas.size(); i++) {
+            assertFalse(proximas.get(i).getFechaVencimiento().isBefore(proximas.get(i - 1).getFechaVencimiento()));
+        }
+    }
+
+    @Test
+    @DisplayName("La importación en bloque reparte por partición y conserva las posiciones de los rechazos")
+    void importacionEnBloque() {
+        Set<String> hilos = ConcurrentHashMap.newKeySet();
+        gestor.agregarOyente(new OyenteTareas() {
+            @Override
+            public void tareaCreada(Tarea tarea) {
+                hilos.add(Thread.currentThread().getName());
+            }
+        });
+        gestor.crearTarea("5", "Existente", "Desc", Prioridad.media, hoy);
+        List<DatosTarea> datos = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            datos.add(new DatosTarea(String.valueOf(i), "Tarea " + i, "Desc", Prioridad.baja, hoy.plusDays(1)));
+        }
+        datos.set(10, new DatosTarea("abc", "T", "D", Prioridad.baja, hoy));
+        datos.set(20, null);
+        datos.set(30, new DatosTarea("31", "Repetida", "D", Prioridad.baja, hoy));
+        datos.set(40, new DatosTarea("40", "Pasada", "D", Prioridad.baja, hoy.minusDays(1)));
+
+        ResultadoImportacion resultado = gestor.crearTareas(datos);
+        // Rechazadas: 5 (ya existía), 10, 20, 31 (repetida tras la 30), 40
+        assertEquals(995, resultado.getAceptadas());
+        assertEquals(List.of(5L, 10L, 20L, 31L, 40L),
+                resultado.getRechazos().stream().map(ResultadoImportacion.Rechazo::getPosicion).collect(Collectors.toList()));
+        assertEquals("Ya existe una tarea con el ID: 5", resultado.getRechazos().get(0).getMotivo());
+        assertEquals(996, gestor.contarTareas());
+        Set<String> ids = new HashSet<>();
+        for (Prioridad prioridad : Prioridad.values()) {
+            gestor.listarTareasPorPrioridad(prioridad).forEach(t -> ids.add(t.getId()));
+        }
+        assertEquals(996, ids.size());
+        // Cada partición importa (y avisa de las altas) desde su hilo escritor
+        assertTrue(hilos.stream().allMatch(hilo -> hilo.startsWith("particion-tareas-")), hilos.toString());
+    }
+}
@@ -4,9 +4,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -66,6 +82,63 @@ class GestorTareasTest {
         assertThrows(IllegalArgumentException.class, () -> gestor.crearTarea(id, "Otra Tarea", "Desc", Prioridad.baja, fechaPasadaManana)); //
     }
 
+    @Test
+    @DisplayName("intentarCrearTarea devuelve un código por cada dato inválido en lugar de lanzar")
+    void intentarCrearTarea_devuelveCodigos() {
+        assertEquals(CodigoValidacion.VALIDA, gestor.intentarCrearTarea("500", "Título", "Desc", Prioridad.media, fechaManana));
+        assertTrue(gestor.buscarTareaPorId("500").isPresent());
+        assertEquals(CodigoValidacion.ID_DUPLICADO, gestor.intentarCrearTarea("500", "Otra", "Desc", Prioridad.baja, fechaManana));
+        assertEquals(CodigoValidacion.ID_VACIO, gestor.intentarCrearTarea(" ", "Título", "Desc", Prioridad.media, fechaManana));
+        assertEquals(CodigoValidacion.ID_NO_NUMERICO, gestor.intentarCrearTarea("12a", "Título", "Desc", Prioridad.media, fechaManana));
+        assertEquals(CodigoValidacion.TITULO_VACIO, gestor.intentarCrearTarea("501", null, "Desc", Prioridad.media, fechaManana));
+        assertEquals(CodigoValidacion.DESCRIPCION_VACIA, gestor.intentarCrearTarea("501", "Título", "\t", Prioridad.media, fechaManana));
+        assertEquals(CodigoValidacion.PRIORIDAD_NULA, gestor.intentarCrearTarea("501", "Título", "Desc", null, fechaManana));
+        assertEquals(CodigoValidacion.FECHA_NULA, gestor.intentarCrearTarea("501", "Título", "Desc", Prioridad.media, null));
+        assertEquals(CodigoValidacion.FECHA_PASADA, gestor.intentarCrearTarea("501", "Título", "Desc", Prioridad.media, fechaHoy.minusDays(1)));
+        assertFalse(gestor.buscarTareaPorId("501").isPresent());
+
+        // La versión que lanza usa el mismo mensaje
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> gestor.crearTarea("500", "Otra", "Desc", Prioridad.baja, fechaManana));
+        assertEquals("Ya existe una tarea con el ID: 500", e.getMessage());
+        Tarea tarea = gestor.buscarTareaPorId("500").get();
+        assertEquals(CodigoValidacion.TRANSICION_DESDE_PENDIENTE, tarea.intentarSetEstado(EstadoTarea.Completada));
+        assertEquals(CodigoValidacion.VALIDA, tarea.intentarSetEstado(EstadoTarea.En_progreso));
+        assertEquals(EstadoTarea.En_progreso, tarea.getEstado());
+    }
+
+    @Test
+    @DisplayName("La comprobación de ID numérico acepta lo mismo que Long.parseLong")
+    void esIdNumerico_comoLongParseLong() {
+        String[] ids = {"0", "+5", "-5", "007", "9223372036854775807", "-9223372036854775808",
+                "9223372036854775808", "-9223372036854775809", "99999999999999999999", "", "+", "-", "12a", " 1", "1.0", "\u0661\u0662"};
+        for (String id : ids) {
+            boolean aceptado;
+            try {
+                Long.parseLong(id);
+                aceptado = true;
+            } catch (NumberFormatException e) {
+                aceptado = false;
+            }
+            assertEquals(aceptado, Tarea.esIdNumerico(id), id);
+        }
+    }
+
+    @Test
+    @DisplayName("Las tareas son iguales si tienen el mismo ID numérico, incluidas copias y vistas")
+    void igualdadPorIdNumerico() {
+        LocalDate manana = LocalDate.now().plusDays(1);
+        Tarea tarea = new Tarea("42", "Título", "Desc", Prioridad.alta, manana);
+        Tarea conCeros = new Tarea("042", "Otro", "Otra", Prioridad.baja, manana);
+        Tarea vista = Tarea.vistaSoloLectura("42", 42, "Título", "Desc", Prioridad.alta, manana, EstadoTarea.Pendiente);
+        assertEquals(tarea, conCeros);
+        assertEquals(tarea.hashCode(), conCeros.hashCode());
+        assertEquals(tarea, vista);
+        assertEquals(vista, tarea);
+        assertEquals(tarea, tarea.copiaEnEstado(EstadoTarea.En_progreso));
+        assertNotEquals(tarea, new Tarea("43", "Título", "Desc", Prioridad.alta, manana));
+    }
+
     @Test
     @DisplayName("Buscar tarea existente por ID (numérico) debe devolver la tarea correcta")
     void buscarTareaPorId_existente_debeDevolverTarea() {
@@ -221,6 +294,27 @@ class GestorTareasTest {
         assertEquals(5, proximas.size()); 
     }
 
+    @Test
+    @DisplayName("Con un reloj inyectado, la fecha de hoy cambia exactamente a medianoche")
+    void reloj_cambioDeDia() {
+        LocalDate dia = LocalDate.of(2024, 2, 28);
+        RelojAjustable reloj = new RelojAjustable(dia.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC).minusMillis(1));
+        GestorTareas gestorConReloj = new GestorTareas(reloj);
+        gestorConReloj.crearTarea("1", "Hoy", "D", Prioridad.alta, dia);
+        gestorConReloj.crearTarea("2", "Mañana", "D", Prioridad.alta, dia.plusDays(1));
+        assertEquals(List.of("1"), idsDe(gestorConReloj.listarTareasProximasAVencer(0)));
+
+        reloj.avanzar(Duration.ofMillis(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> gestorConReloj.crearTarea("3", "Ayer", "D", Prioridad.alta, dia));
+        assertEquals(List.of("2"), idsDe(gestorConReloj.listarTareasProximasAVencer(0)));
+        assertEquals(1, gestorConReloj.obtenerEstadisticas().getVencidas());
+
+        // Si el reloj retrocede, la fecha también
+        reloj.avanzar(Duration.ofHours(-1));
+        assertEquals(List.of("1"), idsDe(gestorConReloj.listarTareasProximasAVencer(0)));
+    }
+
     @Test
     @DisplayName("Listar tareas próximas a vencer con ninguna tarea coincidente")
     void listarTareasProximasAVencer_sinCoincidencias_debeDevolverListaVacia() {
@@ -235,4 +329,449 @@ class GestorTareasTest {
     void listarTareasProximasAVencer_limiteNegativo_debeLanzarExcepcion() {
         assertThrows(IllegalArgumentException.class, () -> gestor.listarTareasProximasAVencer(-1)); //
     }
+
+    // --- Índice por prioridad ---
+
+    @Test
+    @DisplayName("El índice por prioridad coincide con el repositorio tras altas válidas e inválidas")
+    void indicePrioridad_trasAltasMixtas_coincideConRepositorio() {
+        for (int i = 0; i < 300; i++) {
+            Prioridad prioridad = Prioridad.values()[i % Prioridad.values().length];
+            gestor.crearTarea(String.valueOf(1000 + i), "Tarea " + i, "Desc " + i, prioridad, fechaManana.plusDays(i % 10));
+        }
+        // Altas rechazadas: no deben dejar rastro en el índice
+        assertThrows(IllegalArgumentException.class, () -> gestor.crearTarea("1000", "Duplicada", "Desc", Prioridad.baja, fechaManana));
+        assertThrows(IllegalArgumentException.class, () -> gestor.crearTarea("abc", "No numérica", "Desc", Prioridad.alta, fechaManana));
+        assertThrows(IllegalArgumentException.class, () -> gestor.crearTarea("2000", "Vencida", "Desc", Prioridad.media, fechaHoy.minusDays(1)));
+
+        assertIndicePrioridadConsistente(gestor);
+    }
+
+    @Test
+    @DisplayName("El índice por prioridad refleja las tareas precargadas sin duplicados")
+    void indicePrioridad_precarga_sinDuplicados() {
+        assertIndicePrioridadConsistente(gestor);
+        int total = 0;
+        for (Prioridad prioridad : Prioridad.values()) {
+            List<Tarea> tareas = gestor.listarTareasPorPrioridad(prioridad);
+            assertEquals(tareas.size(), new HashSet<>(tareas).size());
+            total += tareas.size();
+        }
+        assertEquals(gestor.obtenerTodasLasTareas().size(), total);
+    }
+
+    @Test
+    @DisplayName("La lista devuelta por prioridad es una copia y no altera el índice")
+    void listarTareasPorPrioridad_modificarResultado_noAlteraIndice() {
+        List<Tarea> tareasAlta = gestor.listarTareasPorPrioridad(Prioridad.alta);
+        tareasAlta.clear();
+        assertEquals(2, gestor.listarTareasPorPrioridad(Prioridad.alta).size());
+    }
+
+    private static void assertIndicePrioridadConsistente(GestorTareas gestor) {
+        for (Prioridad prioridad : Prioridad.values()) {
+            Set<String> esperadas = gestor.obtenerTodasLasTareas().stream()
+                    .filter(t -> t.getPrioridad() == prioridad)
+                    .map(Tarea::getId)
+                    .collect(Collectors.toSet());
+            Set<String> indexadas = gestor.listarTareasPorPrioridad(prioridad).stream()
+                    .map(Tarea::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(esperadas, indexadas, "Índice inconsistente para prioridad " + prioridad);
+        }
+    }
+
+    // --- Índice por fecha de vencimiento ---
+
+    @Test
+    @DisplayName("El índice por fecha devuelve lo mismo que un recorrido completo para cada límite")
+    void indiceVencimiento_coincideConRecorridoCompleto() {
+        for (int i = 0; i < 200; i++) {
+            gestor.crearTarea(String.valueOf(5000 + i), "Tarea " + i, "Desc " + i, Prioridad.baja, fechaHoy.plusDays(i % 40));
+        }
+        for (int dias : new int[] {0, 1, 6, 7, 15, 39, 100}) {
+            LocalDate fechaTope = fechaHoy.plusDays(dias);
+            Set<String> esperadas = gestor.obtenerTodasLasTareas().stream()
+                    .filter(t -> !t.getFechaVencimiento().isBefore(fechaHoy) && !t.getFechaVencimiento().isAfter(fechaTope))
+                    .map(Tarea::getId)
+                    .collect(Collectors.toSet());
+            List<Tarea> proximas = gestor.listarTareasProximasAVencer(dias);
+            assertEquals(esperadas.size(), proximas.size(), "Duplicados o faltantes con límite " + dias);
+            assertEquals(esperadas, proximas.stream().map(Tarea::getId).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    @DisplayName("Las tareas próximas a vencer se devuelven ordenadas por fecha de vencimiento")
+    void listarTareasProximasAVencer_resultadoOrdenadoPorFecha() {
+        List<Tarea> proximas = gestor.listarTareasProximasAVencer(7);
+        for (int i = 1; i < proximas.size(); i++) {
+            assertFalse(proximas.get(i).getFechaVencimiento().isBefore(proximas.get(i - 1).getFechaVencimiento()));
+        }
+    }
+
+    // --- Repositorio con claves numéricas ---
+
+    @Test
+    @DisplayName("Un ID con ceros a la izquierda es el mismo ID numérico")
+    void crearTarea_conIdEquivalenteNumericamente_debeLanzarExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> gestor.crearTarea("0100", "Otra", "Desc", Prioridad.baja, fechaManana));
+        assertEquals("100", gestor.buscarTareaPorId("00100").get().getId());
+    }
+
+    @Test
+    @DisplayName("Buscar por ID no numérico devuelve vacío")
+    void buscarTareaPorId_noNumerico_debeDevolverVacio() {
+        assertFalse(gestor.buscarTareaPorId("abc").isPresent());
+    }
+
+    @Test
+    @DisplayName("El repositorio encuentra todas las tareas tras varias redimensiones")
+    void buscarTareaPorId_muchasTareas_encuentraTodas() {
+        for (long i = 0; i < 20_000; i++) {
+            long id = i * 7919 - 50_000; // incluye IDs negativos y cero
+            gestor.crearTarea(String.valueOf(id), "T", "D", Prioridad.media, fechaManana);
+        }
+        for (long i = 0; i < 20_000; i++) {
+            long id = i * 7919 - 50_000;
+            assertEquals(String.valueOf(id), gestor.buscarTareaPorId(String.valueOf(id)).get().getId());
+        }
+        assertFalse(gestor.buscarTareaPorId("-50001").isPresent());
+        assertEquals(20_005, gestor.obtenerTodasLasTareas().size());
+    }
+
+    // --- Creación en bloque ---
+
+    @Test
+    @DisplayName("Crear tareas en bloque acepta las válidas y detalla los rechazos")
+    void crearTareas_enBloque_resumenDeAceptadasYRechazadas() {
+        List<DatosTarea> datos = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            datos.add(new DatosTarea(String.valueOf(10_000 + i), "Tarea " + i, "Desc", Prioridad.media, fechaManana));
+        }
+        datos.add(new DatosTarea("10005", "Repetida en la entrada", "Desc", Prioridad.alta, fechaManana)); // posición 1000
+        datos.add(new DatosTarea("100", "Ya existía", "Desc", Prioridad.alta, fechaManana));               // posición 1001
+        datos.add(new DatosTarea("xyz", "No numérica", "Desc", Prioridad.alta, fechaManana));              // posición 1002
+        datos.add(null);                                                                                  // posición 1003
+
+        ResultadoImportacion resultado = gestor.crearTareas(datos);
+
+        assertEquals(1_000, resultado.getAceptadas());
+        assertEquals(4, resultado.getRechazadas());
+        assertEquals(List.of(1000L, 1001L, 1002L, 1003L),
+                resultado.getRechazos().stream().map(ResultadoImportacion.Rechazo::getPosicion).collect(Collectors.toList()));
+        assertEquals("Tarea 5", gestor.buscarTareaPorId("10005").get().getTitulo());
+        assertEquals("Tarea Hoy Alta", gestor.buscarTareaPorId("100").get().getTitulo());
+        assertEquals(1_005, gestor.obtenerTodasLasTareas().size());
+        assertIndicePrioridadConsistente(gestor);
+    }
+
+    @Test
+    @DisplayName("Crear tareas en bloque desde un stream de varios lotes")
+    void crearTareas_desdeStreamGrande_procesaPorLotes() {
+        int total = 150_000;
+        ResultadoImportacion resultado = gestor.crearTareas(IntStream.range(0, total)
+                .mapToObj(i -> new DatosTarea(String.valueOf(1_000_000 + (i % 100_000)), "T" + i, "D", Prioridad.baja, fechaPasadaManana)));
+        // Los IDs se repiten a partir de la posición 100.000, en lotes distintos
+        assertEquals(100_000, resultado.getAceptadas());
+        assertEquals(50_000, resultado.getRechazadas());
+        assertEquals(100_000L, resultado.getRechazos().get(0).getPosicion());
+        assertEquals(100_005, gestor.obtenerTodasLasTareas().size());
+    }
+
+    // --- Cambios de estado en lote ---
+
+    @Test
+    @DisplayName("Cambiar estados en lote informa el resultado de cada tarea sin lanzar excepciones")
+    void actualizarEstados_resultadoPorTarea() {
+        List<String> eventos = new ArrayList<>();
+        gestor.agregarOyente(new OyenteTareas() {
+            @Override
+            public void estadoCambiado(Tarea tarea, EstadoTarea anterior, EstadoTarea nuevo) {
+                eventos.add(tarea.getId() + " " + anterior + "->" + nuevo);
+            }
+        });
+        Map<String, EstadoTarea> cambios = new LinkedHashMap<>();
+        cambios.put("100", EstadoTarea.En_progreso);
+        cambios.put("101", EstadoTarea.Completada);
+        cambios.put("102", EstadoTarea.Pendiente);
+        cambios.put("999", EstadoTarea.En_progreso);
+        cambios.put("abc", EstadoTarea.En_progreso);
+
+        Map<String, ResultadoCambioEstado> resultados = gestor.actualizarEstados(cambios);
+
+        assertEquals(List.of("100", "101", "102", "999", "abc"), new ArrayList<>(resultados.keySet()));
+        assertEquals(List.of(ResultadoCambioEstado.APLICADO, ResultadoCambioEstado.TRANSICION_NO_VALIDA,
+                ResultadoCambioEstado.APLICADO, ResultadoCambioEstado.NO_ENCONTRADA, ResultadoCambioEstado.NO_ENCONTRADA),
+                new ArrayList<>(resultados.values()));
+        assertEquals(EstadoTarea.En_progreso, gestor.buscarTareaPorId("100").get().getEstado());
+        assertEquals(EstadoTarea.Pendiente, gestor.buscarTareaPorId("101").get().getEstado());
+        assertEquals(List.of("100 Pendiente->En_progreso"), eventos);
+        assertEquals(gestor.calcularEstadisticasRecorriendo(), gestor.obtenerEstadisticas());
+    }
+
+    @Test
+    @DisplayName("Un lote grande mantiene contadores e índice por estado; un lote con nulos no aplica nada")
+    void actualizarEstados_loteGrande() {
+        Map<String, EstadoTarea> aEnProgreso = new HashMap<>();
+        Map<String, EstadoTarea> aCompletada = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            String id = String.valueOf(10_000 + i);
+            gestor.crearTarea(id, "T", "D", Prioridad.baja, i % 2 == 0 ? fechaHoy : fechaManana);
+            aEnProgreso.put(id, EstadoTarea.En_progreso);
+            if (i % 2 == 0) {
+                aCompletada.put(id, EstadoTarea.Completada);
+            }
+        }
+        assertTrue(gestor.actualizarEstados(aEnProgreso).values().stream().allMatch(r -> r == ResultadoCambioEstado.APLICADO));
+        assertTrue(gestor.actualizarEstados(aCompletada).values().stream().allMatch(r -> r == ResultadoCambioEstado.APLICADO));
+
+        assertEquals(gestor.calcularEstadisticasRecorriendo(), gestor.obtenerEstadisticas());
+        assertEquals(2_500, gestor.consulta().conEstado(EstadoTarea.Completada).contar());
+        assertEquals(2_500, gestor.consulta().conEstado(EstadoTarea.En_progreso).contar());
+
+        Map<String, EstadoTarea> conNulo = new HashMap<>();
+        conNulo.put("100", EstadoTarea.En_progreso);
+        conNulo.put("101", null);
+        assertThrows(IllegalArgumentException.class, () -> gestor.actualizarEstados(conNulo));
+        assertThrows(IllegalArgumentException.class, () -> gestor.actualizarEstados(null));
+        assertEquals(EstadoTarea.Pendiente, gestor.buscarTareaPorId("100").get().getEstado());
+    }
+
+    // --- Consultas sin construir listas ---
+
+    @Test
+    @DisplayName("Recorrer, contar y stream por prioridad coinciden con el listado")
+    void consultasPorPrioridad_sinLista_coincidenConListado() {
+        List<Tarea> recorridas = new ArrayList<>();
+        gestor.recorrerTareasPorPrioridad(Prioridad.alta, recorridas::add);
+
+        assertEquals(gestor.listarTareasPorPrioridad(Prioridad.alta), recorridas);
+        assertEquals(2, gestor.contarTareasPorPrioridad(Prioridad.alta));
+        assertEquals("100", gestor.streamTareasPorPrioridad(Prioridad.alta).findFirst().get().getId());
+        assertThrows(IllegalArgumentException.class, () -> gestor.contarTareasPorPrioridad(null));
+        assertThrows(IllegalArgumentException.class, () -> gestor.recorrerTareasPorPrioridad(Prioridad.alta, null));
+    }
+
+    @Test
+    @DisplayName("Las consultas paginadas devuelven solo la página pedida y en orden estable")
+    void consultasPaginadas_devuelvenLaPaginaPedida() {
+        for (int i = 0; i < 20; i++) {
+            gestor.crearTarea(String.valueOf(200 + i), "Media " + i, "Desc", Prioridad.media, fechaManana);
+        }
+        List<Tarea> todas = gestor.listarTareasPorPrioridad(Prioridad.media);
+
+        assertEquals(todas.subList(5, 10), gestor.listarTareasPorPrioridad(Prioridad.media, 5, 5));
+        assertEquals(todas.subList(20, 22), gestor.listarTareasPorPrioridad(Prioridad.media, 20, 10));
+        assertTrue(gestor.listarTareasPorPrioridad(Prioridad.media, 100, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> gestor.listarTareasPorPrioridad(Prioridad.media, -1, 5));
+        assertThrows(IllegalArgumentException.class, () -> gestor.obtenerTareas(0, -1));
+        assertEquals(25, gestor.contarTareas());
+        assertEquals(10, gestor.obtenerTareas(15, 100).size());
+    }
+
+    @Test
+    @DisplayName("Las consultas de próximas a vencer sin lista respetan el orden por fecha")
+    void consultasProximasAVencer_sinLista_ordenPorFecha() {
+        List<Tarea> recorridas = new ArrayList<>();
+        gestor.recorrerTareasProximasAVencer(2, recorridas::add);
+
+        assertEquals(gestor.listarTareasProximasAVencer(2), recorridas);
+        assertEquals(4, gestor.contarTareasProximasAVencer(2));
+        assertEquals(List.of("101", "102"), gestor.listarTareasProximasAVencer(2, 2, 10).stream()
+                .map(Tarea::getId).collect(Collectors.toList()));
+        assertEquals("103", gestor.streamTareasProximasAVencer(7).skip(4).findFirst().get().getId());
+        assertEquals(5, gestor.streamTareas().count());
+        assertThrows(IllegalArgumentException.class, () -> gestor.contarTareasProximasAVencer(-1));
+    }
+
+    // --- Estadísticas ---
+
+    @Test
+    @DisplayName("Las estadísticas se mantienen con altas y cambios de estado")
+    void obtenerEstadisticas_reflejaAltasYCambiosDeEstado() {
+        gestor.actualizarEstadoTarea("100", EstadoTarea.En_progreso);
+        gestor.buscarTareaPorId("101").get().setEstado(EstadoTarea.En_progreso);
+        gestor.actualizarEstadoTarea("101", EstadoTarea.Completada);
+        gestor.crearTareas(List.of(new DatosTarea("105", "Bloque", "Desc", Prioridad.baja, fechaManana)));
+
+        EstadisticasTareas estadisticas = gestor.obtenerEstadisticas();
+
+        assertEquals(6, estadisticas.getTotal());
+        assertEquals(2, estadisticas.getPorPrioridad(Prioridad.alta));
+        assertEquals(2, estadisticas.getPorPrioridad(Prioridad.media));
+        assertEquals(2, estadisticas.getPorPrioridad(Prioridad.baja));
+        assertEquals(4, estadisticas.getPorEstado(EstadoTarea.Pendiente));
+        assertEquals(1, estadisticas.getPorEstado(EstadoTarea.En_progreso));
+        assertEquals(1, estadisticas.getPorEstado(EstadoTarea.Completada));
+        assertEquals(0, estadisticas.getVencidas());
+        assertEquals(gestor.calcularEstadisticasRecorriendo(), estadisticas);
+        assertEquals(2, gestor.contarTareasPorPrioridad(Prioridad.baja));
+    }
+
+    @Test
+    @DisplayName("Las tareas vencidas cuentan mientras no estén completadas")
+    void obtenerEstadisticas_cuentaVencidasNoCompletadas() {
+        LocalDate ayer = fechaHoy.minusDays(1);
+        gestor.restaurarTarea(Tarea.restaurar("900", 900, "Vencida", "Desc", Prioridad.alta, ayer, EstadoTarea.Pendiente));
+        gestor.restaurarTarea(Tarea.restaurar("901", 901, "Vencida", "Desc", Prioridad.alta, ayer.minusDays(5), EstadoTarea.En_progreso));
+        gestor.restaurarTarea(Tarea.restaurar("902", 902, "Vencida hecha", "Desc", Prioridad.alta, ayer, EstadoTarea.Completada));
+        assertEquals(2, gestor.obtenerEstadisticas().getVencidas());
+
+        gestor.actualizarEstadoTarea("901", EstadoTarea.Completada);
+        gestor.restaurarEstado(900, EstadoTarea.Completada);
+
+        assertEquals(0, gestor.obtenerEstadisticas().getVencidas());
+        assertEquals(gestor.calcularEstadisticasRecorriendo(), gestor.obtenerEstadisticas());
+    }
+
+    // --- Consultas por filtro en paralelo ---
+
+    @Test
+    @DisplayName("Filtrar en paralelo devuelve lo mismo que en secuencial, ordenado por ID")
+    void filtrarTareas_paraleloYSecuencial_mismoResultadoOrdenado() {
+        for (int i = 0; i < 5_000; i++) {
+            gestor.crearTarea(String.valueOf(1_000 + i), "T" + i, "D", Prioridad.values()[i % 3], fechaHoy.plusDays(i % 30));
+            if (i % 4 == 0) {
+                gestor.actualizarEstadoTarea(String.valueOf(1_000 + i), EstadoTarea.En_progreso);
+            }
+        }
+        Predicate<Tarea> filtro = t -> t.getPrioridad() == Prioridad.alta
+                && t.getEstado() == EstadoTarea.En_progreso
+                && t.getFechaVencimiento().isBefore(fechaHoy.plusDays(10));
+
+        List<Tarea> secuencial = gestor.filtrarTareas(filtro);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            gestor.configurarConsultasParalelas(pool, 0);
+            List<Tarea> paralelo = gestor.filtrarTareas(filtro);
+
+            assertEquals(secuencial, paralelo);
+            // En los dos modos la lista es de solo lectura
+            Tarea cualquiera = secuencial.get(0);
+            assertThrows(UnsupportedOperationException.class, () -> secuencial.add(cualquiera));
+            assertThrows(UnsupportedOperationException.class, () -> paralelo.add(cualquiera));
+            assertThrows(UnsupportedOperationException.class, () -> paralelo.set(0, cualquiera));
+            assertEquals(paralelo.size(), gestor.contarTareas(filtro));
+            assertEquals(gestor.obtenerTodasLasTareas().stream().filter(filtro).count(), paralelo.size());
+            for (int i = 1; i < paralelo.size(); i++) {
+                assertTrue(paralelo.get(i - 1).getIdNumerico() < paralelo.get(i).getIdNumerico());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> gestor.filtrarTareas(null));
+        assertThrows(IllegalArgumentException.class, () -> gestor.configurarConsultasParalelas(null, 0));
+    }
+
+    @Test
+    @DisplayName("Por debajo del umbral el filtro se evalúa entero en el hilo que llama, sin usar ningún pool")
+    void filtrarTareas_bajoUmbral_enElHiloQueLlama() {
+        for (int i = 0; i < 2_000; i++) {
+            gestor.crearTarea(String.valueOf(1_000 + i), "T" + i, "D", Prioridad.values()[i % 3], fechaManana);
+        }
+        Set<Thread> hilos = ConcurrentHashMap.newKeySet();
+        Predicate<Tarea> filtro = t -> {
+            hilos.add(Thread.currentThread());
+            return t.getPrioridad() == Prioridad.alta;
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            gestor.configurarConsultasParalelas(pool, Integer.MAX_VALUE);
+            List<Tarea> altas = gestor.filtrarTareas(filtro);
+            assertEquals(gestor.listarTareasPorPrioridad(Prioridad.alta).size(), altas.size());
+            for (int i = 1; i < altas.size(); i++) {
+                assertTrue(altas.get(i - 1).getIdNumerico() < altas.get(i).getIdNumerico());
+            }
+            assertEquals(altas.size(), gestor.contarTareas(filtro));
+            assertEquals(Set.of(Thread.currentThread()), hilos);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // --- Búsqueda por texto ---
+
+    private List<String> idsDe(List<Tarea> tareas) {
+        return tareas.stream().map(Tarea::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("La búsqueda por texto ignora mayúsculas y tildes y combina AND y OR")
+    void buscarTareasPorTexto_andOrSinTildes() {
+        gestor.crearTarea("200", "Revisión del INFORME anual", "Enviar al cliente", Prioridad.alta, fechaManana);
+        gestor.crearTarea("201", "Informe trimestral", "Revisar cifras", Prioridad.media, fechaManana);
+        gestor.crearTarea("202", "Facturación", "Cliente nuevo: ñandú S.A.", Prioridad.baja, fechaManana);
+
+        assertEquals(List.of("200", "201"), idsDe(gestor.buscarTareasPorTexto("informe")));
+        assertEquals(List.of("200"), idsDe(gestor.buscarTareasPorTexto("Informe CLIENTE")));
+        assertEquals(List.of("200"), idsDe(gestor.buscarTareasPorTexto("revision")));
+        assertEquals(List.of("202"), idsDe(gestor.buscarTareasPorTexto("nandu facturacion")));
+        assertEquals(List.of("201", "202"), idsDe(gestor.buscarTareasPorTexto("trimestral OR ñandú")));
+        assertTrue(gestor.buscarTareasPorTexto("informe factura").isEmpty());
+    }
+
+    @Test
+    @DisplayName("La búsqueda por prefijo y el orden por número de coincidencias")
+    void buscarTareasPorTexto_prefijoYOrdenPorCoincidencias() {
+        gestor.crearTarea("300", "Factura enero", "Pendiente de pago", Prioridad.alta, fechaManana);
+        gestor.crearTarea("301", "Facturación febrero", "Factura emitida y pagada", Prioridad.alta, fechaManana);
+        gestor.crearTarea("302", "Pago proveedores", "Sin factura", Prioridad.alta, fechaManana);
+
+        assertEquals(List.of("300", "301", "302"), idsDe(gestor.buscarTareasPorTexto("factur*")));
+        // 301 contiene las tres palabras; 300 y 302 solo "factura" y empatan, así que decide el orden de alta
+        assertEquals(List.of("301", "300", "302"), idsDe(gestor.buscarTareasPorTexto("febrero OR pagad* OR factura")));
+        assertEquals(List.of("301"), idsDe(gestor.buscarTareasPorTexto("febrero OR pagad* OR factura", 1)));
+        assertThrows(IllegalArgumentException.class, () -> gestor.buscarTareasPorTexto("  , ; "));
+        assertThrows(IllegalArgumentException.class, () -> gestor.buscarTareasPorTexto(null));
+    }
+
+    @Test
+    @DisplayName("La búsqueda combina términos frecuentes (mapa de bits) y poco frecuentes")
+    void buscarTareasPorTexto_terminosFrecuentes() {
+        for (int i = 0; i < 3000; i++) {
+            String descripcion = i % 1000 == 7 ? "revisar urgente" : "revisar lote " + (i % 3);
+            gestor.crearTarea(String.valueOf(1000 + i), "Trabajo " + i, descripcion, Prioridad.media, fechaManana);
+        }
+
+        assertEquals(List.of("1007", "2007", "3007"), idsDe(gestor.buscarTareasPorTexto("urgente revisar trabajo")));
+        assertEquals(3000, gestor.buscarTareasPorTexto("revis*").size());
+        assertEquals(999, gestor.buscarTareasPorTexto("lote 2").size());
+        assertEquals(List.of("1007", "2007", "3007", "1000"), idsDe(gestor.buscarTareasPorTexto("urgente OR revisar", 4)));
+    }
+
+    @Test
+    @DisplayName("Con altas en paralelo, las búsquedas solo ven altas completas y al final están todas")
+    void buscarTareasPorTexto_altasConcurrentes() throws Exception {
+        int hilos = 4;
+        int porHilo = 2_000;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Future<?>> escritores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            escritores.add(ejecutor.submit(() -> {
+                for (int i = 0; i < porHilo; i++) {
+                    String descripcion = i % 10 == 0 ? "comun raro" : "comun";
+                    gestor.crearTarea(String.valueOf(10_000 * (hilo + 1) + i), "Hilo " + hilo, descripcion, Prioridad.media, fechaManana);
+                }
+            }));
+        }
+        int anteriores = 0;
+        while (!escritores.stream().allMatch(Future::isDone)) {
+            List<Tarea> raras = gestor.buscarTareasPorTexto("raro comun");
+            assertTrue(raras.size() >= anteriores);
+            assertTrue(raras.stream().allMatch(t -> Integer.parseInt(t.getId()) % 10 == 0));
+            assertTrue(gestor.buscarTareasPorTexto("comun").size() >= raras.size());
+            anteriores = raras.size();
+        }
+        for (Future<?> escritor : escritores) {
+            escritor.get();
+        }
+        ejecutor.shutdown();
+
+        assertEquals(hilos * porHilo, gestor.buscarTareasPorTexto("comun").size());
+        assertEquals(hilos * porHilo / 10, gestor.buscarTareasPorTexto("raro").size());
+        assertEquals(porHilo, gestor.buscarTareasPorTexto("hilo 2").size());
+        assertEquals(hilos * porHilo, gestor.buscarTareasPorTexto("com* OR ra*").size());
+    }
 }
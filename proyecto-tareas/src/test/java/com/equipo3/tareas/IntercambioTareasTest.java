@@ -0,0 +1,154 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntercambioTareasTest {
+
+    @TempDir
+    Path directorio;
+
+    private final LocalDate manana = LocalDate.now().plusDays(1);
+
+    private GestorTareas gestorDeEjemplo() {
+        GestorTareas gestor = new GestorTareas();
+        gestor.crearTarea("1", "Simple", "Sin nada especial", Prioridad.alta, manana);
+        gestor.crearTarea("2", "Con, coma", "Dice \"hola\"\ny salta de línea", Prioridad.media, manana.plusDays(2));
+        gestor.crearTarea("3", "Barra \\ y tab\t", "ñandú", Prioridad.baja, manana);
+        gestor.actualizarEstadoTarea("2", EstadoTarea.En_progreso);
+        gestor.actualizarEstadoTarea("3", EstadoTarea.En_progreso);
+        gestor.actualizarEstadoTarea("3", EstadoTarea.Completada);
+        return gestor;
+    }
+
+    private static void assertMismasTareas(GestorTareas esperado, GestorTareas obtenido) {
+        assertEquals(esperado.obtenerTodasLasTareas().size(), obtenido.obtenerTodasLasTareas().size());
+        for (Tarea tarea : esperado.obtenerTodasLasTareas()) {
+            Tarea copia = obtenido.buscarTareaPorId(tarea.getId()).orElseThrow();
+            assertEquals(tarea.getTitulo(), copia.getTitulo());
+            assertEquals(tarea.getDescripcion(), copia.getDescripcion());
+            assertEquals(tarea.getPrioridad(), copia.getPrioridad());
+            assertEquals(tarea.getFechaVencimiento(), copia.getFechaVencimiento());
+            assertEquals(tarea.getEstado(), copia.getEstado());
+        }
+    }
+
+    @Test
+    @DisplayName("Exportar e importar en CSV conserva todas las tareas, incluidos campos con comas, comillas y saltos de línea")
+    void csv_idaYVuelta() throws IOException {
+        GestorTareas original = gestorDeEjemplo();
+        Path archivo = directorio.resolve("tareas.csv");
+
+        assertEquals(3, IntercambioTareas.exportar(original, archivo, FormatoIntercambio.CSV));
+        GestorTareas importado = new GestorTareas();
+        ResultadoImportacion resultado = IntercambioTareas.importar(importado, archivo, FormatoIntercambio.CSV);
+
+        assertEquals(3, resultado.getAceptadas());
+        assertEquals(0, resultado.getRechazadas());
+        assertMismasTareas(original, importado);
+    }
+
+    @Test
+    @DisplayName("Exportar e importar en NDJSON conserva todas las tareas")
+    void ndjson_idaYVuelta() throws IOException {
+        GestorTareas original = gestorDeEjemplo();
+        Path archivo = directorio.resolve("tareas.ndjson");
+
+        assertEquals(3, IntercambioTareas.exportar(original, archivo, FormatoIntercambio.NDJSON));
+        assertEquals(3, Files.readAllLines(archivo, StandardCharsets.UTF_8).size());
+        GestorTareas importado = new GestorTareas();
+        ResultadoImportacion resultado = IntercambioTareas.importar(importado, archivo, FormatoIntercambio.NDJSON);
+
+        assertEquals(3, resultado.getAceptadas());
+        assertMismasTareas(original, importado);
+    }
+
+    @Test
+    @DisplayName("Los registros erróneos se informan con su número de línea y no detienen la importación")
+    void csv_erroresConNumeroDeLinea() throws IOException {
+        Path archivo = directorio.resolve("errores.csv");
+        Files.write(archivo, List.of(
+                "id,titulo,descripcion,prioridad,fechaVencimiento,estado",
+                "10,Buena,Desc,alta," + manana + ",",
+                "11,\"Título en",
+                "dos líneas\",Desc,media," + manana + ",En_progreso",
+                "12,Mala prioridad,Desc,urgente," + manana + ",",
+                "13,Mala fecha,Desc,alta,mañana,",
+                "10,Repetida,Desc,alta," + manana + ",",
+                "14,Faltan campos",
+                "15,Vencida,Desc,baja," + manana.minusDays(3) + ","), StandardCharsets.UTF_8);
+
+        GestorTareas gestor = new GestorTareas();
+        ResultadoImportacion resultado = IntercambioTareas.importar(gestor, archivo, FormatoIntercambio.CSV);
+
+        assertEquals(2, resultado.getAceptadas());
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L),
+                resultado.getRechazos().stream().map(ResultadoImportacion.Rechazo::getPosicion).collect(Collectors.toList()));
+        assertTrue(resultado.getRechazos().get(0).getMotivo().contains("urgente"));
+        assertEquals("Título en\ndos líneas", gestor.buscarTareaPorId("11").get().getTitulo());
+        assertEquals(EstadoTarea.En_progreso, gestor.buscarTareaPorId("11").get().getEstado());
+    }
+
+    @Test
+    @DisplayName("Una línea NDJSON mal formada se rechaza con su número de línea")
+    void ndjson_lineaMalFormada() throws IOException {
+        Path archivo = directorio.resolve("errores.ndjson");
+        Files.write(archivo, List.of(
+                "{\"id\":\"1\",\"titulo\":\"T\",\"descripcion\":\"D\",\"prioridad\":\"alta\",\"fechaVencimiento\":\"" + manana + "\"}",
+                "",
+                "{\"id\":\"2\",\"titulo\":\"T\"",
+                "{\"id\":\"3\",\"titulo\":\"T\",\"descripcion\":\"D\",\"prioridad\":\"baja\",\"fechaVencimiento\":\"" + manana + "\"}"),
+                StandardCharsets.UTF_8);
+
+        GestorTareas gestor = new GestorTareas();
+        ResultadoImportacion resultado = IntercambioTareas.importar(gestor, archivo, FormatoIntercambio.NDJSON);
+
+        assertEquals(2, resultado.getAceptadas());
+        assertEquals(1, resultado.getRechazadas());
+        assertEquals(3L, resultado.getRechazos().get(0).getPosicion());
+    }
+
+    @Test
+    @DisplayName("Una importación grande guarda solo los primeros rechazos, los cuenta todos y entrega cada uno en orden")
+    void importacionGrande_rechazosAcotados() throws IOException {
+        Path archivo = directorio.resolve("grande.csv");
+        List<String> lineas = new ArrayList<>();
+        lineas.add(String.join(",", IntercambioTareas.COLUMNAS));
+        EstadoTarea[] estados = EstadoTarea.values();
+        for (int i = 0; i < 25_000; i++) {
+            String prioridad = i % 5 == 0 ? "urgente" : "media";
+            lineas.add(i + ",Tarea " + i + ",Desc," + prioridad + "," + manana + "," + estados[i % 3]);
+        }
+        Files.write(archivo, lineas, StandardCharsets.UTF_8);
+
+        GestorTareas gestor = new GestorTareas();
+        List<Long> lineasRechazadas = new ArrayList<>();
+        ResultadoImportacion resultado = IntercambioTareas.importar(gestor, archivo, FormatoIntercambio.CSV,
+                rechazo -> lineasRechazadas.add(rechazo.getPosicion()));
+
+        assertEquals(20_000, resultado.getAceptadas());
+        assertEquals(5_000, resultado.getRechazadas());
+        assertEquals(IntercambioTareas.MAXIMO_RECHAZOS_GUARDADOS, resultado.getRechazos().size());
+        assertEquals(5_000, lineasRechazadas.size());
+        for (int i = 0; i < lineasRechazadas.size(); i++) {
+            assertEquals(2L + 5L * i, lineasRechazadas.get(i));
+        }
+        assertEquals(lineasRechazadas.subList(0, IntercambioTareas.MAXIMO_RECHAZOS_GUARDADOS),
+                resultado.getRechazos().stream().map(ResultadoImportacion.Rechazo::getPosicion).collect(Collectors.toList()));
+        assertEquals(EstadoTarea.En_progreso, gestor.buscarTareaPorId("1").get().getEstado());
+        assertEquals(EstadoTarea.Completada, gestor.buscarTareaPorId("24998").get().getEstado());
+        assertEquals(EstadoTarea.Pendiente, gestor.buscarTareaPorId("24996").get().getEstado());
+    }
+}
@@ -0,0 +1,97 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OyenteTareasTest {
+
+    private final LocalDate manana = LocalDate.now().plusDays(1);
+
+    /** Oyente que anota cada evento como texto. */
+    private static final class OyenteAnotador implements OyenteTareas {
+        final List<String> eventos = new ArrayList<>();
+
+        @Override
+        public void tareaCreada(Tarea tarea) {
+            eventos.add("creada " + tarea.getId());
+        }
+
+        @Override
+        public void estadoCambiado(Tarea tarea, EstadoTarea anterior, EstadoTarea nuevo) {
+            eventos.add("estado " + tarea.getId() + " " + anterior + "->" + nuevo);
+        }
+
+        @Override
+        public void consultaRealizada(TipoConsulta consulta, int resultados) {
+            eventos.add(consulta + " " + resultados);
+        }
+    }
+
+    @Test
+    @DisplayName("El gestor publica altas, cambios de estado y consultas a sus oyentes")
+    void gestor_publicaEventos() {
+        GestorTareas gestor = new GestorTareas();
+        OyenteAnotador oyente = new OyenteAnotador();
+        gestor.agregarOyente(oyente);
+
+        gestor.crearTarea("1", "T", "D", Prioridad.alta, manana);
+        gestor.actualizarEstadoTarea("1", EstadoTarea.En_progreso);
+        gestor.buscarTareaPorId("1").get().setEstado(EstadoTarea.Completada);
+        gestor.listarTareasPorPrioridad(Prioridad.alta);
+        gestor.listarTareasProximasAVencer(0);
+        gestor.crearTareas(List.of(new DatosTarea("2", "T", "D", Prioridad.baja, manana)));
+
+        assertEquals(List.of(
+                "creada 1",
+                "estado 1 Pendiente->En_progreso",
+                "BUSCAR_POR_ID 1",
+                "estado 1 En_progreso->Completada",
+                "LISTAR_POR_PRIORIDAD 1",
+                "LISTAR_PROXIMAS_A_VENCER 0",
+                "creada 2"), oyente.eventos);
+    }
+
+    @Test
+    @DisplayName("Un oyente quitado deja de recibir eventos")
+    void quitarOyente_dejaDeRecibirEventos() {
+        GestorTareas gestor = new GestorTareas();
+        OyenteAnotador oyente = new OyenteAnotador();
+        gestor.agregarOyente(oyente);
+        gestor.agregarOyente(OyenteTareas.NINGUNO);
+
+        assertTrue(gestor.quitarOyente(oyente));
+        assertFalse(gestor.quitarOyente(oyente));
+        gestor.crearTarea("1", "T", "D", Prioridad.alta, manana);
+
+        assertTrue(oyente.eventos.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> gestor.agregarOyente(null));
+    }
+
+    @Test
+    @DisplayName("El oyente de consola asíncrono escribe todos los eventos al cerrarse")
+    void oyenteConsolaAsincrono_escribeEventosPendientes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GestorTareas gestor = new GestorTareas();
+        try (OyenteConsolaAsincrono oyente = new OyenteConsolaAsincrono(new PrintStream(bytes, true, StandardCharsets.UTF_8), 1024)) {
+            gestor.agregarOyente(oyente);
+            for (int i = 0; i < 100; i++) {
+                gestor.crearTarea(String.valueOf(i), "Tarea " + i, "D", Prioridad.media, manana);
+            }
+            gestor.actualizarEstadoTarea("7", EstadoTarea.En_progreso);
+        }
+
+        String texto = bytes.toString(StandardCharsets.UTF_8);
+        assertEquals(101, texto.lines().count());
+        assertTrue(texto.contains("Tarea creada exitosamente: Tarea 0 (ID: 0)"));
+        assertTrue(texto.contains("Estado de la tarea ID '7' actualizado a: En_progreso"));
+    }
+}
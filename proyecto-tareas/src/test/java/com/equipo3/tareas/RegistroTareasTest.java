@@ -0,0 +1,223 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistroTareasTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("Las altas y los cambios de estado se recuperan al reabrir el registro")
+    void reabrir_recuperaTareasYEstados() throws IOException {
+        Path archivo = directorio.resolve("tareas.wal");
+        LocalDate manana = LocalDate.now().plusDays(1);
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas gestor = new GestorTareas(registro);
+            gestor.crearTarea("1", "Título 1", "Descripción con acentos: ñandú", Prioridad.alta, manana);
+            gestor.crearTarea("2", "Título 2", "Desc 2", Prioridad.baja, manana.plusDays(3));
+            gestor.crearTarea("3", "Título 3", "Desc 3", Prioridad.media, manana);
+            gestor.actualizarEstadoTarea("1", EstadoTarea.En_progreso);
+            gestor.actualizarEstadoTarea("1", EstadoTarea.Completada);
+            // Un cambio hecho directamente sobre la tarea también debe quedar registrado
+            gestor.buscarTareaPorId("2").get().setEstado(EstadoTarea.En_progreso);
+        }
+
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas recuperado = new GestorTareas(registro);
+            assertEquals(3, recuperado.obtenerTodasLasTareas().size());
+            Tarea tarea1 = recuperado.buscarTareaPorId("1").get();
+            assertEquals("Descripción con acentos: ñandú", tarea1.getDescripcion());
+            assertEquals(EstadoTarea.Completada, tarea1.getEstado());
+            assertEquals(EstadoTarea.En_progreso, recuperado.buscarTareaPorId("2").get().getEstado());
+            assertEquals(EstadoTarea.Pendiente, recuperado.buscarTareaPorId("3").get().getEstado());
+            assertEquals(1, recuperado.listarTareasPorPrioridad(Prioridad.baja).size());
+            assertEquals(2, recuperado.listarTareasProximasAVencer(1).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Los cambios de estado en lote se recuperan al reabrir el registro")
+    void reabrir_recuperaCambiosEnLote() throws IOException {
+        Path archivo = directorio.resolve("tareas.wal");
+        LocalDate manana = LocalDate.now().plusDays(1);
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas gestor = new GestorTareas(registro);
+            gestor.crearTarea("1", "T", "D", Prioridad.alta, manana);
+            gestor.crearTarea("2", "T", "D", Prioridad.alta, manana);
+            gestor.actualizarEstados(Map.of("1", EstadoTarea.En_progreso, "2", EstadoTarea.En_progreso));
+            gestor.actualizarEstados(Map.of("1", EstadoTarea.Completada, "2", EstadoTarea.Pendiente));
+        }
+
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas recuperado = new GestorTareas(registro);
+            assertEquals(EstadoTarea.Completada, recuperado.buscarTareaPorId("1").get().getEstado());
+            assertEquals(EstadoTarea.En_progreso, recuperado.buscarTareaPorId("2").get().getEstado());
+        }
+    }
+
+    @Test
+    @DisplayName("Un último registro a medias se descarta y el registro sigue siendo utilizable")
+    void registroTruncado_seDescartaUltimoRegistro() throws IOException {
+        Path archivo = directorio.resolve("tareas.wal");
+        LocalDate manana = LocalDate.now().plusDays(1);
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas gestor = new GestorTareas(registro);
+            gestor.crearTarea("10", "Primera", "Desc", Prioridad.alta, manana);
+            gestor.crearTarea("11", "Segunda", "Desc", Prioridad.alta, manana);
+        }
+        // Simula una caída a mitad de escribir el segundo registro
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 5);
+        }
+
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas recuperado = new GestorTareas(registro);
+            assertTrue(recuperado.buscarTareaPorId("10").isPresent());
+            assertFalse(recuperado.buscarTareaPorId("11").isPresent());
+            recuperado.crearTarea("12", "Tercera", "Desc", Prioridad.media, manana);
+        }
+
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas recuperado = new GestorTareas(registro);
+            assertEquals(2, recuperado.obtenerTodasLasTareas().size());
+            assertTrue(recuperado.buscarTareaPorId("12").isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Un registro con basura al final (CRC inválido) se trunca al último registro válido")
+    void registroConBasura_seTruncaAlUltimoValido() throws IOException {
+        Path archivo = directorio.resolve("tareas.wal");
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            new GestorTareas(registro).crearTarea("20", "Única", "Desc", Prioridad.baja, LocalDate.now());
+        }
+        long tamanioValido = Files.size(archivo);
+        Files.write(archivo, new byte[] {0, 0, 0, 4, 1, 2, 3, 4, 9, 9, 9, 9}, StandardOpenOption.APPEND);
+
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            assertEquals(tamanioValido, registro.posicion());
+            assertEquals(1, new GestorTareas(registro).obtenerTodasLasTareas().size());
+        }
+        assertEquals(tamanioValido, Files.size(archivo));
+    }
+
+    @Test
+    @DisplayName("Con sincronización periódica los datos quedan en el registro al cerrarlo")
+    void sincronizacionPeriodica_conservaDatosAlCerrar() throws IOException {
+        Path archivo = directorio.resolve("tareas.wal");
+        try (RegistroTareas registro = new RegistroTareas(archivo, 5)) {
+            GestorTareas gestor = new GestorTareas(registro);
+            for (int i = 0; i < 500; i++) {
+                gestor.crearTarea(String.valueOf(i), "T" + i, "D" + i, Prioridad.media, LocalDate.now());
+            }
+        }
+        try (RegistroTareas registro = new RegistroTareas(archivo, 5)) {
+            assertEquals(500, new GestorTareas(registro).obtenerTodasLasTareas().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Una tarea que no cabe en un registro se rechaza antes de publicarla o escribirla")
+    void tareaDemasiadoGrande_seRechaza() throws IOException {
+        Path archivo = directorio.resolve("tareas.wal");
+        LocalDate manana = LocalDate.now().plusDays(1);
+        String enorme = "x".repeat(16 * 1024 * 1024);
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas gestor = new GestorTareas(registro);
+            gestor.crearTarea("1", "Antes", "D", Prioridad.alta, manana);
+            long posicion = registro.posicion();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> gestor.crearTarea("2", "Enorme", enorme, Prioridad.alta, manana));
+            assertEquals(CodigoValidacion.DATOS_DEMASIADO_GRANDES.getMensaje(), e.getMessage());
+            assertEquals(CodigoValidacion.DATOS_DEMASIADO_GRANDES,
+                    gestor.intentarCrearTarea("2", "Enorme", enorme, Prioridad.alta, manana));
+            ResultadoImportacion resultado = gestor.crearTareas(List.of(
+                    new DatosTarea("3", "Enorme", enorme, Prioridad.alta, manana),
+                    new DatosTarea("4", "Después", "D", Prioridad.alta, manana)));
+            assertEquals(1, resultado.getAceptadas());
+            assertEquals(CodigoValidacion.DATOS_DEMASIADO_GRANDES.getMensaje(), resultado.getRechazos().get(0).getMotivo());
+            assertFalse(gestor.buscarTareaPorId("2").isPresent());
+            assertFalse(gestor.buscarTareaPorId("3").isPresent());
+            assertTrue(registro.posicion() - posicion < 1024);
+        }
+
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas recuperado = new GestorTareas(registro);
+            assertEquals(2, recuperado.obtenerTodasLasTareas().size());
+            assertTrue(recuperado.buscarTareaPorId("4").isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Si no se puede escribir el alta en el registro, la tarea no se publica ni se avisa")
+    void altaNoRegistrada_noSePublica() throws IOException {
+        Path archivo = directorio.resolve("tareas.wal");
+        LocalDate manana = LocalDate.now().plusDays(1);
+        RegistroTareas registro = new RegistroTareas(archivo);
+        GestorTareas gestor = new GestorTareas(registro);
+        List<Tarea> avisadas = new ArrayList<>();
+        gestor.agregarOyente(new OyenteTareas() {
+            @Override
+            public void tareaCreada(Tarea tarea) {
+                avisadas.add(tarea);
+            }
+        });
+        gestor.crearTarea("1", "Registrada", "D", Prioridad.alta, manana);
+        // Con el canal cerrado la escritura falla y el registro queda inutilizable
+        registro.close();
+
+        assertThrows(UncheckedIOException.class, () -> gestor.crearTarea("2", "Sin registrar", "D", Prioridad.alta, manana));
+        List<DatosTarea> lote = List.of(new DatosTarea("3", "Lote", "D", Prioridad.baja, manana));
+        assertThrows(UncheckedIOException.class, () -> gestor.crearTareas(lote));
+        assertFalse(gestor.buscarTareaPorId("2").isPresent());
+        assertFalse(gestor.buscarTareaPorId("3").isPresent());
+        assertEquals(1, gestor.contarTareas());
+        assertEquals(1, gestor.listarTareasPorPrioridad(Prioridad.alta).size());
+        assertEquals(List.of("1"), avisadas.stream().map(Tarea::getId).toList());
+
+        // Al recuperar solo está la tarea registrada, y el ID de la fallida sigue libre
+        try (RegistroTareas otro = new RegistroTareas(archivo)) {
+            GestorTareas recuperado = new GestorTareas(otro);
+            assertEquals(1, recuperado.contarTareas());
+            recuperado.crearTarea("2", "Ahora sí", "D", Prioridad.alta, manana);
+        }
+    }
+
+    @Test
+    @DisplayName("Un registro dañado en mitad del archivo se informa en lugar de truncar los posteriores")
+    void registroDanadoEnMedio_fallaSinTruncar() throws IOException {
+        Path archivo = directorio.resolve("tareas.wal");
+        try (RegistroTareas registro = new RegistroTareas(archivo)) {
+            GestorTareas gestor = new GestorTareas(registro);
+            for (int i = 0; i < 3; i++) {
+                gestor.crearTarea(String.valueOf(i), "Tarea " + i, "Desc", Prioridad.baja, LocalDate.now());
+            }
+        }
+        long tamanio = Files.size(archivo);
+        // Un byte cambiado dentro de los datos del primer registro: su CRC deja de coincidir
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), 12);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> new RegistroTareas(archivo));
+        assertTrue(e.getMessage().contains("posición 0"), e.getMessage());
+        assertEquals(tamanio, Files.size(archivo));
+    }
+}
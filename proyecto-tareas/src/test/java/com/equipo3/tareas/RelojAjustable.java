@@ -0,0 +1,35 @@
+package com.equipo3.tareas;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/** Reloj en UTC que solo avanza cuando la prueba lo pide. */
+final class RelojAjustable extends Clock {
+    private volatile Instant ahora;
+
+    RelojAjustable(Instant ahora) {
+        this.ahora = ahora;
+    }
+
+    void avanzar(Duration duracion) {
+        ahora = ahora.plus(duracion);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zona) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+        return ahora;
+    }
+}
@@ -0,0 +1,129 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServidorTareasTest {
+
+    private final LocalDate manana = LocalDate.now().plusDays(1);
+    private final HttpClient cliente = HttpClient.newHttpClient();
+    private GestorTareas gestor;
+    private ServidorTareas servidor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gestor = new GestorTareas();
+        servidor = new ServidorTareas(gestor, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.close();
+    }
+
+    private HttpResponse<String> enviar(String metodo, String ruta, String cuerpo) throws IOException, InterruptedException {
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + servidor.getPuerto() + ruta))
+                .method(metodo, cuerpo == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+        return cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String json(String id, String prioridad) {
+        return "{\"id\":\"" + id + "\",\"titulo\":\"Título " + id + "\",\"descripcion\":\"D\",\"prioridad\":\""
+                + prioridad + "\",\"fechaVencimiento\":\"" + manana + "\"}";
+    }
+
+    @Test
+    @DisplayName("Crear, consultar y cambiar el estado de una tarea por HTTP")
+    void crearBuscarYActualizar() throws Exception {
+        HttpResponse<String> creada = enviar("POST", "/tareas", json("1", "alta"));
+        assertEquals(201, creada.statusCode());
+        assertTrue(creada.body().contains("\"titulo\":\"Título 1\""));
+        assertTrue(gestor.buscarTareaPorId("1").isPresent());
+
+        HttpResponse<String> encontrada = enviar("GET", "/tareas/1", null);
+        assertEquals(200, encontrada.statusCode());
+        assertTrue(encontrada.body().contains("\"estado\":\"Pendiente\""));
+
+        HttpResponse<String> actualizada = enviar("PUT", "/tareas/1/estado", "{\"estado\":\"En_progreso\"}");
+        assertEquals(200, actualizada.statusCode());
+        assertTrue(actualizada.body().contains("\"estado\":\"En_progreso\""));
+        assertEquals(EstadoTarea.En_progreso, gestor.buscarTareaPorId("1").get().getEstado());
+
+        assertEquals(404, enviar("GET", "/tareas/99", null).statusCode());
+        assertEquals(404, enviar("PUT", "/tareas/99/estado", "{\"estado\":\"Completada\"}").statusCode());
+    }
+
+    @Test
+    @DisplayName("Los errores de validación responden 400 con el mensaje del gestor")
+    void errores() throws Exception {
+        enviar("POST", "/tareas", json("1", "alta"));
+
+        HttpResponse<String> duplicada = enviar("POST", "/tareas", json("1", "alta"));
+        assertEquals(400, duplicada.statusCode());
+        assertTrue(duplicada.body().contains("Ya existe una tarea con el ID: 1"));
+        assertEquals(400, enviar("POST", "/tareas", json("2", "urgente")).statusCode());
+        assertEquals(400, enviar("POST", "/tareas", "{no es json").statusCode());
+        assertEquals(400, enviar("PUT", "/tareas/1/estado", "{\"estado\":\"Completada\"}").statusCode());
+        assertEquals(400, enviar("GET", "/tareas", null).statusCode());
+        assertEquals(405, enviar("DELETE", "/tareas/1", null).statusCode());
+        assertEquals(404, enviar("GET", "/tareasx", null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Listar por prioridad y próximas a vencer con paginación, con peticiones concurrentes")
+    void listarConPeticionesConcurrentes() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> altas = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + servidor.getPuerto() + "/tareas"))
+                    .POST(HttpRequest.BodyPublishers.ofString(json(String.valueOf(i), i % 2 == 0 ? "alta" : "baja")))
+                    .build();
+            altas.add(cliente.sendAsync(peticion, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> alta : altas) {
+            assertEquals(201, alta.join().statusCode());
+        }
+        assertEquals(200, gestor.contarTareas());
+
+        HttpResponse<String> altasListadas = enviar("GET", "/tareas?prioridad=ALTA&limite=500", null);
+        assertEquals(200, altasListadas.statusCode());
+        assertEquals(100, altasListadas.body().split("\"id\":").length - 1);
+
+        HttpResponse<String> pagina = enviar("GET", "/tareas?proximasDias=1&desplazamiento=190&limite=50", null);
+        assertEquals(200, pagina.statusCode());
+        assertEquals(10, pagina.body().split("\"id\":").length - 1);
+        assertEquals("[]", enviar("GET", "/tareas?proximasDias=0", null).body());
+    }
+
+    @Test
+    @DisplayName("Un fallo inesperado del gestor responde 500 y el servidor sigue atendiendo")
+    void errorInterno() throws Exception {
+        gestor.agregarOyente(new OyenteTareas() {
+            @Override
+            public void tareaCreada(Tarea tarea) {
+                throw new IllegalStateException("Fallo del oyente");
+            }
+        });
+        HttpResponse<String> fallida = enviar("POST", "/tareas", json("1", "alta"));
+        assertEquals(500, fallida.statusCode());
+        assertEquals("{\"error\":\"Error interno del servidor.\"}", fallida.body());
+
+        assertEquals(200, enviar("GET", "/tareas/1", null).statusCode());
+    }
+}
@@ -0,0 +1,106 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotTareasTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("Un gestor cargado desde la instantánea da los mismos resultados que el original")
+    void cargarSnapshot_mismosResultadosQueGestorVivo() throws Exception {
+        GestorTareas vivo = new GestorTareas();
+        LocalDate hoy = LocalDate.now();
+        for (int i = 0; i < 5_000; i++) {
+            Prioridad prioridad = Prioridad.values()[i % Prioridad.values().length];
+            vivo.crearTarea(String.valueOf(i), "Título " + i, "Descripción ñ " + i, prioridad, hoy.plusDays(i % 45));
+        }
+        for (int i = 0; i < 5_000; i += 3) {
+            vivo.actualizarEstadoTarea(String.valueOf(i), EstadoTarea.En_progreso);
+        }
+        Path snapshot = directorio.resolve("tareas.snap");
+        vivo.guardarSnapshotEnSegundoPlano(snapshot).get();
+
+        GestorTareas cargado = new GestorTareas(snapshot, null);
+        assertEquals(resumen(vivo.obtenerTodasLasTareas()), resumen(cargado.obtenerTodasLasTareas()));
+        for (Prioridad prioridad : Prioridad.values()) {
+            assertEquals(resumen(vivo.listarTareasPorPrioridad(prioridad)), resumen(cargado.listarTareasPorPrioridad(prioridad)));
+        }
+        for (int dias : new int[] {0, 7, 44}) {
+            assertEquals(resumen(vivo.listarTareasProximasAVencer(dias)), resumen(cargado.listarTareasProximasAVencer(dias)));
+        }
+    }
+
+    @Test
+    @DisplayName("Instantánea más registro: se recupera lo escrito después de la instantánea")
+    void snapshotYRegistro_recuperaCambiosPosteriores() throws IOException {
+        Path wal = directorio.resolve("tareas.wal");
+        Path snapshot = directorio.resolve("tareas.snap");
+        LocalDate manana = LocalDate.now().plusDays(1);
+        try (RegistroTareas registro = new RegistroTareas(wal)) {
+            GestorTareas gestor = new GestorTareas(snapshot, registro);
+            gestor.crearTarea("1", "Antes", "Desc", Prioridad.alta, manana);
+            gestor.guardarSnapshot(snapshot);
+            gestor.crearTarea("2", "Después", "Desc", Prioridad.baja, manana);
+            gestor.actualizarEstadoTarea("1", EstadoTarea.En_progreso);
+        }
+        try (RegistroTareas registro = new RegistroTareas(wal)) {
+            GestorTareas recuperado = new GestorTareas(snapshot, registro);
+            assertEquals(2, recuperado.obtenerTodasLasTareas().size());
+            assertEquals(EstadoTarea.En_progreso, recuperado.buscarTareaPorId("1").get().getEstado());
+            assertEquals("Después", recuperado.buscarTareaPorId("2").get().getTitulo());
+        }
+    }
+
+    @Test
+    @DisplayName("Varias instantáneas al mismo destino no se pisan el temporal, y un fallo llega al futuro")
+    void snapshotsEnSegundoPlano_concurrentesYFallo() throws Exception {
+        GestorTareas gestor = new GestorTareas();
+        LocalDate manana = LocalDate.now().plusDays(1);
+        for (int i = 0; i < 1_000; i++) {
+            gestor.crearTarea(String.valueOf(i), "Título " + i, "Desc", Prioridad.media, manana);
+        }
+        Path snapshot = directorio.resolve("tareas.snap");
+        CompletableFuture<Void> primera = gestor.guardarSnapshotEnSegundoPlano(snapshot);
+        gestor.guardarSnapshot(snapshot);
+        primera.get();
+        assertEquals(1_000, new GestorTareas(snapshot, null).contarTareas());
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(List.of(snapshot), archivos.collect(Collectors.toList()));
+        }
+
+        Path sinDirectorio = directorio.resolve("no-existe").resolve("tareas.snap");
+        ExecutionException fallo = assertThrows(ExecutionException.class,
+                () -> gestor.guardarSnapshotEnSegundoPlano(sinDirectorio).get());
+        assertInstanceOf(UncheckedIOException.class, fallo.getCause());
+    }
+
+    @Test
+    @DisplayName("Un archivo que no es una instantánea se rechaza")
+    void cargarSnapshot_archivoInvalido_debeFallar() throws IOException {
+        Path falso = directorio.resolve("falso.snap");
+        Files.write(falso, new byte[64]);
+        assertThrows(IOException.class, () -> new GestorTareas(falso, null));
+    }
+
+    private static Set<String> resumen(List<Tarea> tareas) {
+        return tareas.stream().map(Tarea::toString).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,103 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VigilanteVencimientosTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 10);
+
+    private static final class OyenteVencidas implements OyenteTareas {
+        final List<String> vencidas = new ArrayList<>();
+
+        @Override
+        public synchronized void tareaVencida(Tarea tarea) {
+            vencidas.add(tarea.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Cada tarea abierta se notifica una vez, justo al terminar su día de vencimiento")
+    void revisar_notificaAlVencer() {
+        RelojAjustable reloj = new RelojAjustable(DIA.atTime(12, 0).toInstant(ZoneOffset.UTC));
+        GestorTareas gestor = new GestorTareas(reloj);
+        OyenteVencidas oyente = new OyenteVencidas();
+        gestor.agregarOyente(oyente);
+        try (VigilanteVencimientos vigilante = new VigilanteVencimientos(gestor, false)) {
+            gestor.crearTarea("1", "Hoy", "D", Prioridad.alta, DIA);
+            gestor.crearTarea("2", "Mañana", "D", Prioridad.alta, DIA.plusDays(1));
+            gestor.crearTarea("3", "Mañana completada", "D", Prioridad.baja, DIA.plusDays(1));
+            gestor.actualizarEstadoTarea("3", EstadoTarea.En_progreso);
+            gestor.actualizarEstadoTarea("3", EstadoTarea.Completada);
+            assertEquals(2, vigilante.fechasPendientes());
+
+            reloj.avanzar(Duration.ofHours(11).plusMinutes(59));
+            assertEquals(0, vigilante.revisar());
+            reloj.avanzar(Duration.ofMinutes(1));
+            assertEquals(1, vigilante.revisar());
+            assertEquals(List.of("1"), oyente.vencidas);
+
+            reloj.avanzar(Duration.ofDays(1));
+            assertEquals(1, vigilante.revisar());
+            assertEquals(0, vigilante.revisar());
+            assertEquals(List.of("1", "2"), oyente.vencidas);
+            assertEquals(0, vigilante.fechasPendientes());
+            // Las fechas revisadas se olvidan
+            assertEquals(0, vigilante.fechasProgramadas());
+        }
+    }
+
+    @Test
+    @DisplayName("Las fechas ya pasadas al crear el vigilante se notifican en la primera revisión")
+    void revisar_tareasExistentes() {
+        RelojAjustable reloj = new RelojAjustable(DIA.atStartOfDay().toInstant(ZoneOffset.UTC));
+        GestorTareas gestor = new GestorTareas(reloj);
+        gestor.crearTarea("1", "T", "D", Prioridad.media, DIA);
+        gestor.crearTarea("2", "T", "D", Prioridad.media, DIA.plusDays(5));
+        reloj.avanzar(Duration.ofDays(2));
+        OyenteVencidas oyente = new OyenteVencidas();
+        gestor.agregarOyente(oyente);
+
+        VigilanteVencimientos vigilante = new VigilanteVencimientos(gestor, false);
+        assertEquals(1, vigilante.revisar());
+        assertEquals(List.of("1"), oyente.vencidas);
+
+        vigilante.close();
+        gestor.crearTarea("3", "T", "D", Prioridad.media, DIA.plusDays(3));
+        assertEquals(1, vigilante.fechasPendientes(), "tras cerrar no se programan fechas nuevas");
+    }
+
+    @Test
+    @DisplayName("En segundo plano, el vencimiento se notifica sin llamar a revisar")
+    void segundoPlano_notificaSolo() throws InterruptedException {
+        // Reloj del sistema desplazado para que falte un segundo para la medianoche
+        Instant ahora = Instant.now();
+        Instant medianoche = LocalDate.now(ZoneOffset.UTC).plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Clock reloj = Clock.offset(Clock.systemUTC(), Duration.between(ahora, medianoche).minusSeconds(1));
+        GestorTareas gestor = new GestorTareas(reloj);
+        gestor.crearTarea("1", "T", "D", Prioridad.alta, medianoche.atZone(ZoneOffset.UTC).toLocalDate().minusDays(1));
+        CountDownLatch vencida = new CountDownLatch(1);
+        gestor.agregarOyente(new OyenteTareas() {
+            @Override
+            public void tareaVencida(Tarea tarea) {
+                vencida.countDown();
+            }
+        });
+
+        try (VigilanteVencimientos ignorado = new VigilanteVencimientos(gestor)) {
+            assertTrue(vencida.await(10, TimeUnit.SECONDS));
+        }
+    }
+}
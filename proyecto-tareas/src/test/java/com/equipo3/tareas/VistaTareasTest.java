@@ -0,0 +1,98 @@
+package com.equipo3.tareas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VistaTareasTest {
+
+    private final LocalDate manana = LocalDate.now().plusDays(1);
+
+    @Test
+    @DisplayName("Una vista no ve las altas ni los cambios de estado posteriores a abrirla")
+    void vistaAisladaDeEscriturasPosteriores() {
+        GestorTareas gestor = new GestorTareas();
+        gestor.crearTarea("1", "Uno", "D", Prioridad.alta, manana);
+        gestor.crearTarea("2", "Dos", "D", Prioridad.alta, manana.plusDays(1));
+        gestor.actualizarEstadoTarea("2", EstadoTarea.En_progreso);
+
+        VistaTareas vista = gestor.abrirVista();
+        assertEquals(3, vista.getVersion());
+        gestor.crearTarea("3", "Tres", "D", Prioridad.alta, manana);
+        gestor.actualizarEstadoTarea("1", EstadoTarea.En_progreso);
+        gestor.actualizarEstadoTarea("2", EstadoTarea.Completada);
+
+        assertEquals(EstadoTarea.Pendiente, vista.buscarTareaPorId("1").get().getEstado());
+        assertEquals(EstadoTarea.En_progreso, vista.buscarTareaPorId("2").get().getEstado());
+        assertFalse(vista.buscarTareaPorId("3").isPresent());
+        assertEquals(List.of("1", "2"), vista.listarTareasPorPrioridad(Prioridad.alta).stream().map(Tarea::getId).toList());
+        assertEquals(1, vista.listarTareasProximasAVencer(1).size());
+        assertEquals(2, vista.obtenerTodasLasTareas().size());
+        assertArrayEquals(new long[] {1, 1, 0}, vista.contarPorEstado());
+
+        // El gestor y una vista nueva sí ven los cambios
+        assertEquals(EstadoTarea.Completada, gestor.buscarTareaPorId("2").get().getEstado());
+        assertArrayEquals(new long[] {1, 1, 1}, gestor.abrirVista().contarPorEstado());
+
+        // Las tareas de la vista son copias: cambiarlas no toca el gestor
+        vista.buscarTareaPorId("1").get().setEstado(EstadoTarea.En_progreso);
+        assertEquals(EstadoTarea.En_progreso, gestor.buscarTareaPorId("1").get().getEstado());
+        assertThrows(IllegalArgumentException.class, () -> vista.listarTareasProximasAVencer(-1));
+    }
+
+    @Test
+    @DisplayName("Con un escritor activo, cada vista ve exactamente las modificaciones anteriores a su versión")
+    void vistasCoherentesDuranteEscrituras() throws Exception {
+        GestorTareas gestor = new GestorTareas();
+        int total = 5_000;
+        AtomicBoolean terminado = new AtomicBoolean();
+        // Cada tarea i se da de alta (versión 2i+1) y pasa a En_progreso (versión 2i+2)
+        Thread escritor = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                gestor.crearTarea(String.valueOf(i), "Tarea " + i, "D", Prioridad.values()[i % 3], manana);
+                gestor.actualizarEstadoTarea(String.valueOf(i), EstadoTarea.En_progreso);
+            }
+            terminado.set(true);
+        });
+        escritor.start();
+        int vistas = 0;
+        do {
+            VistaTareas vista = gestor.abrirVista();
+            long version = vista.getVersion();
+            long[] porEstado = vista.contarPorEstado();
+            assertEquals((version + 1) / 2, porEstado[0] + porEstado[1], "altas en la versión " + version);
+            assertEquals(version / 2, porEstado[1], "cambios de estado en la versión " + version);
+            int porPrioridad = 0;
+            for (Prioridad prioridad : Prioridad.values()) {
+                porPrioridad += vista.listarTareasPorPrioridad(prioridad).size();
+            }
+            assertEquals((version + 1) / 2, porPrioridad);
+            vistas++;
+        } while (!terminado.get());
+        escritor.join();
+        assertTrue(vistas > 0);
+        assertEquals(2L * total, gestor.abrirVista().getVersion());
+    }
+
+    @Test
+    @DisplayName("Una vista no espera por un alta que aún no ha pedido su versión")
+    void vistaNoEsperaAltasSinConfirmar() {
+        GestorTareas gestor = new GestorTareas();
+        gestor.crearTarea("1", "Uno", "D", Prioridad.alta, manana);
+        VistaTareas vista = gestor.abrirVista();
+        // Como queda la tarea mientras el gestor la indexa, antes de confirmar el alta
+        Tarea aMedias = new Tarea("2", "Dos", "D", Prioridad.alta, manana);
+        aMedias.asignarGestor(gestor);
+        assertNull(assertTimeoutPreemptively(Duration.ofSeconds(5), () -> aMedias.estadoEnVersion(vista.getVersion())));
+
+        aMedias.confirmarAlta();
+        assertNull(aMedias.estadoEnVersion(vista.getVersion()));
+        assertEquals(EstadoTarea.Pendiente, aMedias.estadoEnVersion(gestor.abrirVista().getVersion()));
+    }
+}